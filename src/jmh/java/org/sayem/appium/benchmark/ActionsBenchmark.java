@@ -0,0 +1,45 @@
+package org.sayem.appium.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.sayem.appium.config.TimeoutType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot paths of SeleniumActions, against a {@link WireProtocolStub}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionsBenchmark {
+    private static final By BUTTON = By.cssSelector("button.submit");
+    private static final By ROWS = By.cssSelector("li.row");
+
+    @Benchmark
+    public WebElement click(StubBrowserState state, WireCommands commands) {
+        commands.operation();
+        return state.actions.click(BUTTON, TimeoutType.DEFAULT);
+    }
+
+    @Benchmark
+    public WebElement waitUntilClickable(StubBrowserState state, WireCommands commands) {
+        commands.operation();
+        return state.actions.waitUntilClickable(BUTTON, TimeoutType.DEFAULT);
+    }
+
+    @Benchmark
+    public WebElement findElementContainingText(StubBrowserState state, WireCommands commands) {
+        commands.operation();
+        return state.actions.findElementContainingText(ROWS, "Stub");
+    }
+}
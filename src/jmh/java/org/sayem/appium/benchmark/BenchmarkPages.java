@@ -0,0 +1,63 @@
+package org.sayem.appium.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.pages.BaseSubPage;
+import org.sayem.appium.pages.BaseTopLevelPage;
+import org.sayem.appium.pages.SubPageField;
+import org.sayem.appium.pages.WebPagePath;
+
+/**
+ * Page objects shaped like a typical application page: a top level page with a few sub pages and element fields.
+ */
+public final class BenchmarkPages {
+
+    private BenchmarkPages() {
+    }
+
+    @WebPagePath(path = "/orders/\\d+", isRegex = true)
+    public static class OrderPage extends BaseTopLevelPage<SeleniumActions> {
+        @SubPageField
+        private HeaderSubPage header;
+
+        @SubPageField
+        private SideBarSubPage sideBar;
+
+        @SubPageField
+        private FooterSubPage footer;
+
+        @FindBy(css = "h1.title")
+        private WebElement title;
+
+        @Override
+        public By getPageIdentifier() {
+            return By.id("order");
+        }
+    }
+
+    public static class HeaderSubPage extends BaseSubPage<SeleniumActions> {
+        @FindBy(css = ".logo")
+        private WebElement logo;
+
+        @Override
+        public By getPageIdentifier() {
+            return By.cssSelector("header");
+        }
+    }
+
+    public static class SideBarSubPage extends BaseSubPage<SeleniumActions> {
+        @Override
+        public By getPageIdentifier() {
+            return By.cssSelector("nav.side-bar");
+        }
+    }
+
+    public static class FooterSubPage extends BaseSubPage<SeleniumActions> {
+        @Override
+        public By getPageIdentifier() {
+            return By.cssSelector("footer");
+        }
+    }
+}
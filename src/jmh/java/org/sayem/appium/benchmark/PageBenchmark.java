@@ -0,0 +1,66 @@
+package org.sayem.appium.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sayem.appium.benchmark.BenchmarkPages.OrderPage;
+import org.sayem.appium.pages.PageUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading page objects, against a {@link WireProtocolStub}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageBenchmark {
+    private static final PageUtils PAGE_UTILS = new PageUtils();
+
+    @State(Scope.Benchmark)
+    public static class LoadedPage {
+        OrderPage page;
+
+        @Setup(Level.Trial)
+        public void loadPage(StubBrowserState state) {
+            page = state.browser.loadTopLevelPage(OrderPage.class);
+        }
+    }
+
+    @Benchmark
+    public OrderPage loadTopLevelPage(StubBrowserState state, WireCommands commands) {
+        commands.operation();
+        state.browser.invalidateCachedPage();
+        return state.browser.loadTopLevelPage(OrderPage.class);
+    }
+
+    @Benchmark
+    public OrderPage loadTopLevelPageCacheHit(StubBrowserState state, LoadedPage loaded, WireCommands commands) {
+        commands.operation();
+        return state.browser.loadTopLevelPage(OrderPage.class);
+    }
+
+    @Benchmark
+    public OrderPage initSubPages(StubBrowserState state, LoadedPage loaded, WireCommands commands) {
+        commands.operation();
+        PAGE_UTILS.initSubPages(loaded.page, state.actions);
+        return loaded.page;
+    }
+
+    @Benchmark
+    public OrderPage verifyCurrentURL(StubBrowserState state, LoadedPage loaded, WireCommands commands) {
+        commands.operation();
+        loaded.page.verifyCurrentURL();
+        return loaded.page;
+    }
+}
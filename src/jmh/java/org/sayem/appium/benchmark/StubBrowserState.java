@@ -0,0 +1,51 @@
+package org.sayem.appium.benchmark;
+
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.RemoteBrowserBuilder;
+import org.sayem.appium.browser.web.RemoteBrowser;
+import org.sayem.appium.config.TimeoutsConfig;
+
+/**
+ * A RemoteBrowser connected to a {@link WireProtocolStub}. See {@link WireCommands} for the number of wire-protocol
+ * commands sent per benchmark operation.
+ */
+@State(Scope.Benchmark)
+public class StubBrowserState {
+    static final String BASE_URL = "http://stub.example.com";
+    static final String ORDER_PAGE_URL = BASE_URL + "/orders/1234";
+
+    /**
+     * Simulated latency of each command: 0 for the framework's own overhead, a few ms for a local driver.
+     */
+    @Param({"0", "2"})
+    public long latencyMillis;
+
+    public WireProtocolStub stub;
+    public RemoteBrowser browser;
+    public SeleniumActions actions;
+
+    @Setup(Level.Trial)
+    public void startBrowser() throws Exception {
+        stub = WireProtocolStub.start(latencyMillis, 3);
+        browser = RemoteBrowserBuilder.getChromeBuilder(BASE_URL, stub.getHubUrl())
+                .withTimeoutsConfig(TimeoutsConfig.builder().implicitWaitTimeoutMillis(0).build())
+                .build();
+        actions = browser.getActions();
+        stub.setCurrentUrl(ORDER_PAGE_URL);
+        // RemoteWebDriver logs every command at this level; keep it below what's printed, or it dominates the numbers
+        ((RemoteWebDriver) browser.getWebDriver()).setLogLevel(java.util.logging.Level.FINEST);
+    }
+
+    @TearDown(Level.Trial)
+    public void quitBrowser() {
+        browser.quit();
+        stub.close();
+    }
+}
@@ -0,0 +1,35 @@
+package org.sayem.appium.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports the number of wire-protocol commands sent to the {@link WireProtocolStub} per benchmark operation, as the
+ * secondary metric "commandsPerOp" of each iteration.
+ * <p>
+ * Benchmarks must call {@link #operation()} once per operation.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class WireCommands {
+    private WireProtocolStub stub;
+    private long operations;
+
+    @Setup(Level.Iteration)
+    public void resetCounts(StubBrowserState state) {
+        stub = state.stub;
+        stub.resetCounts();
+        operations = 0;
+    }
+
+    public void operation() {
+        operations++;
+    }
+
+    public double commandsPerOp() {
+        return operations == 0 ? 0 : (double) stub.getTotalCommands() / operations;
+    }
+}
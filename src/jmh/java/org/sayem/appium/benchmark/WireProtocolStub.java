@@ -0,0 +1,260 @@
+package org.sayem.appium.benchmark;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * <p>An in-process server speaking enough of the Selenium JSON wire protocol for a RemoteWebDriver to drive it,
+ * without a browser. Every command sleeps for a configurable latency, to simulate a local driver or a remote grid,
+ * and is counted, so benchmarks can report the number of wire-protocol commands per operation.</p>
+ * <p>
+ * <p>Element lookups always find elements, which are displayed, enabled and 100x20 pixels.
+ * Scripts are answered by a {@link ScriptResponder}; the default one recognizes the scripts the framework sends.</p>
+ */
+public final class WireProtocolStub implements AutoCloseable {
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+    private static final Pattern ID_SEGMENT = Pattern.compile("^(?:session|element|attribute|css)$");
+    private static final String SESSION_ID = "stub-session";
+
+    static {
+        // Without TCP_NODELAY, Nagle's algorithm and delayed ACKs add ~40 ms to every command
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * Answers an execute or execute_async command with the value the script would return.
+     */
+    @FunctionalInterface
+    public interface ScriptResponder extends BiFunction<String, List<?>, Object> {
+    }
+
+    private final HttpServer server;
+    private final long latencyMillis;
+    private final int elementsPerLookup;
+    private final ScriptResponder scriptResponder;
+    private final Map<String, AtomicLong> commandCounts = new ConcurrentHashMap<>();
+    private final AtomicLong totalCommands = new AtomicLong();
+    private final AtomicLong elementIds = new AtomicLong();
+    private volatile String currentUrl = "about:blank";
+
+    private WireProtocolStub(long latencyMillis, int elementsPerLookup, ScriptResponder scriptResponder) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.elementsPerLookup = elementsPerLookup;
+        this.scriptResponder = scriptResponder != null ? scriptResponder : this::defaultScriptResponse;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "WireProtocolStub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        this.server.start();
+    }
+
+    /**
+     * Start a stub on a free local port.
+     *
+     * @param latencyMillis     - how long each command takes
+     * @param elementsPerLookup - how many elements findElements returns
+     */
+    public static WireProtocolStub start(long latencyMillis, int elementsPerLookup) throws IOException {
+        return new WireProtocolStub(latencyMillis, elementsPerLookup, null);
+    }
+
+    public static WireProtocolStub start(long latencyMillis, int elementsPerLookup, ScriptResponder scriptResponder) throws IOException {
+        return new WireProtocolStub(latencyMillis, elementsPerLookup, scriptResponder);
+    }
+
+    /**
+     * @return - the URL to give to a RemoteWebDriver or RemoteBrowserBuilder as the Selenium hub.
+     */
+    public String getHubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub";
+    }
+
+    public void setCurrentUrl(String currentUrl) {
+        this.currentUrl = currentUrl;
+    }
+
+    public long getTotalCommands() {
+        return totalCommands.get();
+    }
+
+    /**
+     * @return - the number of each command received, keyed like "POST /session/:id/element/:id/click".
+     */
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = Maps.newTreeMap();
+        commandCounts.forEach((command, count) -> counts.put(command, count.get()));
+        return counts;
+    }
+
+    public void resetCounts() {
+        commandCounts.clear();
+        totalCommands.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * The element reference of the wire protocol, to return from a ScriptResponder.
+     */
+    public Map<String, String> newElementReference() {
+        return ImmutableMap.of("ELEMENT", String.valueOf(elementIds.incrementAndGet()));
+    }
+
+    //--------------Private helpers------------
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().replaceFirst("^/wd/hub", "");
+        String command = method + " " + normalize(path);
+        totalCommands.incrementAndGet();
+        commandCounts.computeIfAbsent(command, key -> new AtomicLong()).incrementAndGet();
+
+        String body = new String(ByteStreams.toByteArray(exchange.getRequestBody()), Charsets.UTF_8);
+        Map<?, ?> parameters = body.isEmpty() ? ImmutableMap.of() : GSON.fromJson(body, Map.class);
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Map<String, Object> response = Maps.newHashMap();
+        response.put("sessionId", SESSION_ID);
+        response.put("status", 0);
+        response.put("value", respond(method, path, parameters));
+        byte[] bytes = GSON.toJson(response).getBytes(Charsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Object respond(String method, String path, Map<?, ?> parameters) {
+        if ("POST".equals(method) && path.equals("/session")) {
+            return ImmutableMap.of("browserName", "chrome", "javascriptEnabled", true, "takesScreenshot", true);
+        }
+        if (path.endsWith("/url")) {
+            if ("POST".equals(method)) {
+                currentUrl = String.valueOf(parameters.get("url"));
+                return null;
+            }
+            return currentUrl;
+        }
+        if (path.endsWith("/element")) {
+            return newElementReference();
+        }
+        if (path.endsWith("/elements")) {
+            List<Object> elements = Lists.newArrayList();
+            for (int i = 0; i < elementsPerLookup; i++) {
+                elements.add(newElementReference());
+            }
+            return elements;
+        }
+        if (path.endsWith("/execute") || path.endsWith("/execute_async")) {
+            Object args = parameters.get("args");
+            return scriptResponder.apply(String.valueOf(parameters.get("script")), args instanceof List ? (List<?>) args : Lists.newArrayList());
+        }
+        if (path.endsWith("/displayed") || path.endsWith("/enabled")) {
+            return true;
+        }
+        if (path.endsWith("/selected")) {
+            return false;
+        }
+        if (path.endsWith("/size")) {
+            return ImmutableMap.of("width", 100, "height", 20);
+        }
+        if (path.endsWith("/location") || path.endsWith("/location_in_view")) {
+            return ImmutableMap.of("x", 0, "y", 0);
+        }
+        if (path.endsWith("/text")) {
+            return "Stub element text";
+        }
+        if (path.endsWith("/name")) {
+            return "div";
+        }
+        if (path.endsWith("/window_handle")) {
+            return "stub-window";
+        }
+        if (path.endsWith("/window_handles")) {
+            return Lists.newArrayList("stub-window");
+        }
+        if (path.endsWith("/title")) {
+            return "Stub page";
+        }
+        return null;
+    }
+
+    /**
+     * Recognizes the scripts sent by the framework and returns what a page with every element displayed would.
+     */
+    private Object defaultScriptResponse(String script, List<?> args) {
+        if (script.startsWith("/* inBrowserWait */")) {
+            // Every condition holds right away; element conditions get an element
+            return Lists.newArrayList(true, newElementReference());
+        }
+        if (script.contains("__pageCacheMarker")) {
+            return Lists.newArrayList(currentUrl, "stub-document");
+        }
+        if (script.contains("__lookupCacheMarker")) {
+            return Lists.newArrayList("stub-document", 0, true);
+        }
+        if (script.contains("return [isDisplayed(el)")) {
+            return Lists.newArrayList(true, 100, 20, true, true);
+        }
+        if (script.contains("function findAll(") && script.contains("matches")) {
+            // An element query: return the candidates it was given, or one element for an in-page lookup
+            Object candidates = args.size() > 3 ? args.get(3) : null;
+            if (candidates instanceof List && !((List<?>) candidates).isEmpty()) {
+                return candidates;
+            }
+            return Lists.newArrayList(ImmutableMap.of("ELEMENT", "query-result"));
+        }
+        if (script.contains("__networkTracker")) {
+            return script.contains("done(") ? Lists.newArrayList(true, args.isEmpty() ? 0 : args.get(0), 0) : true;
+        }
+        if (script.contains("new MutationObserver")) {
+            return Lists.newArrayList(true, args.isEmpty() ? 0 : args.get(0));
+        }
+        if (script.contains("document.readyState")) {
+            return "complete";
+        }
+        return null;
+    }
+
+    private static String normalize(String path) {
+        String[] segments = path.split("/");
+        StringBuilder normalized = new StringBuilder();
+        for (int i = 1; i < segments.length; i++) {
+            normalized.append('/');
+            // The segment after "session", "element", "attribute" or "css" is an id or a name
+            boolean isId = i > 1 && ID_SEGMENT.matcher(segments[i - 1]).matches();
+            normalized.append(isId ? ":id" : segments[i]);
+        }
+        return normalized.toString();
+    }
+}
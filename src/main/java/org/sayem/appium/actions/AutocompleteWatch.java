@@ -0,0 +1,58 @@
+package org.sayem.appium.actions;
+
+/**
+ * Waits inside the page for an autocomplete option to render, so that
+ * {@link SeleniumActions#enterTextForAutoCompleteAndSelectFirstMatch(org.openqa.selenium.By, int, String, org.openqa.selenium.By, String)}
+ * can click it as soon as it appears, instead of polling for it from the test with a fixed timeout per key.
+ */
+final class AutocompleteWatch {
+
+    /**
+     * Takes (strategy, value, requiredText, timeoutMillis). Resolves with the first displayed element matching the
+     * locator whose text contains requiredText, as soon as there is one, or with null after timeoutMillis.
+     * DOM changes are observed with a MutationObserver; browsers without one are polled every 50 ms.
+     */
+    static final String WAIT_FOR_MATCH_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION +
+            ElementState.IS_DISPLAYED_FUNCTION +
+            ElementState.VISIBLE_TEXT_FUNCTION +
+            "var strategy = arguments[0], value = arguments[1], text = arguments[2], timeoutMillis = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var finished = false, scheduled = false, observer = null, timer = null;" +
+            "function findMatch() {" +
+            "  var candidates = findAll(null, strategy, value);" +
+            "  for (var i = 0; i < candidates.length; i++) {" +
+            "    var el = candidates[i];" +
+            "    if (visibleText(el).indexOf(text) >= 0 && isDisplayed(el)) { return el; }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearTimeout(timer);" +
+            "  done(result);" +
+            "}" +
+            "function check() {" +
+            "  scheduled = false;" +
+            "  var match = findMatch();" +
+            "  if (match) { finish(match); }" +
+            "}" +
+            "check();" +
+            "if (!finished) {" +
+            "  timer = setTimeout(function() { check(); finish(null); }, timeoutMillis);" +
+            "  if (typeof MutationObserver !== 'undefined') {" +
+            "    observer = new MutationObserver(function() {" +
+            "      if (!scheduled) { scheduled = true; setTimeout(check, 0); }" +
+            "    });" +
+            "    observer.observe(document.documentElement," +
+            "        {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  } else {" +
+            "    (function poll() { check(); if (!finished) { setTimeout(poll, 50); } })();" +
+            "  }" +
+            "}";
+
+    private AutocompleteWatch() {
+    }
+}
@@ -1,13 +1,18 @@
 package org.sayem.appium.actions;
 
 import com.google.common.base.*;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.sayem.appium.browser.Browser;
 import org.sayem.appium.browser.BrowserUtil;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.config.KeyPacing;
+import org.sayem.appium.config.LookupMode;
 import org.sayem.appium.config.TimeoutType;
 import org.sayem.appium.config.TimeoutsConfig;
 import org.sayem.appium.exception.IWebDriverException;
 import org.sayem.appium.exception.SeleniumActionsException;
+import org.sayem.appium.metrics.MetricsRegistry;
 import org.sayem.appium.pages.BaseTopLevelPage;
 import org.sayem.appium.pages.SubPage;
 import org.sayem.appium.pages.TopLevelPage;
@@ -16,17 +21,22 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.SystemClock;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 
@@ -34,10 +44,11 @@ import static java.lang.String.format;
  * Default implementations of Selenium actions that aren't browser-specific.
  */
 public abstract class BaseSeleniumActions<B extends Browser> implements SeleniumActions {
-    private static final long DEFAULT_POLL_MILLIS = 100;
-    protected static Logger logger = LoggerFactory.getLogger(BaseSeleniumActions.class);
+    protected static final Logger logger = LoggerFactory.getLogger(BaseSeleniumActions.class);
     protected final TimeoutsConfig timeoutsConfig;
     protected B browser;
+    // Names of the actions being timed, see #timed. A browser and its actions are used by one thread at a time.
+    private final Set<String> actionsInProgress = new HashSet<>();
 
     public BaseSeleniumActions(B browser) {
         this.browser = Preconditions.checkNotNull(browser, "Error: you must supply a non-null Browser to BaseSeleniumActions!");
@@ -48,165 +59,168 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public void acceptAlert(TimeoutType timeout) {
-        waitOnExpectedCondition(ExpectedConditions.alertIsPresent(),
-                "Waiting for javascript alert to be present before accepting alert.", timeout);
-        webDriver().switchTo().alert().accept();
+        timed("acceptAlert", null, () -> {
+            waitOnExpectedConditionForSeconds(ExpectedConditions.alertIsPresent(), "alertIsPresent", null,
+                    "Waiting for javascript alert to be present before accepting alert.",
+                    getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout));
+            webDriver().switchTo().alert().accept();
+        });
     }
 
     @Override
     public WebElement clearText(By locator) {
-        WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
-        try {
-            el.clear();
-        } catch (Exception e) {
-            throw new RuntimeException(format("Error clearing text from element with Locator '%s': %s",
-                    locator.toString(), e.getMessage()), e);
-        }
-        logger.info("Cleared text from element with Locator '{}'", locator);
-        return el;
+        return timed("clearText", locator, () -> {
+            WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
+            try {
+                el.clear();
+            } catch (Exception e) {
+                throw new RuntimeException(format("Error clearing text from element with Locator '%s': %s",
+                        locator.toString(), e.getMessage()), e);
+            }
+            logger.info("Cleared text from element with Locator '{}'", locator);
+            return el;
+        });
     }
 
     @Override
     public WebElement clearText(@Nonnull WebElement el) {
-        String tag = el.getTagName();
-        try {
-            el.clear();
-        } catch (Exception e) {
-            throw new RuntimeException(format("Error clearing text from element <%s>: %s", tag, e.getMessage()), e);
-        }
-        logger.info("Cleared text from element <{}>", tag);
-        return el;
+        return timed("clearText", null, () -> {
+            String tag = el.getTagName();
+            try {
+                el.clear();
+            } catch (Exception e) {
+                throw new RuntimeException(format("Error clearing text from element <%s>: %s", tag, e.getMessage()), e);
+            }
+            logger.info("Cleared text from element <{}>", tag);
+            return el;
+        });
     }
 
     @Override
     public WebElement click(By locator, TimeoutType timeout) {
-        WebElement el = waitUntilClickable(locator, timeout);
-        try {
-            el.click();
-        } catch (StaleElementReferenceException e) {
-            logger.warn("Element was stale immediately after waiting to be clickable in BaseSeleniumActions#click. Waiting for element to be clickable again.");
-            el = waitUntilClickable(locator, timeout);
-            el.click();
-        }
-        logger.info("Clicked element with locator '{}'", locator);
-        return el;
+        return timed("click", locator, () -> {
+            WebElement el = waitUntilClickable(locator, timeout);
+            try {
+                el.click();
+            } catch (StaleElementReferenceException e) {
+                logger.warn("Element was stale immediately after waiting to be clickable in BaseSeleniumActions#click. Waiting for element to be clickable again.");
+                el = waitUntilClickable(locator, timeout);
+                el.click();
+            }
+            logger.info("Clicked element with locator '{}'", locator);
+            return el;
+        });
     }
 
     @Override
     public WebElement click(WebElement el, TimeoutType timeout) {
-        waitUntilClickable(el, timeout);
-        String tag = el.getTagName();
-        el.click();
-        logger.info("Clicked element <{}>", tag);
-        return el;
+        return timed("click", null, () -> {
+            waitUntilClickable(el, timeout);
+            String tag = el.getTagName();
+            el.click();
+            logger.info("Clicked element <{}>", tag);
+            return el;
+        });
     }
 
     @Override
     public <T extends SubPage> T clickAndLoadSubPage(By locatorToClick, Class<T> pageClass, TimeoutType timeout) {
-        click(locatorToClick, TimeoutType.DEFAULT);
-        browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
-        return loadSubPage(pageClass);
+        return timed("clickAndLoadSubPage", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, TimeoutType.DEFAULT);
+            browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
+            return loadSubPage(pageClass);
+        }));
     }
 
     @Override
     public <T extends SubPage> T clickAndLoadSubPage(WebElement el, Class<T> pageClass, TimeoutType timeout) {
-        click(el, TimeoutType.DEFAULT);
-        browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
-        return loadSubPage(pageClass);
+        return timed("clickAndLoadSubPage", null, () -> withDeadline(getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout), () -> {
+            click(el, TimeoutType.DEFAULT);
+            browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
+            return loadSubPage(pageClass);
+        }));
     }
 
     @Override
     public <T extends TopLevelPage> T clickAndLoadTopLevelPage(By locatorToClick, Class<T> pageClass, TimeoutType timeout) {
-        click(locatorToClick, TimeoutType.DEFAULT);
-        browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
-        return loadTopLevelPage(pageClass);
+        return timed("clickAndLoadTopLevelPage", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, TimeoutType.DEFAULT);
+            browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
+            return loadTopLevelPage(pageClass);
+        }));
     }
 
     @Override
     public <T extends TopLevelPage> T clickAndLoadTopLevelPage(WebElement el, Class<T> pageClass, TimeoutType timeout) {
-        click(el, TimeoutType.DEFAULT);
-        browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
-        return loadTopLevelPage(pageClass);
+        return timed("clickAndLoadTopLevelPage", null, () -> withDeadline(getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout), () -> {
+            click(el, TimeoutType.DEFAULT);
+            browser.invalidateCachedPage(); // Invalidate the cache when a new TopLevelPage is expected to be loaded.
+            return loadTopLevelPage(pageClass);
+        }));
     }
 
     @Override
     public void clickAndSelectFromList(By locatorToClick, By popoverLocator) {
-        invokeMenuItemAndSelect(getElement(locatorToClick), popoverLocator);
+        timed("clickAndSelectFromList", locatorToClick, () -> invokeMenuItemAndSelect(getElement(locatorToClick), popoverLocator));
     }
 
     @Override
     public void clickAndSelectFromList(WebElement clickable, By popoverLocator) {
-        invokeMenuItemAndSelect(clickable, popoverLocator);
+        timed("clickAndSelectFromList", popoverLocator, () -> invokeMenuItemAndSelect(clickable, popoverLocator));
     }
 
     @Override
     public void clickAndVerifyNotPresent(By locatorToClick, By locatorToVerifyNotPresent, TimeoutType timeout) {
-        click(locatorToClick, timeout);
-        logger.info("After click, waiting for '{}' to NOT be present.", locatorToVerifyNotPresent);
-        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
-        final String errorMessage = format("Failure in clickAndVerifyNotPresent: element '%s' never became removed from the DOM after %d seconds!",
-                locatorToVerifyNotPresent, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        wait.until(ExpectedConditions.not(
-                ExpectedConditions.presenceOfAllElementsLocatedBy(locatorToVerifyNotPresent)));
+        timed("clickAndVerifyNotPresent", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, timeout);
+            logger.info("After click, waiting for '{}' to NOT be present.", locatorToVerifyNotPresent);
+            verifyElementNotPresented(locatorToVerifyNotPresent, timeout);
+        }));
     }
 
     @Override
     public void clickAndVerifyNotPresent(WebElement el, By locatorToVerifyNotPresent, TimeoutType timeout) {
-        click(el, timeout);
-        logger.info("After click, waiting for '{}' to NOT be present.", locatorToVerifyNotPresent);
-        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
-        final String errorMessage = format("Failure in clickAndVerifyNotPresent: element '%s' never became removed from the DOM after %d seconds!",
-                locatorToVerifyNotPresent, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        wait.until(ExpectedConditions.not(
-                ExpectedConditions.presenceOfAllElementsLocatedBy(locatorToVerifyNotPresent)));
+        timed("clickAndVerifyNotPresent", locatorToVerifyNotPresent, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(el, timeout);
+            logger.info("After click, waiting for '{}' to NOT be present.", locatorToVerifyNotPresent);
+            verifyElementNotPresented(locatorToVerifyNotPresent, timeout);
+        }));
     }
 
     @Override
     public void clickAndVerifyNotVisible(By locatorToClick, By locatorToVerifyNotVisible, TimeoutType timeout) {
-        click(locatorToClick, timeout);
-        logger.info("After click, waiting for '{}' to NOT be visible.", locatorToVerifyNotVisible);
-        verifyElementInvisible(locatorToVerifyNotVisible, timeout);
+        timed("clickAndVerifyNotVisible", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, timeout);
+            logger.info("After click, waiting for '{}' to NOT be visible.", locatorToVerifyNotVisible);
+            verifyElementInvisible(locatorToVerifyNotVisible, timeout);
+        }));
     }
 
     @Override
     public void clickAndVerifyNotVisible(WebElement el, By locatorToVerifyNotVisible, TimeoutType timeout) {
-        click(el, timeout);
-        logger.info("After click, waiting for '{}' to NOT be visible.", locatorToVerifyNotVisible);
-        verifyElementInvisible(locatorToVerifyNotVisible, timeout);
+        timed("clickAndVerifyNotVisible", locatorToVerifyNotVisible, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(el, timeout);
+            logger.info("After click, waiting for '{}' to NOT be visible.", locatorToVerifyNotVisible);
+            verifyElementInvisible(locatorToVerifyNotVisible, timeout);
+        }));
     }
 
     @Override
     public WebElement clickAndVerifyPresent(By locatorToClick, By locatorToVerifyPresent, TimeoutType timeout) {
-        click(locatorToClick, timeout);
-        logger.info("After click, waiting for '{}' to be present.", locatorToVerifyPresent);
-        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
-        final String errorMessage =
-                format("Failure in clickAndVerifyPresent: element '%s' never became present after %d seconds!",
-                        locatorToVerifyPresent, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locatorToVerifyPresent));
+        return timed("clickAndVerifyPresent", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, timeout);
+            logger.info("After click, waiting for '{}' to be present.", locatorToVerifyPresent);
+            return verifyElementPresented(locatorToVerifyPresent, timeout);
+        }));
     }
 
     @Override
     public WebElement clickAndVerifyPresent(WebElement el, By locatorToVerifyPresent, TimeoutType timeout) {
-        click(el, timeout);
-        logger.info("After click, waiting for '{}' to be present.", locatorToVerifyPresent);
-        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
-        final String errorMessage =
-                format("Failure in clickAndVerifyPresent: element '%s' never became present after %d seconds!",
-                        locatorToVerifyPresent, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locatorToVerifyPresent));
+        return timed("clickAndVerifyPresent", locatorToVerifyPresent, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(el, timeout);
+            logger.info("After click, waiting for '{}' to be present.", locatorToVerifyPresent);
+            return verifyElementPresented(locatorToVerifyPresent, timeout);
+        }));
     }
 
     /**
@@ -216,21 +230,25 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
      */
     @Override
     public WebElement clickAndVerifySelected(By locatorToSelect, TimeoutType timeout) {
-        WebElement el = webDriver().findElement(locatorToSelect);
-        if (isSelected(el)) {
-            return el;
-        }
-        click(el, TimeoutType.DEFAULT);
-        return verifyElementSelected(el, TimeoutType.DEFAULT);
+        return timed("clickAndVerifySelected", locatorToSelect, () -> withDeadline(getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout), () -> {
+            WebElement el = findElement(locatorToSelect, null);
+            if (isSelected(el)) {
+                return el;
+            }
+            click(el, TimeoutType.DEFAULT);
+            return verifyElementSelected(el, TimeoutType.DEFAULT);
+        }));
     }
 
     @Override
     public WebElement clickAndVerifySelected(WebElement elToSelect, TimeoutType timeout) {
-        if (isSelected(elToSelect)) {
-            return elToSelect;
-        }
-        click(elToSelect, TimeoutType.DEFAULT);
-        return verifyElementSelected(elToSelect, TimeoutType.DEFAULT);
+        return timed("clickAndVerifySelected", null, () -> withDeadline(getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout), () -> {
+            if (isSelected(elToSelect)) {
+                return elToSelect;
+            }
+            click(elToSelect, TimeoutType.DEFAULT);
+            return verifyElementSelected(elToSelect, TimeoutType.DEFAULT);
+        }));
     }
 
     /**
@@ -240,55 +258,73 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
      */
     @Override
     public WebElement clickAndVerifyNotSelected(By locatorToSelect, TimeoutType timeout) {
-        WebElement el = webDriver().findElement(locatorToSelect);
-        return clickAndVerifyNotSelected(el, timeout);
+        return timed("clickAndVerifyNotSelected", locatorToSelect, () -> {
+            WebElement el = findElement(locatorToSelect, null);
+            return clickAndVerifyNotSelected(el, timeout);
+        });
     }
 
     @Override
     public WebElement clickAndVerifyNotSelected(WebElement elToSelect, TimeoutType timeout) {
-        if (!isSelected(elToSelect)) {
-            return elToSelect;
-        }
-        click(elToSelect, TimeoutType.DEFAULT);
-        return verifyElementNotSelected(elToSelect, TimeoutType.DEFAULT);
+        return timed("clickAndVerifyNotSelected", null, () -> withDeadline(getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout), () -> {
+            if (!isSelected(elToSelect)) {
+                return elToSelect;
+            }
+            click(elToSelect, TimeoutType.DEFAULT);
+            return verifyElementNotSelected(elToSelect, TimeoutType.DEFAULT);
+        }));
     }
 
     @Override
     public WebElement clickAndVerifyVisible(By locatorToClick, By locatorToVerifyVisible, TimeoutType timeout) {
-        click(locatorToClick, timeout);
-        logger.info("After click, waiting for '{}' to be visible.", locatorToVerifyVisible);
-        return verifyElementVisible(locatorToVerifyVisible, timeout);
+        return timed("clickAndVerifyVisible", locatorToClick, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(locatorToClick, timeout);
+            logger.info("After click, waiting for '{}' to be visible.", locatorToVerifyVisible);
+            return verifyElementVisible(locatorToVerifyVisible, timeout);
+        }));
     }
 
     @Override
     public WebElement clickAndVerifyVisible(WebElement el, By locatorToVerifyVisible, TimeoutType timeout) {
-        click(el, timeout);
-        logger.info("After click, waiting for '{}' to be visible.", locatorToVerifyVisible);
-        return verifyElementVisible(locatorToVerifyVisible, timeout);
+        return timed("clickAndVerifyVisible", locatorToVerifyVisible, () -> withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout), () -> {
+            click(el, timeout);
+            logger.info("After click, waiting for '{}' to be visible.", locatorToVerifyVisible);
+            return verifyElementVisible(locatorToVerifyVisible, timeout);
+        }));
     }
 
     @Override
     public WebElement clickNoWait(By locator) throws IWebDriverException {
-        WebElement el = getElement(locator);
-        if (!isClickable(el)) {
-            throw new IWebDriverException("Element is not clickable: " + locator.toString());
+        long start = System.nanoTime();
+        try {
+            WebElement el = getElement(locator);
+            if (!isClickable(el)) {
+                throw new IWebDriverException("Element is not clickable: " + locator.toString());
+            }
+            el.click();
+            logger.info("Clicked element with locator '{}', no waiting.", locator);
+            return el;
+        } finally {
+            recordAction("clickNoWait", locator, start, false);
         }
-        el.click();
-        logger.info("Clicked element with locator '{}', no waiting.", locator);
-        return el;
     }
 
     @Override
     public void dismissAlert(TimeoutType timeout) {
-        waitOnExpectedCondition(ExpectedConditions.alertIsPresent(),
-                "Waiting for javascript alert to be present before dismissing alert.", timeout);
-        webDriver().switchTo().alert().dismiss();
+        timed("dismissAlert", null, () -> {
+            waitOnExpectedConditionForSeconds(ExpectedConditions.alertIsPresent(), "alertIsPresent", null,
+                    "Waiting for javascript alert to be present before dismissing alert.",
+                    getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout));
+            webDriver().switchTo().alert().dismiss();
+        });
     }
 
     //**********~~~~~~~~~~~~~ Verify Class Actions ~~~~~~~~~~~~~~~*************
     public boolean doesElementHaveClass(By locator, String locatorClass) {
-        WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
-        return WebElementHelpers.webElementHasClass(el, locatorClass);
+        return timed("doesElementHaveClass", locator, () -> {
+            WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
+            return WebElementHelpers.webElementHasClass(el, locatorClass);
+        });
     }
 
     @Override
@@ -300,46 +336,55 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public void enterTextForAutoCompleteAndSelectFirstMatch(By inputLocator, int minChars, String text, By popoverLocator,
                                                             String requiredPopupText) {
-        if (minChars > text.length()) {
-            throw new RuntimeException(format("Minimum characters to enter (%d) is greater than the length of the input text '%s'!", minChars, text));
-        }
-        scrollIntoView(inputLocator);
-        if (minChars > 0) {
-            inputText(inputLocator, text.substring(0, minChars));
-        }
-        for (int i = minChars; i < text.length(); i++) {
-            String oneChar = String.valueOf(text.charAt(i));
-            inputText(inputLocator, oneChar);
+        timed("enterTextForAutoCompleteAndSelectFirstMatch", inputLocator, () -> {
+            if (minChars > text.length()) {
+                throw new RuntimeException(format("Minimum characters to enter (%d) is greater than the length of the input text '%s'!", minChars, text));
+            }
+            scrollIntoView(inputLocator);
+            Optional<ScriptLocator> popoverScriptLocator = ScriptLocator.of(popoverLocator);
+            if (isJavascriptSupported() && popoverScriptLocator.isPresent()) {
+                enterTextForAutoCompleteAndWatch(inputLocator, minChars, text, popoverLocator, popoverScriptLocator.get(), requiredPopupText);
+                return;
+            }
+            if (minChars > 0) {
+                inputText(inputLocator, text.substring(0, minChars));
+            }
+            for (int i = minChars; i < text.length(); i++) {
+                String oneChar = String.valueOf(text.charAt(i));
+                inputText(inputLocator, oneChar);
 
-            // If the last char is being entered, wait 5 full seconds for the expected popup. Otherwise, wait 1 second.
-            TimeoutType timeout = (i == text.length() - 1) ? TimeoutType.FIVE_SECONDS : TimeoutType.ONE_SECOND;
-            try {
-                WebElement matchingPopup = findElementContainingTextWithWait(popoverLocator, requiredPopupText, timeout);
+                // If the last char is being entered, wait 5 full seconds for the expected popup. Otherwise, wait 1 second.
+                TimeoutType timeout = (i == text.length() - 1) ? TimeoutType.FIVE_SECONDS : TimeoutType.ONE_SECOND;
                 try {
-                    getActionsBuilder().moveToElement(matchingPopup)
-                            .pause(500) // Sometimes javascript needs a moment to register that it's being hovered.
-                            .click()
-                            .perform();
-                    logger.info("Success - clicked popup for autocomplete text \"{}\"", text);
-                    return;
+                    WebElement matchingPopup = findElementContainingTextWithWait(popoverLocator, requiredPopupText, timeout);
+                    try {
+                        getActionsBuilder().moveToElement(matchingPopup)
+                                .pause(500) // Sometimes javascript needs a moment to register that it's being hovered.
+                                .click()
+                                .perform();
+                        logger.info("Success - clicked popup for autocomplete text \"{}\"", text);
+                        return;
+                    } catch (Exception e) {
+                        logger.debug("Exception clicking popup from autocomplete.", e);
+                    }
                 } catch (Exception e) {
-                    logger.debug("Exception clicking popup from autocomplete.", e);
+                    continue;
                 }
-            } catch (Exception e) {
-                continue;
             }
-        }
-        throw new RuntimeException(format("No popup defined by Locator  '%s' found with required text '%s'", popoverLocator, requiredPopupText));
+            throw new RuntimeException(format("No popup defined by Locator  '%s' found with required text '%s'", popoverLocator, requiredPopupText));
+        });
     }
 
     @Override
     public Object executeJavascript(String script) {
-        logger.trace("Executing javascript: '{}'", script);
-        try {
-            return ((JavascriptExecutor) webDriver()).executeScript(script);
-        } catch (Exception e) {
-            throw new RuntimeException(format("Exception executing Javascript '%s':", script), e);
-        }
+        return timed("executeJavascript", null, () -> {
+            logger.trace("Executing javascript: '{}'", script);
+            try {
+                return ((JavascriptExecutor) webDriver()).executeScript(script);
+            } catch (Exception e) {
+                throw new RuntimeException(format("Exception executing Javascript '%s':", script), e);
+            }
+        });
     }
 
     /**
@@ -347,31 +392,24 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
      */
     @Override
     public boolean exists(By locator) {
-        List<WebElement> elements = findElements(locator, null);
-        return elements.size() > 0;
+        return timed("exists", locator, () -> {
+            List<WebElement> elements = findElementsImmediately(locator, null);
+            return elements.size() > 0;
+        });
     }
 
     @Override
     public boolean exists(By locator, WebElement parentEl) {
-        List<WebElement> elements = findElements(locator, parentEl);
-        return elements.size() > 0;
+        return timed("exists", locator, () -> {
+            List<WebElement> elements = findElementsImmediately(locator, parentEl);
+            return elements.size() > 0;
+        });
     }
 
     @Override
     @Nullable
     public WebElement findElementContainingChild(final By parentLocator, final By childLocator) {
-        List<WebElement> parents = webDriver().findElements(parentLocator);
-        for (WebElement el : parents) {
-            try {
-                List<WebElement> subChildren = el.findElements(childLocator);
-                if (subChildren.size() > 0) {
-                    return el;
-                }
-            } catch (WebDriverException e) {
-                logger.debug("Exception occurred finding sub-children in findElementContainingChild:", e);
-            }
-        }
-        return null;
+        return timed("findElementContainingChild", parentLocator, () -> queryElement(ElementQuery.locatedBy(parentLocator).havingChild(childLocator)));
     }
 
     @Override
@@ -380,7 +418,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         final int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String msg = format("Failure in findElementContainingChildWithWait: never found element " +
                 "with locator '%s' having child with locator '%s' with timeout of %d seconds", parentLocator, childLocator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findElementContainingChildWithWait", parentLocator);
         wait.ignoring(StaleElementReferenceException.class)
                 .withMessage(msg);
 
@@ -401,19 +439,13 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nullable
     public WebElement findElementContainingText(By locator, String text, boolean caseSensitive) {
-        List<WebElement> matches = findElements(locator, null);
-        for (WebElement el : matches) {
-            try {
-                if (containsText(el, text, caseSensitive)) {
-                    logger.info("SUCCESS: Found web element containing text '{}' with locator '{}'", text, locator);
-                    return el;
-                }
-            } catch (Exception e) { //Don't fail just because one web element was stale. Continue searching for the text.
-                logger.debug("Exception while searching for web elements containing text '{}' with locator '{}'", text, locator);
-                logger.debug(Throwables.getStackTraceAsString(e));
+        return timed("findElementContainingText", locator, () -> {
+            WebElement el = queryElement(ElementQuery.locatedBy(locator).containingText(text, caseSensitive));
+            if (el != null) {
+                logger.info("SUCCESS: Found web element containing text '{}' with locator '{}'", text, locator);
             }
-        }
-        return null;
+            return el;
+        });
     }
 
     @Override
@@ -426,7 +458,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Nonnull
     public WebElement findElementContainingTextWithRefresh(final By locator, final String text, boolean caseSensitive, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getPollingWithRefreshTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findElementContainingTextWithRefresh", locator);
         wait.ignoring(StaleElementReferenceException.class);
 
         logger.info("Waiting for element containing text '{}' defined by locator '{}', timeout of {} seconds", new Object[]{text, locator, waitSeconds});
@@ -467,7 +499,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         final int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String msg = format("Failure in findElementContainingTextWithWait: never found text '%s' in element " +
                 "with locator '%s' with timeout of %d seconds", text, locator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findElementContainingTextWithWait", locator);
         wait.ignoring(StaleElementReferenceException.class)
                 .withMessage(msg);
 
@@ -492,19 +524,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nonnull
     public List<WebElement> findElementsContainingChild(final By parentLocator, final By childLocator) {
-        List<WebElement> parents = webDriver().findElements(parentLocator);
-        List<WebElement> parentsWithChild = Lists.newArrayList();
-        for (WebElement el : parents) {
-            try {
-                List<WebElement> subChildren = el.findElements(childLocator);
-                if (subChildren.size() > 0) {
-                    parentsWithChild.add(el);
-                }
-            } catch (WebDriverException e) {
-                logger.debug("Exception occurred finding sub-children in findElementsContainingChild:", e);
-            }
-        }
-        return parentsWithChild;
+        return timed("findElementsContainingChild", parentLocator, () -> queryElements(ElementQuery.locatedBy(parentLocator).havingChild(childLocator)));
     }
 
     @Override
@@ -513,7 +533,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         final int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String msg = format("Failure in findElementContainingChildWithWait: never found element " +
                 "with locator '%s' having child with locator '%s' with timeout of %d seconds", parentLocator, childLocator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findElementsContainingChildWithWait", parentLocator);
         wait.ignoring(StaleElementReferenceException.class)
                 .withMessage(msg);
 
@@ -545,19 +565,13 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nullable
     public WebElement findVisibleElementContainingText(By locator, String text, boolean caseSensitive) {
-        List<WebElement> matches = findElements(locator, null);
-        for (WebElement el : matches) {
-            try {
-                if (containsText(el, text, caseSensitive) && el.isDisplayed()) {
-                    logger.info("SUCCESS: Found visible web element containing text '{}' with locator '{}'", text, locator);
-                    return el;
-                }
-            } catch (Exception e) { //Don't fail just because one web element was stale. Continue searching for the text.
-                logger.debug("Exception while searching for web elements containing text '{}' with locator '{}'", text, locator);
-                logger.debug(Throwables.getStackTraceAsString(e));
+        return timed("findVisibleElementContainingText", locator, () -> {
+            WebElement el = queryElement(ElementQuery.locatedBy(locator).containingText(text, caseSensitive).visible());
+            if (el != null) {
+                logger.info("SUCCESS: Found visible web element containing text '{}' with locator '{}'", text, locator);
             }
-        }
-        return null;
+            return el;
+        });
     }
 
     @Override
@@ -570,7 +584,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Nonnull
     public WebElement findVisibleElementContainingTextWithRefresh(final By locator, final String text, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getPollingWithRefreshTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findVisibleElementContainingTextWithRefresh", locator);
         wait.ignoring(StaleElementReferenceException.class);
 
         logger.info("Waiting for element containing text '{}' defined by locator '{}', timeout of {} seconds", new Object[]{text, locator, waitSeconds});
@@ -611,7 +625,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String message = String.format("Timeout waiting %d seconds to find element containing text '%s' with locator '%s'",
                 waitSeconds, text, locator.toString());
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "findVisibleElementContainingTextWithWait", locator);
         wait.ignoring(StaleElementReferenceException.class)
                 .withMessage(message);
 
@@ -643,20 +657,13 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nonnull
     public List<WebElement> findVisibleElementsContainingText(By locator, String text, boolean caseSensitive) {
-        List<WebElement> matches = findElements(locator, null);
-        List<WebElement> visible = new ArrayList<>();
-        for (WebElement el : matches) {
-            try {
-                if (containsText(el, text, caseSensitive) && el.isDisplayed()) {
-                    logger.info("SUCCESS: Found visible web element containing text '{}' with locator '{}'", text, locator);
-                    visible.add(el);
-                }
-            } catch (Exception e) { //Don't fail just because one web element was stale. Continue searching for the text.
-                logger.debug("Exception while searching for web elements containing text '{}' with locator '{}'", text, locator);
-                logger.debug(Throwables.getStackTraceAsString(e));
+        return timed("findVisibleElementsContainingText", locator, () -> {
+            List<WebElement> visible = queryElements(ElementQuery.locatedBy(locator).containingText(text, caseSensitive).visible());
+            if (!visible.isEmpty()) {
+                logger.info("SUCCESS: Found {} visible web elements containing text '{}' with locator '{}'", visible.size(), text, locator);
             }
-        }
-        return visible;
+            return visible;
+        });
     }
 
     @Override
@@ -664,6 +671,33 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         return new Actions(webDriver());
     }
 
+    @Override
+    @Nonnull
+    public List<List<String>> getAttributes(By locator, String... attributeNames) {
+        return timed("getAttributes", locator, () -> {
+            List<List<String>> rows = Lists.newArrayList();
+            Optional<List<?>> values = readAllInBrowser(locator, BulkRead.ATTRIBUTES, attributeNames);
+            if (values.isPresent()) {
+                for (Object value : values.get()) {
+                    List<String> row = Lists.newArrayList();
+                    for (Object attribute : (List<?>) value) {
+                        row.add(attribute == null ? null : attribute.toString());
+                    }
+                    rows.add(row);
+                }
+                return rows;
+            }
+            for (WebElement el : findElementsImmediately(locator, null)) {
+                List<String> row = Lists.newArrayList();
+                for (String attributeName : attributeNames) {
+                    row.add(el.getAttribute(attributeName));
+                }
+                rows.add(row);
+            }
+            return rows;
+        });
+    }
+
     /**
      * Return the {@link Browser} object this actions class is tied to.
      */
@@ -679,46 +713,71 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nullable
     public WebElement getChildElement(By locator, WebElement parentEl) {
-        List<WebElement> elements = findElements(locator, parentEl);
-        if (elements.size() > 0) {
-            return elements.get(0);
-        }
-        return null;
+        return timed("getChildElement", locator, () -> {
+            List<WebElement> elements = findElements(locator, parentEl);
+            if (elements.size() > 0) {
+                return elements.get(0);
+            }
+            return null;
+        });
     }
 
     @Override
     @Nonnull
     public WebElement getChildElementWithWait(By locator, WebElement parentEl) {
-        try {
-            WebElement el = findElement(locator, parentEl);
-            logger.trace("Successfully found web element by locator '{}'", locator);
-            return el;
-        } catch (NoSuchElementException e) {
-            long implicitWait = browser.getImplicitWaitTimeoutMillis();
-            throw new RuntimeException(
-                    format("Timeout using implicit wait of %d ms waiting to find web element with locator '%s' ", implicitWait, locator));
-        }
+        return timed("getChildElementWithWait", locator, () -> {
+            try {
+                WebElement el = findElement(locator, parentEl);
+                logger.trace("Successfully found web element by locator '{}'", locator);
+                return el;
+            } catch (NoSuchElementException e) {
+                long implicitWait = browser.getImplicitWaitTimeoutMillis();
+                throw new RuntimeException(
+                        format("Timeout using implicit wait of %d ms waiting to find web element with locator '%s' ", implicitWait, locator));
+            }
+        });
     }
 
     @Override
     @Nonnull
     public List<WebElement> getChildElements(By locator, WebElement parentEl) {
-        return findElements(locator, parentEl);
+        return timed("getChildElements", locator, () -> findElements(locator, parentEl));
+    }
+
+    @Override
+    @Nonnull
+    public List<Set<String>> getClassSets(By locator) {
+        return timed("getClassSets", locator, () -> {
+            List<Set<String>> classSets = Lists.newArrayList();
+            Optional<List<?>> values = readAllInBrowser(locator, BulkRead.CLASSES);
+            if (values.isPresent()) {
+                for (Object value : values.get()) {
+                    classSets.add(ImmutableSet.copyOf(WebElementHelpers.splitClasses((String) value)));
+                }
+                return classSets;
+            }
+            for (WebElement el : findElementsImmediately(locator, null)) {
+                classSets.add(ImmutableSet.copyOf(WebElementHelpers.getClasses(el)));
+            }
+            return classSets;
+        });
     }
 
     @Override
     public String getCurrentURL() {
-        return webDriver().getCurrentUrl();
+        return timed("getCurrentURL", null, () -> webDriver().getCurrentUrl());
     }
 
     @Override
     @Nullable
     public WebElement getElement(By locator) {
-        List<WebElement> elements = findElements(locator, null);
-        if (elements.size() > 0) {
-            return elements.get(0);
-        }
-        return null;
+        return timed("getElement", locator, () -> {
+            List<WebElement> elements = findElementsImmediately(locator, null);
+            if (elements.size() > 0) {
+                return elements.get(0);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -730,13 +789,51 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     @Nonnull
     public List<WebElement> getElements(By locator) {
-        return findElements(locator, null);
+        return timed("getElements", locator, () -> findElements(locator, null));
     }
 
     @Override
     @Nonnull
     public WebElement getParentElement(WebElement el) {
-        return el.findElement(By.xpath(".."));
+        return timed("getParentElement", null, () -> el.findElement(By.xpath("..")));
+    }
+
+    @Override
+    @Nonnull
+    public List<ElementRect> getRects(By locator) {
+        return timed("getRects", locator, () -> {
+            List<ElementRect> rects = Lists.newArrayList();
+            Optional<List<?>> values = readAllInBrowser(locator, BulkRead.RECT);
+            if (values.isPresent()) {
+                for (Object value : values.get()) {
+                    rects.add(ElementRect.fromScriptResult(value));
+                }
+                return rects;
+            }
+            for (WebElement el : findElementsImmediately(locator, null)) {
+                rects.add(new ElementRect(el.getLocation(), el.getSize()));
+            }
+            return rects;
+        });
+    }
+
+    @Override
+    @Nonnull
+    public List<String> getTexts(By locator) {
+        return timed("getTexts", locator, () -> {
+            List<String> texts = Lists.newArrayList();
+            Optional<List<?>> values = readAllInBrowser(locator, BulkRead.TEXT);
+            if (values.isPresent()) {
+                for (Object value : values.get()) {
+                    texts.add((String) value);
+                }
+                return texts;
+            }
+            for (WebElement el : findElementsImmediately(locator, null)) {
+                texts.add(el.getText());
+            }
+            return texts;
+        });
     }
 
     //////////////////////////////////////Timeouts//////////////////////////////////////////////
@@ -747,32 +844,36 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public String getWebPageReadyState() throws Exception {
-        return (String) executeJavascript("return document.readyState;");
+        return timed("getWebPageReadyState", null, () -> (String) executeJavascript("return document.readyState;"));
     }
 
     @Override
     @Nonnull
     public WebElement inputText(By locator, String text) {
         logger.info("Inputting text '{}' into element with locator '{}'", text, locator);
-        WebElement el = getElementWithWait(locator);
-        try {
-            el.sendKeys(text);
-        } catch (Exception e) {
-            throw new RuntimeException(format("Error inputting text '%s' into element with locator '%s': %s", text, locator, e.getMessage()), e);
-        }
-        return el;
+        return timed("inputText", locator, () -> {
+            WebElement el = getElementWithWait(locator);
+            try {
+                el.sendKeys(text);
+            } catch (Exception e) {
+                throw new RuntimeException(format("Error inputting text '%s' into element with locator '%s': %s", text, locator, e.getMessage()), e);
+            }
+            return el;
+        });
     }
 
     @Override
     @Nonnull
     public WebElement inputText(@Nonnull WebElement el, String text) {
-        logger.info("Inputting text '{}' into web element <{}>", text, el.getTagName());
-        try {
-            el.sendKeys(text);
-        } catch (Exception e) {
-            throw new RuntimeException(format("Error inputting text '%s' into element <%s>: %s", text, el.getTagName(), e.getMessage()), e);
-        }
-        return el;
+        return timed("inputText", null, () -> {
+            logger.info("Inputting text '{}' into web element <{}>", text, el.getTagName());
+            try {
+                el.sendKeys(text);
+            } catch (Exception e) {
+                throw new RuntimeException(format("Error inputting text '%s' into element <%s>: %s", text, el.getTagName(), e.getMessage()), e);
+            }
+            return el;
+        });
     }
 
     @Override
@@ -788,23 +889,22 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public WebElement inputTextSlowly(By locator, String text) {
-        WebElement el = getElementWithWait(locator);
-        logger.info("Inputting text '{}' into web element with locator '{}'", text, locator);
-        return inputTextSlowly(el, text);
+        return timed("inputTextSlowly", locator, () -> {
+            WebElement el = getElementWithWait(locator);
+            logger.info("Inputting text '{}' into web element with locator '{}'", text, locator);
+            return inputTextSlowly(el, text);
+        });
     }
 
     @Override
     public WebElement inputTextSlowly(@Nonnull WebElement el, String text) {
-        logger.info("Inputting text {} slowly into web element {}", text, el.getTagName());
-        for (Character c : text.toCharArray()) {
-            el.sendKeys(String.valueOf(c));
-            try {
-                Thread.sleep(timeoutsConfig.getPauseBetweenKeysMillis());
-            } catch (InterruptedException e) {
-                // don't care
+        return timed("inputTextSlowly", null, () -> {
+            logger.info("Inputting text {} slowly into web element {}", text, el.getTagName());
+            if (!typeSlowlyInBrowser(el, text, false)) {
+                sendKeysSlowly(el, text);
             }
-        }
-        return el;
+            return el;
+        });
     }
 
     @Override
@@ -818,19 +918,35 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         return enterTextAndSelectFromList(inputField, value, popoverLocator, withRetryCount, true);
     }
 
+    // Helper for inputTextSlowly: one sendKeys per character, pausing on the test thread
+    private void sendKeysSlowly(WebElement el, String text) {
+        for (Character c : text.toCharArray()) {
+            el.sendKeys(String.valueOf(c));
+            try {
+                Thread.sleep(timeoutsConfig.getPauseBetweenKeysMillis());
+            } catch (InterruptedException e) {
+                // don't care
+            }
+        }
+    }
+
     @Override
     public void inputTinyMceText(String text) {
-        waitForTinyMceToBeReady();
-        ((JavascriptExecutor) webDriver()).executeScript(format("tinyMCE.activeEditor.setContent(\"%s\")", text));
+        timed("inputTinyMceText", null, () -> {
+            waitForTinyMceToBeReady();
+            ((JavascriptExecutor) webDriver()).executeScript(format("tinyMCE.activeEditor.setContent(\"%s\")", text));
+        });
     }
 
     @Override
     public boolean isClickable(By locator) {
-        WebElement el = getElement(locator);
-        if (el == null) {
-            return false;
-        }
-        return isClickable(el);
+        return timed("isClickable", locator, () -> {
+            WebElement el = getElement(locator);
+            if (el == null) {
+                return false;
+            }
+            return isClickable(el);
+        });
     }
 
     /**
@@ -838,50 +954,69 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
      */
     @Override
     public boolean isClickable(WebElement el) {
-        if (el == null) {
-            return false;
-        }
-        try {
-            if (!el.isDisplayed()) { //If not visible, element isn't clickable
+        return timed("isClickable", null, () -> {
+            if (el == null) {
                 return false;
             }
-            if (el.getSize().getHeight() <= 0 || el.getSize().getWidth() <= 0) { // If width or height is 0, element is not clickable
+            try {
+                Optional<ElementState> state = probeElementState(el);
+                if (state.isPresent()) {
+                    return state.get().isClickable();
+                }
+                if (!el.isDisplayed()) { //If not visible, element isn't clickable
+                    return false;
+                }
+                if (el.getSize().getHeight() <= 0 || el.getSize().getWidth() <= 0) { // If width or height is 0, element is not clickable
+                    return false;
+                }
+                if (!el.isEnabled()) {
+                    return false;
+                }
+            } catch (Exception e) {
                 return false;
             }
-        } catch (Exception e) {
-            return false;
-        }
-        return true;
+            return true;
+        });
     }
 
     @Override
     public boolean isSelected(By locator) {
-        WebElement el = findElement(locator, null);
-        return el.isSelected();
+        return timed("isSelected", locator, () -> {
+            WebElement el = findElement(locator, null);
+            return el.isSelected();
+        });
     }
 
     @Override
     public boolean isSelected(WebElement el) {
-        return el.isSelected();
+        return timed("isSelected", null, () -> el.isSelected());
     }
 
     @Override
     public boolean isVisible(By locator) {
-        WebElement el = getElement(locator);
-        return isVisible(el);
+        return timed("isVisible", locator, () -> {
+            WebElement el = getElement(locator);
+            return isVisible(el);
+        });
     }
 
     @Override
     public boolean isVisible(WebElement el) {
-        if (el == null) {
-            return false;
-        }
-        try {
-            return el.isDisplayed() && el.getSize().getHeight() > 0 && el.getSize().getWidth() > 0;
-        } catch (StaleElementReferenceException e) {
-            // If the element becomes stale during the check, after we got it, then return false.
-            return false;
-        }
+        return timed("isVisible", null, () -> {
+            if (el == null) {
+                return false;
+            }
+            try {
+                Optional<ElementState> state = probeElementState(el);
+                if (state.isPresent()) {
+                    return state.get().isVisible();
+                }
+                return el.isDisplayed() && el.getSize().getHeight() > 0 && el.getSize().getWidth() > 0;
+            } catch (StaleElementReferenceException e) {
+                // If the element becomes stale during the check, after we got it, then return false.
+                return false;
+            }
+        });
     }
 
     @Override
@@ -895,38 +1030,64 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         return (T) browser.loadTopLevelPage(pageClass);
     }
 
+    @Override
+    @Nullable
+    public WebElement queryElement(ElementQuery query) {
+        return timed("queryElement", query.getLocator(), () -> {
+            List<WebElement> matches = runQuery(query, true);
+            if (matches.size() > 0) {
+                return matches.get(0);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    @Nonnull
+    public List<WebElement> queryElements(ElementQuery query) {
+        return timed("queryElements", query.getLocator(), () -> runQuery(query, false));
+    }
+
     @Override
     public void scrollIntoView(By locator) {
-        WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
-        scrollIntoView(el);
+        timed("scrollIntoView", locator, () -> {
+            WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
+            scrollIntoView(el);
+        });
     }
 
     @Override
     public void scrollIntoView(WebElement el) {
-        int scrollHeight = webDriver().manage().window().getSize().getHeight();
-        int y = Math.max(0, el.getLocation().getY() - scrollHeight / 2); //Subtract half the window height so its in the middle of the viewable area.
-        executeJavascript(format("window.scrollTo(%d, %d)", 0, y));
+        timed("scrollIntoView", null, () -> {
+            int scrollHeight = webDriver().manage().window().getSize().getHeight();
+            int y = Math.max(0, el.getLocation().getY() - scrollHeight / 2); //Subtract half the window height so its in the middle of the viewable area.
+            executeJavascript(format("window.scrollTo(%d, %d)", 0, y));
+        });
     }
 
     @Override
     public void scrollIntoView(By scrollContainerLocator, By locator) {
-        WebElement parent = verifyElementPresented(scrollContainerLocator, TimeoutType.DEFAULT);
-        WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
-        int currentScrollTop = ((Long) executeJavascript(format("return $('%s').scrollTop()", scrollContainerLocator))).intValue();
-        int y = el.getLocation().getY();
-        int parentY = parent.getLocation().getY();
-        int scrollTo = Math.max(0, y - parentY + currentScrollTop);
-        executeJavascript(format("$('%s').scrollTop(%d)", scrollContainerLocator, scrollTo));
+        timed("scrollIntoView", locator, () -> {
+            WebElement parent = verifyElementPresented(scrollContainerLocator, TimeoutType.DEFAULT);
+            WebElement el = verifyElementPresented(locator, TimeoutType.DEFAULT);
+            int currentScrollTop = ((Long) executeJavascript(format("return $('%s').scrollTop()", scrollContainerLocator))).intValue();
+            int y = el.getLocation().getY();
+            int parentY = parent.getLocation().getY();
+            int scrollTo = Math.max(0, y - parentY + currentScrollTop);
+            executeJavascript(format("$('%s').scrollTop(%d)", scrollContainerLocator, scrollTo));
+        });
     }
 
     @Override
     public void scrollIntoView(By scrollContainerLocator, WebElement el) {
-        WebElement parent = verifyElementPresented(scrollContainerLocator, TimeoutType.DEFAULT);
-        int currentScrollTop = ((Long) executeJavascript(format("return $('%s').scrollTop()", scrollContainerLocator))).intValue();
-        int y = el.getLocation().getY();
-        int parentY = parent.getLocation().getY();
-        int scrollTo = Math.max(0, y - parentY + currentScrollTop);
-        executeJavascript(format("$('%s').scrollTop(%d)", scrollContainerLocator, scrollTo));
+        timed("scrollIntoView", scrollContainerLocator, () -> {
+            WebElement parent = verifyElementPresented(scrollContainerLocator, TimeoutType.DEFAULT);
+            int currentScrollTop = ((Long) executeJavascript(format("return $('%s').scrollTop()", scrollContainerLocator))).intValue();
+            int y = el.getLocation().getY();
+            int parentY = parent.getLocation().getY();
+            int scrollTo = Math.max(0, y - parentY + currentScrollTop);
+            executeJavascript(format("$('%s').scrollTop(%d)", scrollContainerLocator, scrollTo));
+        });
     }
 
     @Override
@@ -934,10 +1095,13 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String errorMessage = format("Failure in verifyElementContainsText: an element with Locator '%s' was never found containing text '%s'!",
                 locator, text);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        if (!waitInBrowser(InBrowserWait.CONTAINS_TEXT, waitSeconds, "verifyElementContainsText", errorMessage, locator, text).isPresent()) {
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), "verifyElementContainsText", locator);
+            wait.withMessage(errorMessage)
+                    .ignoring(StaleElementReferenceException.class);
+            wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        }
         logger.info("SUCCESS: Verified element with Locator '{}' contains text '{}'", locator, text);
     }
 
@@ -952,7 +1116,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
                                       }
                                       return null;
                                   }
-                              }, this,
+                              }, this, "verifyElementDoesNotHaveClass",
                 format("Waiting for element that matches locator '%s' to NOT have class '%s'", locator, locatorClass),
                 timeout);
     }
@@ -968,15 +1132,21 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
                                       }
                                       return null;
                                   }
-                              }, this,
+                              }, this, "verifyElementHasClass",
                 format("Waiting for element that matches locator '%s' to have class '%s'", locator, locatorClass),
                 timeout);
     }
 
     @Override
     public void verifyElementInvisible(By locator, TimeoutType timeout) {
-        waitOnExpectedCondition(ExpectedConditions.invisibilityOfElementLocated(locator),
-                format("Failure in verifyElementInvisible waiting for element with locator '%s' to be invisible", locator), timeout);
+        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
+        String errorMessage = format("Failure in verifyElementInvisible waiting for element with locator '%s' to be invisible", locator);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        if (waitInBrowser(InBrowserWait.NOT_VISIBLE, waitSeconds, "verifyElementInvisible", errorMessage, locator).isPresent()) {
+            return;
+        }
+        waitOnExpectedConditionForSeconds(ExpectedConditions.invisibilityOfElementLocated(locator), "verifyElementInvisible", locator,
+                errorMessage, fallbackSeconds(deadline, errorMessage));
     }
 
     @Override
@@ -984,10 +1154,13 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         final String errorMessage = format("Failure in verifyElementNotPresented: element '%s' never became not presented after %d seconds!",
                 locator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage)
-                .ignoring(StaleElementReferenceException.class);
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        if (!waitInBrowser(InBrowserWait.NOT_VISIBLE, waitSeconds, "verifyElementNotPresented", errorMessage, locator).isPresent()) {
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), "verifyElementNotPresented", locator);
+            wait.withMessage(errorMessage)
+                    .ignoring(StaleElementReferenceException.class);
+            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        }
         logger.trace("SUCCESS: Verified element with locator '{}' is NOT present", locator);
     }
 
@@ -996,7 +1169,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
         final String errorMessage = format("Failure in verifyElementNotSelected: Element '%s' never became deselected after %d seconds!",
                 locator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "verifyElementNotSelected", locator);
         wait.withMessage(errorMessage)
                 .ignoring(StaleElementReferenceException.class);
         wait.until(ExpectedConditions.elementSelectionStateToBe(locator, false));
@@ -1007,7 +1180,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public WebElement verifyElementNotSelected(WebElement el, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "verifyElementNotSelected");
         wait.until(ExpectedConditions.elementSelectionStateToBe(el, false));
         logger.info("SUCCESS: Verified element <{}> is NOT selected", el.getTagName());
         return el;
@@ -1019,9 +1192,16 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         final String errorMessage =
                 format("Failure in verifyElementPresented: element '%s' never became presented after %d seconds!",
                         locator.toString(), waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
-        wait.withMessage(errorMessage).ignoring(StaleElementReferenceException.class);
-        WebElement el = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        Optional<Object> inBrowser = waitInBrowser(InBrowserWait.PRESENT, waitSeconds, "verifyElementPresented", errorMessage, locator);
+        WebElement el;
+        if (inBrowser.isPresent()) {
+            el = (WebElement) inBrowser.get();
+        } else {
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), "verifyElementPresented", locator);
+            wait.withMessage(errorMessage).ignoring(StaleElementReferenceException.class);
+            el = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        }
         logger.trace("SUCCESS: Verified element with Locator '{}' is present", locator.toString());
         return el;
     }
@@ -1030,7 +1210,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     public void verifyElementRemoved(WebElement element, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
         logger.info("Waiting for element to become stale (removed from the DOM) using timeout of {} seconds", waitSeconds);
-        waitOnExpectedConditionForSeconds(ExpectedConditions.stalenessOf(element),
+        waitOnExpectedConditionForSeconds(ExpectedConditions.stalenessOf(element), "verifyElementRemoved", null,
                 "Timeout waiting for web element to become stale (removed from the DOM).",
                 waitSeconds);
         logger.info("Verified web element became stale (removed from the DOM).");
@@ -1041,7 +1221,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
         final String errorMessage = format("Failure in verifyElementSelected: Element '%s' never became selected after %d seconds!",
                 locator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "verifyElementSelected", locator);
         wait.withMessage(errorMessage)
                 .ignoring(StaleElementReferenceException.class);
         wait.until(ExpectedConditions.elementToBeSelected(locator));
@@ -1053,7 +1233,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
         final String errorMessage = format("Failure in verifyElementSelected: Element '%s' never became selected after %d seconds!",
                 el.getTagName(), waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "verifyElementSelected");
         wait.withMessage(errorMessage);
         wait.until(ExpectedConditions.elementToBeSelected(el));
         logger.info("SUCCESS: Verified element <{}> is selected", el.getTagName());
@@ -1063,7 +1243,22 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public WebElement verifyElementVisible(final By locator, TimeoutType timeout) {
         final String errorMessage = format("Error in verifyElementVisible: element with locator '%s' never became visible", locator);
-        return waitOnExpectedCondition(ExpectedConditions.visibilityOfElementLocated(locator), errorMessage, timeout);
+        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        Optional<Object> inBrowser = waitInBrowser(InBrowserWait.VISIBLE, waitSeconds, "verifyElementVisible", errorMessage, locator);
+        if (inBrowser.isPresent()) {
+            return (WebElement) inBrowser.get();
+        }
+        return waitOnExpectedConditionForSeconds(new ExpectedCondition<WebElement>() {
+            @Override
+            public WebElement apply(WebDriver input) {
+                WebElement el = getElement(locator);
+                if (el != null && isDisplayed(el)) {
+                    return el;
+                }
+                return null;
+            }
+        }, "verifyElementVisible", locator, errorMessage, fallbackSeconds(deadline, errorMessage));
     }
 
     @Override
@@ -1073,46 +1268,54 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public void verifyElementWithTextIsInvisible(By locator, String text, TimeoutType timeout) {
-        try {
-            WebElement visibleEl = findVisibleElementContainingTextWithWait(locator, text, timeout);
-            throw new RuntimeException(
-                    format("Error in verifyElementWithTextIsInvisible: found element by locator '%s' containing text '%s'", locator, text));
-        } catch (Exception e) {
-            return; // OK - we didn't find a visible element containing the given text
-        }
+        verifyElementWithTextIsInvisible(locator, text, 0, timeout);
+    }
+
+    @Override
+    public void verifyElementWithTextIsInvisible(By locator, String text, long stableMillis, TimeoutType timeout) {
+        verifyNoElementContainsText("verifyElementWithTextIsInvisible", locator, text, true, stableMillis, timeout);
     }
 
     @Override
     public void verifyElementWithTextNotPresented(By locator, String text, TimeoutType timeout) {
-        try {
-            findElementContainingTextWithWait(locator, text, timeout);
-            throw new RuntimeException(
-                    format("Error in verifyElementWithTextNotPresented: found element with locator '%s' containing text '%s'!", locator, text));
-        } catch (Exception e) {
-            return;
-        }
+        verifyElementWithTextNotPresented(locator, text, 0, timeout);
+    }
+
+    @Override
+    public void verifyElementWithTextNotPresented(By locator, String text, long stableMillis, TimeoutType timeout) {
+        verifyNoElementContainsText("verifyElementWithTextNotPresented", locator, text, false, stableMillis, timeout);
     }
 
     @Override
     public WebElement verifyPageRefreshed(WebElement elementFromBeforeRefresh, By locatorAfterRefresh, TimeoutType timeout) {
-        int waitSeconds = getTimeout(timeoutsConfig.getPageRefreshTimeoutSeconds(), timeout);
-        logger.info("Waiting for locator '{}' to be present after page refreshes, using timeout of {} seconds", locatorAfterRefresh, waitSeconds);
-        waitOnExpectedConditionForSeconds(ExpectedConditions.stalenessOf(elementFromBeforeRefresh),
-                "Timeout waiting for web element to become stale (waiting for page to reload).",
-                waitSeconds);
-        logger.info("Verified web element became stale (page is reloading).");
-        WebElement el = verifyElementPresented(locatorAfterRefresh, TimeoutType.DEFAULT);
-        logger.info("Successfully verified page refreshed by finding web element with locator '{}'.", locatorAfterRefresh);
+        return timed("verifyPageRefreshed", locatorAfterRefresh, () -> withDeadline(getTimeout(timeoutsConfig.getPageRefreshTimeoutSeconds(), timeout), () -> {
+            int waitSeconds = getTimeout(timeoutsConfig.getPageRefreshTimeoutSeconds(), timeout);
+            logger.info("Waiting for locator '{}' to be present after page refreshes, using timeout of {} seconds", locatorAfterRefresh, waitSeconds);
+            waitOnExpectedConditionForSeconds(ExpectedConditions.stalenessOf(elementFromBeforeRefresh), "verifyElementRemoved", null,
+                    "Timeout waiting for web element to become stale (waiting for page to reload).",
+                    waitSeconds);
+            logger.info("Verified web element became stale (page is reloading).");
+            WebElement el = verifyElementPresented(locatorAfterRefresh, TimeoutType.DEFAULT);
+            logger.info("Successfully verified page refreshed by finding web element with locator '{}'.", locatorAfterRefresh);
 
-        return el;
+            return el;
+        }));
     }
 
     @Override
     public void waitForJavascriptSymbolToBeDefined(final String symbol, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds, DEFAULT_POLL_MILLIS); //Check every 100ms
-        wait.ignoring(StaleElementReferenceException.class);
+        String conditionFunction = format("function() { return (typeof %s != 'undefined') && (%s != null); }", symbol, symbol);
+        String errorMessage = format("Javascript symbol '%s' never became defined", symbol);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
         try {
+            if (waitInBrowser(InBrowserWait.script(conditionFunction), waitSeconds, "waitForJavascriptSymbolToBeDefined",
+                    errorMessage, null).isPresent()) {
+                logger.info("Success verifying javascript symbol '{}' is defined!", symbol);
+                return;
+            }
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), "waitForJavascriptSymbolToBeDefined");
+            wait.ignoring(StaleElementReferenceException.class);
             wait.until(new ExpectedCondition<Object>() {
                 @Nullable
                 @Override
@@ -1132,9 +1335,17 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public void waitForJavascriptSymbolToHaveValue(final String symbol, final String value, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds, DEFAULT_POLL_MILLIS); //Check every 100ms
-        wait.ignoring(StaleElementReferenceException.class);
+        String conditionFunction = format("function() { return (%s) === (%s); }", symbol, value);
+        String errorMessage = format("Javascript symbol '%s' never had value '%s'", symbol, value);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
         try {
+            if (waitInBrowser(InBrowserWait.script(conditionFunction), waitSeconds, "waitForJavascriptSymbolToHaveValue",
+                    errorMessage, null).isPresent()) {
+                logger.info("Success verifying javascript symbol '{}' has value '{}'!", symbol, value);
+                return;
+            }
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), "waitForJavascriptSymbolToHaveValue");
+            wait.ignoring(StaleElementReferenceException.class);
             wait.until(new ExpectedCondition<Object>() {
                 @Nullable
                 @Override
@@ -1154,14 +1365,23 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public void waitForPageToBeStable(TimeoutType timeout) {
         int waitSeconds = getTimeout(BrowserUtil.DEFAULT_TIMEOUT_SECONDS, timeout);
-        BrowserUtil.waitForPageHtmlToBeStable(getBrowser(), waitSeconds);
+        long start = System.nanoTime();
+        try {
+            BrowserUtil.waitForDomToBeStable(getBrowser(), waitSeconds, timeoutsConfig.getDomQuietWindowMillis());
+        } catch (TimeoutException e) {
+            recordAction("waitForPageToBeStable", null, start, true);
+            throw e;
+        }
+        recordAction("waitForPageToBeStable", null, start, false);
     }
 
     @Override
     public void waitForTinyMceToBeReady() {
-        waitForJavascriptSymbolToBeDefined("tinyMCE", TimeoutType.DEFAULT);
-        waitForJavascriptSymbolToBeDefined("tinyMCE.activeEditor", TimeoutType.DEFAULT);
-        waitForJavascriptSymbolToHaveValue("tinyMCE.activeEditor.initialized", "true", TimeoutType.DEFAULT);
+        timed("waitForTinyMceToBeReady", null, () -> {
+            waitForJavascriptSymbolToBeDefined("tinyMCE", TimeoutType.DEFAULT);
+            waitForJavascriptSymbolToBeDefined("tinyMCE.activeEditor", TimeoutType.DEFAULT);
+            waitForJavascriptSymbolToHaveValue("tinyMCE.activeEditor.initialized", "true", TimeoutType.DEFAULT);
+        });
     }
 
     @Override
@@ -1177,16 +1397,48 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
                                     return false;
                                 }
                             }
-                        },
+                        }, new Object(), "waitForWebPageReadyStateToBeComplete",
                 String.format("Error - web page never reached document.readyState='complete' after %d seconds", waitSeconds),
                 TimeoutType.PAGE_LOAD_TIMEOUT);
         logger.info("Success - Waited for document.readyState to be 'complete' on page: " + webDriver().getCurrentUrl());
     }
 
+    @Override
+    public <T> T withDeadline(TimeoutType timeout, Supplier<T> action) {
+        return withDeadline(getTimeout(timeoutsConfig.getLongTimeoutSeconds(), timeout), action);
+    }
+
+    @Override
+    public void withDeadline(TimeoutType timeout, Runnable action) {
+        withDeadline(getTimeout(timeoutsConfig.getLongTimeoutSeconds(), timeout), action);
+    }
+
+    @Override
+    public void waitForNetworkIdle(long quietMillis, TimeoutType timeout) {
+        Preconditions.checkArgument(quietMillis >= 0, "The quiet time can't be negative");
+        if (!(webDriver() instanceof JavascriptExecutor)) {
+            throw new IllegalStateException("Waiting for network idle requires a WebDriver that executes javascript");
+        }
+        int waitSeconds = getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout);
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+        long start = System.nanoTime();
+        getBrowser().ensureScriptTimeoutMillis(timeoutMillis + BrowserUtil.SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        List<?> result = (List<?>) ((JavascriptExecutor) webDriver())
+                .executeAsyncScript(NetworkActivityTracker.WAIT_SCRIPT, quietMillis, timeoutMillis);
+        if (result != null && Boolean.TRUE.equals(result.get(0))) {
+            recordAction("waitForNetworkIdle", null, start, false);
+            logger.info("Success - waited for the network to be idle for {} ms! Took {} ms", quietMillis, result.get(1));
+            return;
+        }
+        recordAction("waitForNetworkIdle", null, start, true);
+        throw new TimeoutException(format("Timeout waiting for the network to be idle for %d ms with %d seconds timeout used: " +
+                "%s requests still in flight", quietMillis, waitSeconds, result == null ? "unknown" : result.get(1)));
+    }
+
     @Override
     public <T> T waitOnExpectedCondition(ExpectedCondition<T> expectedCondition, String message, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout); //Default of web element presence timeout
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds, DEFAULT_POLL_MILLIS);
+        WebDriverWait wait = newWait(waitSeconds, expectedCondition.getClass().getName());
         wait.withMessage(message)
                 .ignoring(StaleElementReferenceException.class);
         logger.info("Waiting on expected condition, using timeout of {} seconds", waitSeconds);
@@ -1195,19 +1447,12 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public <T, V> V waitOnFunction(Function<T, V> function, T input, String message, TimeoutType timeout) {
-        int waitSeconds = getTimeout(timeoutsConfig.getMediumTimeoutSeconds(), timeout);
-        FluentWait<T> fluentWait = new FluentWait<T>(input)
-                .withTimeout(waitSeconds, TimeUnit.SECONDS)
-                .pollingEvery(DEFAULT_POLL_MILLIS, TimeUnit.MILLISECONDS)
-                .withMessage(message)
-                .ignoring(NotFoundException.class)
-                .ignoring(StaleElementReferenceException.class);
-        return fluentWait.until(function);
+        return waitOnFunction(function, input, function.getClass().getName(), message, timeout);
     }
 
     public <T extends TopLevelPage> T waitOnPagePredicateWithRefresh(final Predicate<T> predicate, final Class<T> pageClass, String message, TimeoutType timeout) {
         int timeoutSeconds = getTimeout(timeoutsConfig.getPageLoadTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), timeoutSeconds, DEFAULT_POLL_MILLIS);
+        WebDriverWait wait = newWait(timeoutSeconds, "waitOnPagePredicateWithRefresh");
         wait.withMessage(message)
                 .ignoring(StaleElementReferenceException.class);
 
@@ -1228,14 +1473,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
 
     @Override
     public <T> void waitOnPredicate(Predicate<T> predicate, T input, String message, TimeoutType timeout) {
-        int waitSeconds = getTimeout(timeoutsConfig.getMediumTimeoutSeconds(), timeout);
-        FluentWait<T> fluentWait = new FluentWait<T>(input)
-                .withTimeout(waitSeconds, TimeUnit.SECONDS)
-                .pollingEvery(DEFAULT_POLL_MILLIS, TimeUnit.MILLISECONDS)
-                .withMessage(message)
-                .ignoring(NotFoundException.class)
-                .ignoring(StaleElementReferenceException.class);
-        fluentWait.until(predicate);
+        waitOnPredicate(predicate, input, predicate.getClass().getName(), message, timeout);
     }
 
     @Override
@@ -1246,7 +1484,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     @Override
     public <T> void waitOnPredicateWithRefresh(final Predicate<T> predicate, final T input, String message, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getMediumTimeoutSeconds(), timeout);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds, DEFAULT_POLL_MILLIS);
+        WebDriverWait wait = newWait(waitSeconds, "waitOnPredicateWithRefresh");
         wait.withMessage(message)
                 .ignoring(StaleElementReferenceException.class);
 
@@ -1269,21 +1507,36 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     }
 
     @Override
-    public WebElement waitUntilClickable(By locator, TimeoutType timeout) {
+    public WebElement waitUntilClickable(final By locator, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
         final String errorMessage = format("Element '%s' never became clickable after '%d' seconds", locator, waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        Optional<Object> inBrowser = waitInBrowser(InBrowserWait.CLICKABLE, waitSeconds, "waitUntilClickable", errorMessage, locator);
+        if (inBrowser.isPresent()) {
+            return (WebElement) inBrowser.get();
+        }
+        int pollSeconds = fallbackSeconds(deadline, errorMessage);
+        WebDriverWait wait = newWait(pollSeconds, "waitUntilClickable", locator);
         wait.withMessage(errorMessage)
                 .ignoring(StaleElementReferenceException.class);
-        logger.info("Waiting for locator element '{}' to be clickable, using timeout of {} seconds", locator, waitSeconds);
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        logger.info("Waiting for locator element '{}' to be clickable, using timeout of {} seconds", locator, pollSeconds);
+        return wait.until(new ExpectedCondition<WebElement>() {
+            @Override
+            public WebElement apply(WebDriver input) {
+                WebElement el = getElement(locator);
+                if (isClickable(el)) {
+                    return el;
+                }
+                return null;
+            }
+        });
     }
 
     @Override
     public WebElement waitUntilClickable(final WebElement el, TimeoutType timeout) {
         int waitSeconds = getTimeout(timeoutsConfig.getClickTimeoutSeconds(), timeout);
         final String message = format("Element never became clickable after '%d' seconds", waitSeconds);
-        WebDriverWait wait = new WebDriverWait(webDriver(), waitSeconds);
+        WebDriverWait wait = newWait(waitSeconds, "waitUntilClickable");
         wait.withMessage(message)
                 .ignoring(StaleElementReferenceException.class);
         wait.until(new ExpectedCondition<WebElement>() {
@@ -1313,8 +1566,47 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     }
 
     //////////////////////////////////// helpers ////////////////////////////////////////////////
+
+    /**
+     * Type the autocomplete text one key at a time, and after each key wait inside the page for a displayed popup
+     * containing the required text. The wait returns as soon as the popup renders, and typing stops once it's clicked.
+     * Until the last key, each wait only lasts the pause between keys, so typing goes on at the pace of a user; a popup
+     * that renders later is found by the check after the next key. Only the last key waits the full timeout.
+     */
+    protected void enterTextForAutoCompleteAndWatch(By inputLocator, int minChars, String text, By popoverLocator,
+                                                    ScriptLocator popoverScriptLocator, String requiredPopupText) {
+        WebElement input = getElementWithWait(inputLocator);
+        if (minChars > 0) {
+            input.sendKeys(text.substring(0, minChars));
+        }
+        long keyTimeoutMillis = Math.min(timeoutsConfig.getPauseBetweenKeysMillis(),
+                TimeUnit.SECONDS.toMillis(getTimeout(1, TimeoutType.ONE_SECOND)));
+        long lastKeyTimeoutMillis = TimeUnit.SECONDS.toMillis(getTimeout(5, TimeoutType.FIVE_SECONDS));
+        getBrowser().ensureScriptTimeoutMillis(lastKeyTimeoutMillis + BrowserUtil.SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        for (int i = minChars; i < text.length(); i++) {
+            input.sendKeys(String.valueOf(text.charAt(i)));
+
+            // If the last char is being entered, wait the full timeout for the expected popup
+            long timeoutMillis = (i == text.length() - 1) ? lastKeyTimeoutMillis : keyTimeoutMillis;
+            Object match = ((JavascriptExecutor) webDriver()).executeAsyncScript(AutocompleteWatch.WAIT_FOR_MATCH_SCRIPT,
+                    popoverScriptLocator.getStrategy(), popoverScriptLocator.getValue(), requiredPopupText, timeoutMillis);
+            if (!(match instanceof WebElement)) {
+                continue;
+            }
+            try {
+                getActionsBuilder().moveToElement((WebElement) match).click().perform();
+                logger.info("Success - clicked popup for autocomplete text \"{}\"", text);
+                return;
+            } catch (Exception e) {
+                logger.debug("Exception clicking popup from autocomplete.", e);
+            }
+        }
+        throw new RuntimeException(format("No popup defined by Locator  '%s' found with required text '%s'", popoverLocator, requiredPopupText));
+    }
+
     protected WebElement enterTextAndSelectFromList(WebElement inputField, String value, By popoverLocator,
                                                     int withRetryCount, boolean slowly) throws SeleniumActionsException {
+        long start = System.nanoTime();
         boolean done = false;
         int initialCount = withRetryCount;
 
@@ -1335,6 +1627,7 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
                     format("Entered text successfully and selected locator '%s' from list after %d retries", popoverLocator, numberOfUsedRetries) :
                     format("Failed to enter text and select locator '%s' from list.", popoverLocator));
         }
+        recordAction(slowly ? "inputTextSlowlyAndSelectFromList" : "inputTextAndSelectFromList", popoverLocator, start, false);
         if (!done) {
             throw new SeleniumActionsException(format("Failed to inputTextAndSelectFromList after %d retries", numberOfUsedRetries));
         }
@@ -1342,21 +1635,315 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
     }
 
     protected void enterTextAndSelectFromList(WebElement inputField, String value, By popoverLocator, boolean slowly) {
-        clearText(inputField);
-        if (slowly) {
-            inputTextSlowly(inputField, value);
+        if (slowly && typeSlowlyInBrowser(inputField, value, true)) {
+            // Cleared and typed in the browser with a single command
+            logger.info("Input text {} slowly into web element {}", value, inputField);
+        } else if (slowly) {
+            clearText(inputField);
+            sendKeysSlowly(inputField, value);
         } else {
+            clearText(inputField);
             inputText(inputField, value);
         }
         verifyElementPresented(popoverLocator, TimeoutType.DEFAULT);
         click(popoverLocator, TimeoutType.DEFAULT);
     }
 
+    /**
+     * Read the displayed, size, enabled and in-viewport state of an element with one javascript call.
+     *
+     * @return - the state, or an empty Optional if javascript can't be used with the current driver, in which case
+     * the caller should fall back to the WebElement API.
+     * @throws StaleElementReferenceException if the element is no longer attached to the DOM.
+     */
+    protected Optional<ElementState> probeElementState(WebElement el) {
+        if (!isJavascriptSupported()) {
+            return Optional.empty();
+        }
+        try {
+            Object result = ((JavascriptExecutor) webDriver()).executeScript(ElementState.PROBE_SCRIPT, el);
+            return Optional.of(ElementState.fromScriptResult(result));
+        } catch (StaleElementReferenceException e) {
+            throw e;
+        } catch (WebDriverException | IllegalArgumentException e) {
+            logger.debug("Unable to probe element state with javascript, falling back to the WebElement API: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Wait for a condition inside the page with a single asynchronous script, see {@link InBrowserWait}.
+     * If a locator is given, it's translated to a {@link ScriptLocator}, whose strategy and value are the first
+     * two arguments of the condition, followed by the given arguments.
+     *
+     * @param script      - built by {@link InBrowserWait#script(String)}
+     * @param waitSeconds - how long to wait before timing out
+     * @param action      - the name the wait is recorded under in the {@link MetricsRegistry}
+     * @param message     - the message of the TimeoutException
+     * @return - the value of the condition once it holds, or an empty Optional if the wait can't run in the browser,
+     * because javascript isn't supported, the locator can't be translated, or the page went away during the wait;
+     * the caller should poll from Java instead, for the time {@link #fallbackSeconds} leaves.
+     * @throws TimeoutException if the condition doesn't hold within waitSeconds.
+     */
+    protected Optional<Object> waitInBrowser(String script, int waitSeconds, String action, String message,
+                                             @Nullable By locator, Object... args) {
+        if (!isJavascriptSupported()) {
+            return Optional.empty();
+        }
+        List<Object> conditionArgs = Lists.newArrayList();
+        if (locator != null) {
+            Optional<ScriptLocator> scriptLocator = ScriptLocator.of(locator);
+            if (!scriptLocator.isPresent()) {
+                return Optional.empty();
+            }
+            conditionArgs.add(scriptLocator.get().getStrategy());
+            conditionArgs.add(scriptLocator.get().getValue());
+        }
+        conditionArgs.addAll(Arrays.asList(args));
+
+        long start = System.nanoTime();
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+        InBrowserWait.Result result;
+        try {
+            getBrowser().ensureScriptTimeoutMillis(timeoutMillis + BrowserUtil.SCRIPT_TIMEOUT_MARGIN_MILLIS);
+            result = InBrowserWait.Result.fromScriptResult(((JavascriptExecutor) webDriver())
+                    .executeAsyncScript(script, conditionArgs, timeoutMillis, InBrowserWait.POLL_MILLIS));
+        } catch (TimeoutException e) {
+            // The driver gave up on the script, which only happens if it couldn't report its own timeout
+            recordAction(action, locator, start, true);
+            throw new TimeoutException(format("%s (after %d seconds)", message, waitSeconds), e);
+        } catch (WebDriverException | IllegalArgumentException e) {
+            // e.g. the page navigated away, which discards the script, or a stale element was passed as an argument
+            logger.debug("Unable to wait in the browser for {}, polling instead: {}", action, e.getMessage());
+            return Optional.empty();
+        }
+        recordAction(action, locator, start, !result.holds());
+        if (!result.holds()) {
+            Object lastError = result.getValue();
+            throw new TimeoutException(format("%s (after %d seconds)%s", message, waitSeconds,
+                    lastError == null ? "" : ": " + lastError));
+        }
+        return Optional.of(result.getValue());
+    }
+
+    /**
+     * The timeout of the Java poll a caller falls back to when {@link #waitInBrowser} returns empty: what's left of
+     * the deadline the caller set for the whole wait, rounded up to whole seconds. A script discarded by a navigation
+     * may already have used most of it, and the poll mustn't start over with the full timeout.
+     *
+     * @throws TimeoutException with the message if the deadline has passed.
+     */
+    protected int fallbackSeconds(Deadline deadline, String message) {
+        if (deadline.isExpired()) {
+            throw new TimeoutException(format("%s (after %d seconds)", message,
+                    TimeUnit.MILLISECONDS.toSeconds(deadline.getBudgetMillis())));
+        }
+        return deadline.clampSeconds(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Wait until no element located by the locator contains the text, or no visible one if visibleOnly is set,
+     * and hasn't for stableMillis. Returns as soon as that's the case: the check runs in the browser when it can,
+     * otherwise it's polled with the implicit wait suspended, so lookups don't block when nothing matches.
+     *
+     * @throws TimeoutException if a matching element is still there when the timeout is over.
+     */
+    protected void verifyNoElementContainsText(String action, By locator, String text, boolean visibleOnly,
+                                               long stableMillis, TimeoutType timeout) {
+        Preconditions.checkArgument(stableMillis >= 0, "The stability window can't be negative");
+        int waitSeconds = getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), timeout);
+        String errorMessage = format("Error in %s: found %selement with locator '%s' containing text '%s'",
+                action, visibleOnly ? "visible " : "", locator, text);
+        Deadline deadline = Deadline.afterMillis(TimeUnit.SECONDS.toMillis(waitSeconds));
+        Optional<Object> inBrowser = waitInBrowser(visibleOnly ? InBrowserWait.NO_VISIBLE_ELEMENT_CONTAINS_TEXT : InBrowserWait.NO_ELEMENT_CONTAINS_TEXT,
+                waitSeconds, action, errorMessage, locator, text, stableMillis);
+        if (!inBrowser.isPresent()) {
+            WebDriverWait wait = newWait(fallbackSeconds(deadline, errorMessage), action, locator);
+            wait.withMessage(errorMessage)
+                    .ignoring(StaleElementReferenceException.class);
+            ((Browser<?>) getBrowser()).withImplicitWaitSuspended(() -> wait.until(new ExpectedCondition<Boolean>() {
+                private long absentSinceNanos = -1;
+
+                @Override
+                public Boolean apply(WebDriver input) {
+                    WebElement el = visibleOnly ? findVisibleElementContainingText(locator, text) : findElementContainingText(locator, text);
+                    long now = System.nanoTime();
+                    if (el != null) {
+                        absentSinceNanos = -1;
+                        return false;
+                    }
+                    if (absentSinceNanos < 0) {
+                        absentSinceNanos = now;
+                    }
+                    return now - absentSinceNanos >= TimeUnit.MILLISECONDS.toNanos(stableMillis);
+                }
+            }));
+        }
+        logger.info("SUCCESS: Verified no {}element with locator '{}' contains text '{}'", visibleOnly ? "visible " : "", locator, text);
+    }
+
+    /**
+     * Read one kind of value from every element located by the locator with a single {@link BulkRead#READ_SCRIPT}.
+     * Locators that javascript can't evaluate are looked up through the WebDriver first, without waiting.
+     *
+     * @param kind - one of the kinds of {@link BulkRead}
+     * @return - one value per element, or an empty Optional if javascript can't be used, in which case the caller
+     * should read the values through the WebElement API.
+     */
+    protected Optional<List<?>> readAllInBrowser(By locator, String kind, String... attributeNames) {
+        if (!isJavascriptSupported()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            Optional<ScriptLocator> scriptLocator = ScriptLocator.of(locator);
+            Object result;
+            if (scriptLocator.isPresent()) {
+                result = ((JavascriptExecutor) webDriver()).executeScript(BulkRead.READ_SCRIPT,
+                        scriptLocator.get().getStrategy(), scriptLocator.get().getValue(), kind, Arrays.asList(attributeNames), null);
+            } else {
+                List<WebElement> candidates = findElementsImmediately(locator, null);
+                if (candidates.isEmpty()) {
+                    return Optional.of(candidates);
+                }
+                result = ((JavascriptExecutor) webDriver()).executeScript(BulkRead.READ_SCRIPT,
+                        null, null, kind, Arrays.asList(attributeNames), candidates);
+            }
+            if (!(result instanceof List)) {
+                throw new IllegalArgumentException("Unexpected result of a bulk read: " + result);
+            }
+            recordAction("bulkRead", locator, start, false);
+            return Optional.of((List<?>) result);
+        } catch (WebDriverException | IllegalArgumentException e) {
+            // Includes a candidate becoming stale between the lookup and the script
+            logger.debug("Unable to read the {} of elements with locator '{}' with javascript, falling back to the WebElement API: {}",
+                    kind, locator, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Look up elements without waiting for them: in one script when javascript can evaluate the locator, otherwise
+     * through the WebDriver with its implicit wait suspended. Either way, the lookup goes through the
+     * {@link ElementLookupCache} when it's enabled, so it shares cached results with {@link #findElements(By, WebElement)}.
+     */
+    protected List<WebElement> findElementsImmediately(By locator, @Nullable WebElement parentEl) {
+        if (parentEl == null && isJavascriptSupported() && ScriptLocator.of(locator).isPresent()) {
+            if (isLookupCacheEnabled()) {
+                return browser.getElementLookupCache().findElements((JavascriptExecutor) webDriver(), locator, null,
+                        () -> runQuery(ElementQuery.locatedBy(locator), false));
+            }
+            return runQuery(ElementQuery.locatedBy(locator), false);
+        }
+        return ((Browser<?>) getBrowser()).withImplicitWaitSuspended(() -> findElements(locator, parentEl));
+    }
+
+    /**
+     * Type the text into a text input or textarea with one asynchronous script, pausing between keys in the browser,
+     * if the {@link KeyPacing} of the TimeoutsConfig is BROWSER.
+     *
+     * @param clearFirst - whether to clear the element before typing
+     * @return - false if nothing was typed, because the key pacing is DRIVER, javascript isn't supported, the text
+     * contains {@link org.openqa.selenium.Keys} such as ENTER or TAB, or the element isn't an editable text field;
+     * the caller should send the keys through the WebDriver instead.
+     */
+    protected boolean typeSlowlyInBrowser(WebElement el, String text, boolean clearFirst) {
+        if (timeoutsConfig.getKeyPacing() != KeyPacing.BROWSER || text.isEmpty() || !BrowserTyping.canType(text)
+                || !isJavascriptSupported()) {
+            return false;
+        }
+        long pauseMillis = timeoutsConfig.getPauseBetweenKeysMillis();
+        long start = System.nanoTime();
+        getBrowser().ensureScriptTimeoutMillis(text.length() * pauseMillis + BrowserUtil.SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        Object typed = ((JavascriptExecutor) webDriver()).executeAsyncScript(BrowserTyping.TYPE_SCRIPT, el, text, pauseMillis, clearFirst);
+        if (!Boolean.TRUE.equals(typed)) {
+            logger.debug("Element <{}> isn't a text field, sending the keys through the WebDriver", el.getTagName());
+            return false;
+        }
+        recordAction("typeSlowlyInBrowser", null, start, false);
+        return true;
+    }
+
+    /**
+     * Whether javascript can be executed against the current page.
+     * Mobile browsers drive native application contexts, where javascript isn't available.
+     */
+    protected boolean isJavascriptSupported() {
+        return webDriver() instanceof JavascriptExecutor && browser.getBrowserType() != WebBrowserType.MOBILE;
+    }
+
+    /**
+     * Evaluate an {@link ElementQuery}. When javascript is available, the lookup and all predicates run in one script.
+     * Locators that javascript can't evaluate are looked up through the WebDriver first, then filtered in one script.
+     * Otherwise, fall back to checking each candidate through the WebElement API.
+     *
+     * @param firstOnly - stop at the first match
+     */
+    protected List<WebElement> runQuery(ElementQuery query, boolean firstOnly) {
+        Preconditions.checkNotNull(query, "Cannot run a null ElementQuery");
+        if (isJavascriptSupported() && query.isScriptable()) {
+            try {
+                Optional<ScriptLocator> scriptLocator = ScriptLocator.of(query.getLocator());
+                Object result;
+                if (scriptLocator.isPresent()) {
+                    result = ((JavascriptExecutor) webDriver()).executeScript(ElementQuery.QUERY_SCRIPT,
+                            scriptLocator.get().getStrategy(), scriptLocator.get().getValue(), query.toScriptOptions(firstOnly), null);
+                } else {
+                    List<WebElement> candidates = findElements(query.getLocator(), null);
+                    if (candidates.isEmpty()) {
+                        return Lists.newArrayList();
+                    }
+                    result = ((JavascriptExecutor) webDriver()).executeScript(ElementQuery.QUERY_SCRIPT,
+                            null, null, query.toScriptOptions(firstOnly), candidates);
+                }
+                return toElementList(result);
+            } catch (WebDriverException e) {
+                // Includes a candidate becoming stale between the lookup and the filtering script.
+                logger.debug("Unable to run query {} with javascript, falling back to the WebElement API: {}", query, e.getMessage());
+            }
+        }
+        List<WebElement> matches = Lists.newArrayList();
+        for (WebElement el : findElements(query.getLocator(), null)) {
+            try {
+                if (matchesQuery(el, query)) {
+                    matches.add(el);
+                    if (firstOnly) {
+                        break;
+                    }
+                }
+            } catch (Exception e) { //Don't fail just because one web element was stale. Continue searching.
+                logger.debug("Exception while checking web element against query {}", query);
+                logger.debug(Throwables.getStackTraceAsString(e));
+            }
+        }
+        return matches;
+    }
+
     protected WebElement findElement(By locator, WebElement parentEl) {
-        if (parentEl == null) {
-            return webDriver().findElement(locator);
-        } else {
-            return parentEl.findElement(locator);
+        if (browser.getLookupMode() == LookupMode.FRAMEWORK) {
+            return pollForElement(locator, parentEl);
+        }
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            if (isLookupCacheEnabled()) {
+                // A miss already went to the WebDriver, and waited the implicit wait
+                List<WebElement> elements = findElements(locator, parentEl);
+                if (elements.isEmpty()) {
+                    throw new NoSuchElementException(format("No element found with locator '%s'", locator));
+                }
+                return elements.get(0);
+            }
+            if (parentEl == null) {
+                return webDriver().findElement(locator);
+            } else {
+                return parentEl.findElement(locator);
+            }
+        } catch (NoSuchElementException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            recordAction("findElement", locator, start, timedOut);
         }
     }
 
@@ -1368,24 +1955,95 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
      * @return - List of elements
      */
     protected List<WebElement> findElements(By locator, WebElement parentEl) {
-        if (parentEl == null) {
-            return webDriver().findElements(locator);
-        } else {
-            return parentEl.findElements(locator);
+        if (isLookupCacheEnabled()) {
+            return browser.getElementLookupCache().findElements((JavascriptExecutor) webDriver(), locator, parentEl,
+                    () -> findElementsWithDriver(locator, parentEl));
+        }
+        return findElementsWithDriver(locator, parentEl);
+    }
+
+    /**
+     * With {@link LookupMode#FRAMEWORK}, the driver doesn't wait for elements, so poll for the element for as long as
+     * the implicit wait would have, or until the {@link Deadline} of the current action if it's earlier.
+     *
+     * @throws NoSuchElementException if the element isn't found in time, like a lookup with an implicit wait.
+     */
+    private WebElement pollForElement(By locator, @Nullable WebElement parentEl) {
+        long timeoutMillis = browser.getImplicitWaitTimeoutMillis();
+        Optional<Deadline> deadline = Deadline.current();
+        if (deadline.isPresent()) {
+            timeoutMillis = Math.min(timeoutMillis, deadline.get().getRemainingMillis());
+        }
+        FluentWait<By> wait = newFluentWait(locator, 0, "findElement")
+                .withTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            return wait.until(new Function<By, WebElement>() {
+                @Override
+                public WebElement apply(By input) {
+                    List<WebElement> elements = findElements(input, parentEl);
+                    return elements.isEmpty() ? null : elements.get(0);
+                }
+            });
+        } catch (TimeoutException e) {
+            throw new NoSuchElementException(format("No element found with locator '%s' within %d ms", locator, timeoutMillis), e);
+        }
+    }
+
+    private List<WebElement> findElementsWithDriver(By locator, WebElement parentEl) {
+        long start = System.nanoTime();
+        try {
+            if (parentEl == null) {
+                return webDriver().findElements(locator);
+            } else {
+                return parentEl.findElements(locator);
+            }
+        } finally {
+            recordAction("findElements", locator, start, false);
         }
     }
 
+    /**
+     * @return true if lookups made by {@link #findElements(By, WebElement)} go through the Browser's {@link ElementLookupCache}.
+     */
+    protected boolean isLookupCacheEnabled() {
+        return browser.getElementLookupCache().isEnabled() && isJavascriptSupported();
+    }
+
+    /**
+     * The timeout of a wait in seconds, clamped to the time left before the {@link Deadline} of the current action,
+     * if there is one.
+     *
+     * @throws TimeoutException if the deadline of the current action has already passed.
+     */
     protected int getTimeout(int defaultTimeout, TimeoutType timeout) {
-        return timeout == TimeoutType.DEFAULT ? defaultTimeout : timeoutsConfig.getTimeoutInSeconds(timeout);
+        int timeoutSeconds = timeout == TimeoutType.DEFAULT ? defaultTimeout : timeoutsConfig.getTimeoutInSeconds(timeout);
+        Optional<Deadline> deadline = Deadline.current();
+        return deadline.isPresent() ? deadline.get().clampSeconds(timeoutSeconds) : timeoutSeconds;
+    }
+
+    /**
+     * Run the action with a {@link Deadline} budgetSeconds from now, shared by all of its waits.
+     */
+    protected <T> T withDeadline(int budgetSeconds, Supplier<T> action) {
+        return Deadline.runWith(Deadline.afterMillis(TimeUnit.SECONDS.toMillis(budgetSeconds)), action);
+    }
+
+    protected void withDeadline(int budgetSeconds, Runnable action) {
+        withDeadline(budgetSeconds, () -> {
+            action.run();
+            return null;
+        });
     }
 
     protected void invokeMenuItemAndSelect(WebElement clickable, By popoverLocator) {
-        Preconditions.checkNotNull(clickable, "Input WebElement cannot be null");
-        waitUntilClickable(clickable, TimeoutType.DEFAULT);
-        click(clickable, TimeoutType.DEFAULT);
-        verifyElementPresented(popoverLocator, TimeoutType.DEFAULT);
-        waitUntilClickable(popoverLocator, TimeoutType.DEFAULT);
-        click(popoverLocator, TimeoutType.DEFAULT);
+        withDeadline(getTimeout(timeoutsConfig.getWebElementPresenceTimeoutSeconds(), TimeoutType.DEFAULT), () -> {
+            Preconditions.checkNotNull(clickable, "Input WebElement cannot be null");
+            waitUntilClickable(clickable, TimeoutType.DEFAULT);
+            click(clickable, TimeoutType.DEFAULT);
+            verifyElementPresented(popoverLocator, TimeoutType.DEFAULT);
+            waitUntilClickable(popoverLocator, TimeoutType.DEFAULT);
+            click(popoverLocator, TimeoutType.DEFAULT);
+        });
     }
 
     //Convenience method to reduce typing
@@ -1393,12 +2051,145 @@ public abstract class BaseSeleniumActions<B extends Browser> implements Selenium
         return browser.getWebDriver();
     }
 
-    private <T> T waitOnExpectedConditionForSeconds(ExpectedCondition<T> expectedCondition, String message, int timeout) {
-        WebDriverWait wait = new WebDriverWait(webDriver(), timeout, DEFAULT_POLL_MILLIS);
+    private boolean matchesQuery(WebElement el, ElementQuery query) {
+        if (!Strings.isNullOrEmpty(query.getClassName()) && !WebElementHelpers.webElementHasClass(el, query.getClassName())) {
+            return false;
+        }
+        if (query.getChildLocator() != null && el.findElements(query.getChildLocator()).isEmpty()) {
+            return false;
+        }
+        return containsText(el, query.getText(), query.isCaseSensitive()) && (!query.isVisible() || el.isDisplayed());
+    }
+
+    private List<WebElement> toElementList(Object scriptResult) {
+        List<WebElement> elements = Lists.newArrayList();
+        if (scriptResult instanceof List) {
+            for (Object o : (List<?>) scriptResult) {
+                if (o instanceof WebElement) {
+                    elements.add((WebElement) o);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private boolean isDisplayed(WebElement el) {
+        Optional<ElementState> state = probeElementState(el);
+        if (state.isPresent()) {
+            return state.get().isDisplayed();
+        }
+        return el.isDisplayed();
+    }
+
+    /**
+     * A WebDriverWait for the given number of seconds, that sleeps between checks according to the
+     * {@link org.sayem.appium.config.PollingStrategy} of the TimeoutsConfig.
+     *
+     * @param waitSeconds  - how long to wait before timing out
+     * @param conditionKey - identifies the kind of condition being waited on, so adaptive strategies can learn
+     *                     how long it usually takes to check it
+     */
+    protected WebDriverWait newWait(int waitSeconds, String conditionKey) {
+        return newWait(waitSeconds, conditionKey, null);
+    }
+
+    /**
+     * Like {@link #newWait(int, String)}; how long the wait takes is recorded in the {@link MetricsRegistry}
+     * for the condition key and the given locator.
+     */
+    protected WebDriverWait newWait(int waitSeconds, String conditionKey, @Nullable By locator) {
+        return new TimedWebDriverWait(webDriver(), new SystemClock(),
+                new PollingSleeper(timeoutsConfig.getPollingStrategy(), conditionKey),
+                waitSeconds, 0, // The polling interval is ignored by the PollingSleeper
+                getMetricsRegistry(), toActionName(conditionKey), locator, browser.getBrowserType());
+    }
+
+    /**
+     * A FluentWait on an arbitrary input, that sleeps between checks according to the
+     * {@link org.sayem.appium.config.PollingStrategy} of the TimeoutsConfig.
+     */
+    protected <T> FluentWait<T> newFluentWait(T input, int waitSeconds, String conditionKey) {
+        return new TimedFluentWait<T>(input, new SystemClock(),
+                new PollingSleeper(timeoutsConfig.getPollingStrategy(), conditionKey),
+                getMetricsRegistry(), toActionName(conditionKey), browser.getBrowserType())
+                .withTimeout(waitSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Where the latencies of actions and waits are recorded. {@link MetricsRegistry#getDefault()} unless overridden.
+     */
+    protected MetricsRegistry getMetricsRegistry() {
+        return MetricsRegistry.getDefault();
+    }
+
+    /**
+     * Record how long an action on the given locator took, since startNanos.
+     */
+    protected void recordAction(String action, @Nullable By locator, long startNanos, boolean timedOut) {
+        getMetricsRegistry().record(action, locator, browser.getBrowserType(), startNanos, timedOut);
+    }
+
+    /**
+     * Run the body of a public action and record how long it took under the action's name, counting a
+     * TimeoutException as a timeout. When an overload of an action calls another overload of the same action,
+     * only the outermost call is recorded.
+     */
+    protected <T> T timed(String action, @Nullable By locator, Supplier<T> body) {
+        if (!actionsInProgress.add(action)) {
+            return body.get();
+        }
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return body.get();
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            actionsInProgress.remove(action);
+            recordAction(action, locator, start, timedOut);
+        }
+    }
+
+    protected void timed(String action, @Nullable By locator, Runnable body) {
+        timed(action, locator, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Condition keys of ExpectedConditions and predicates are class names, which are shortened for metrics.
+     */
+    private static String toActionName(String conditionKey) {
+        return conditionKey.substring(conditionKey.lastIndexOf('.') + 1);
+    }
+
+    private <T> T waitOnExpectedConditionForSeconds(ExpectedCondition<T> expectedCondition, String conditionKey,
+                                                    @Nullable By locator, String message, int timeout) {
+        WebDriverWait wait = newWait(timeout, conditionKey, locator);
         wait.withMessage(message)
                 .ignoring(StaleElementReferenceException.class);
         logger.info("Waiting on expected condition, using timeout of {} seconds", timeout);
         return wait.until(expectedCondition);
     }
 
+    private <T, V> V waitOnFunction(Function<T, V> function, T input, String conditionKey, String message, TimeoutType timeout) {
+        int waitSeconds = getTimeout(timeoutsConfig.getMediumTimeoutSeconds(), timeout);
+        FluentWait<T> fluentWait = newFluentWait(input, waitSeconds, conditionKey)
+                .withMessage(message)
+                .ignoring(NotFoundException.class)
+                .ignoring(StaleElementReferenceException.class);
+        return fluentWait.until(function);
+    }
+
+    private <T> void waitOnPredicate(Predicate<T> predicate, T input, String conditionKey, String message, TimeoutType timeout) {
+        int waitSeconds = getTimeout(timeoutsConfig.getMediumTimeoutSeconds(), timeout);
+        FluentWait<T> fluentWait = newFluentWait(input, waitSeconds, conditionKey)
+                .withMessage(message)
+                .ignoring(NotFoundException.class)
+                .ignoring(StaleElementReferenceException.class);
+        fluentWait.until(predicate);
+    }
+
 }
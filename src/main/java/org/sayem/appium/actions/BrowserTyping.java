@@ -0,0 +1,54 @@
+package org.sayem.appium.actions;
+
+/**
+ * Types text into an element from inside the browser, pausing between keys with setTimeout, so that entering text
+ * slowly costs a single asynchronous script instead of one sendKeys command and one sleep per character.
+ *
+ * @see org.sayem.appium.config.KeyPacing#BROWSER
+ */
+final class BrowserTyping {
+
+    /**
+     * Takes [element, text, pauseMillis, clearFirst], where the text isn't empty. For each character, dispatches
+     * keydown and keypress, appends the character through the native value setter and dispatches input, unless a key
+     * handler prevented it, then dispatches keyup. Resolves with true when the text is typed, or false right away if
+     * the element isn't an editable text input or textarea.
+     */
+    static final String TYPE_SCRIPT =
+            "var el = arguments[0], text = arguments[1], pause = arguments[2], clear = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var tag = el.tagName.toLowerCase();" +
+            "if ((tag !== 'input' && tag !== 'textarea') || el.readOnly || el.disabled) { done(false); return; }" +
+            "var proto = tag === 'input' ? window.HTMLInputElement.prototype : window.HTMLTextAreaElement.prototype;" +
+            "var descriptor = Object.getOwnPropertyDescriptor(proto, 'value');" +
+            "function setValue(v) { if (descriptor && descriptor.set) { descriptor.set.call(el, v); } else { el.value = v; } }" +
+            "function fire(type, ch) {" +
+            "  var e = document.createEvent('Event');" +
+            "  e.initEvent(type, true, type !== 'input');" +
+            "  if (ch !== undefined) { e.key = ch; e.char = ch; e.charCode = e.keyCode = e.which = ch.charCodeAt(0); }" +
+            "  el.dispatchEvent(e);" +
+            "  return e;" +
+            "}" +
+            "el.focus();" +
+            "if (clear && el.value !== '') { setValue(''); fire('input'); }" +
+            "var i = 0;" +
+            "(function next() {" +
+            "  var ch = text.charAt(i++);" +
+            "  var down = fire('keydown', ch), press = fire('keypress', ch);" +
+            "  var full = el.maxLength >= 0 && el.value.length >= el.maxLength;" +
+            "  if (!down.defaultPrevented && !press.defaultPrevented && !full) { setValue(el.value + ch); fire('input'); }" +
+            "  fire('keyup', ch);" +
+            "  if (i >= text.length) { done(true); } else { setTimeout(next, pause); }" +
+            "})();";
+
+    private BrowserTyping() {
+    }
+
+    /**
+     * @return - false if the text contains a {@link org.openqa.selenium.Keys} code, i.e. a character in the private
+     * use area U+E000 to U+F8FF, which only the WebDriver turns into a key press.
+     */
+    static boolean canType(String text) {
+        return text.chars().noneMatch(c -> c >= '\uE000' && c <= '\uF8FF');
+    }
+}
@@ -0,0 +1,63 @@
+package org.sayem.appium.actions;
+
+/**
+ * Reads one value from every element located by a locator with a single script, so that reading a table of 200 rows
+ * costs one command instead of one or two per row. Only plain values cross the wire, never WebElement references.
+ *
+ * @see SeleniumActions#getTexts(org.openqa.selenium.By)
+ */
+final class BulkRead {
+
+    // The kinds of value READ_SCRIPT can read
+    static final String TEXT = "text";
+    static final String ATTRIBUTES = "attributes";
+    static final String RECT = "rect";
+    static final String CLASSES = "classes";
+
+    /**
+     * Takes (strategy, value, kind, attributeNames, candidates). The elements are located by the strategy and value,
+     * or are the candidates if the strategy is null. Returns an Array with, for each element, depending on the kind:
+     * <ul>
+     * <li>text: its rendered text, trimmed, or '' if it isn't displayed, like WebElement.getText()</li>
+     * <li>attributes: an Array with the value of each attribute, like WebElement.getAttribute(): the property if it's
+     * a primitive value, otherwise the attribute; null for a false boolean property or a missing attribute</li>
+     * <li>rect: [x, y, width, height], relative to the top left corner of the page</li>
+     * <li>classes: the value of its class attribute, or ''</li>
+     * </ul>
+     */
+    static final String READ_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION +
+            ElementState.IS_DISPLAYED_FUNCTION +
+            ElementState.VISIBLE_TEXT_FUNCTION +
+            "var kind = arguments[2], names = arguments[3] || [];" +
+            "var els = arguments[0] ? findAll(null, arguments[0], arguments[1]) : arguments[4];" +
+            "function attribute(el, name) {" +
+            "  var p = el[name];" +
+            "  if (typeof p === 'boolean') { return p ? 'true' : null; }" +
+            "  if (typeof p === 'string' || typeof p === 'number') { return String(p); }" +
+            "  var a = el.getAttribute(name);" +
+            "  return a === null ? null : String(a);" +
+            "}" +
+            "var sx = window.pageXOffset || document.documentElement.scrollLeft || 0;" +
+            "var sy = window.pageYOffset || document.documentElement.scrollTop || 0;" +
+            "var values = [];" +
+            "for (var i = 0; i < els.length; i++) {" +
+            "  var el = els[i];" +
+            "  if (kind === 'text') {" +
+            "    values.push(visibleText(el));" +
+            "  } else if (kind === 'attributes') {" +
+            "    var row = [];" +
+            "    for (var j = 0; j < names.length; j++) { row.push(attribute(el, names[j])); }" +
+            "    values.push(row);" +
+            "  } else if (kind === 'rect') {" +
+            "    var r = el.getBoundingClientRect();" +
+            "    values.push([Math.round(r.left + sx), Math.round(r.top + sy), Math.round(r.width), Math.round(r.height)]);" +
+            "  } else {" +
+            "    values.push(String(el.getAttribute('class') || ''));" +
+            "  }" +
+            "}" +
+            "return values;";
+
+    private BulkRead() {
+    }
+}
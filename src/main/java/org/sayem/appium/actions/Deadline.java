@@ -0,0 +1,97 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>A time budget shared by every wait of a composite action, such as clickAndVerifyPresent, and of the actions
+ * it calls. It's bound to the current thread by {@link SeleniumActions#withDeadline(org.sayem.appium.config.TimeoutType, Supplier)}
+ * at the outermost action, and each nested wait times out at the earlier of its own timeout and the deadline, so the
+ * whole action can't take much longer than its budget.</p>
+ * <p>
+ * <p>Nested deadlines never extend an enclosing one: the earlier of the two applies.</p>
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long expiresAtNanos;
+
+    private Deadline(long budgetMillis, long expiresAtNanos) {
+        this.budgetMillis = budgetMillis;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * A deadline the given number of milliseconds from now.
+     */
+    public static Deadline afterMillis(long budgetMillis) {
+        Preconditions.checkArgument(budgetMillis >= 0, "The budget of a deadline can't be negative");
+        return new Deadline(budgetMillis, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    /**
+     * @return - the deadline bound to the current thread, if an action with a deadline is running on it.
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Run the action with the given deadline bound to the current thread, or the current deadline if it's earlier.
+     * The previous deadline is restored afterwards.
+     */
+    static <T> T runWith(Deadline deadline, Supplier<T> action) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.expiresAtNanos - deadline.expiresAtNanos < 0 ? previous : deadline);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Clamp the timeout of a wait to the time left before the deadline, rounded up to whole seconds.
+     *
+     * @param timeoutSeconds - the timeout the wait would use without a deadline
+     * @throws TimeoutException if the deadline has already passed, so the wait would fail anyway.
+     */
+    public int clampSeconds(int timeoutSeconds) {
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new TimeoutException(String.format("The deadline of %d ms for the action was exceeded", budgetMillis));
+        }
+        long remainingSeconds = (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return (int) Math.min(timeoutSeconds, remainingSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("budgetMillis", budgetMillis)
+                .add("remainingMillis", getRemainingMillis())
+                .toString();
+    }
+}
@@ -0,0 +1,289 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>An opt-in cache of element lookups, keyed by locator and parent element, owned by a {@link org.sayem.appium.browser.Browser}.</p>
+ * <p>
+ * <p>Cached results are only valid for the document they were found in. The first result cached on a document stamps
+ * it with a random marker and starts a MutationObserver counting structural DOM changes: elements added or removed.
+ * Before a cached result is reused, a single script checks that the marker and the change count are the same as when
+ * the result was cached, and that the cached elements are still attached. Any element added or removed, a navigation,
+ * or a new epoch (see {@link #invalidate()}) causes the lookup to go to the WebDriver again.</p>
+ * <p>
+ * <p>Changes to attributes and text aren't counted, so that clocks, spinners and animations don't invalidate every
+ * lookup. A locator matching on an attribute, e.g. a class that's toggled, may therefore get a result that's up to
+ * {@link #getMaxAgeMillis()} old.</p>
+ * <p>
+ * <p>Empty results are never cached, so waiting for an element to appear works as before, and a lookup with nothing
+ * cached for it goes straight to the WebDriver. The document state of a new entry is read right after the lookup.</p>
+ *
+ * @see org.sayem.appium.browser.Browser#getElementLookupCache()
+ */
+public final class ElementLookupCache {
+    private static final Logger logger = LoggerFactory.getLogger(ElementLookupCache.class);
+
+    public static final long DEFAULT_MAX_AGE_MILLIS = 10000;
+    static final int MAX_ENTRIES = 512;
+
+    /**
+     * Stamps the document if it's the first check on it, and returns [marker, mutationCount, allAttached]
+     * for the elements given as arguments. A mutation count of -1 means DOM changes can't be observed.
+     */
+    static final String CHECK_SCRIPT =
+            "var d = document;" +
+            "if (!d.__lookupCacheMarker) {" +
+            "  d.__lookupCacheMarker = new Date().getTime() + ':' + Math.random();" +
+            "  d.__lookupCacheMutations = -1;" +
+            "  if (window.MutationObserver && d.documentElement) {" +
+            "    d.__lookupCacheMutations = 0;" +
+            "    new MutationObserver(function(records) { d.__lookupCacheMutations += records.length; })" +
+            "      .observe(d.documentElement, {childList: true, subtree: true});" +
+            "  }" +
+            "}" +
+            "var attached = true;" +
+            "for (var i = 0; i < arguments.length; i++) {" +
+            "  if (!d.documentElement.contains(arguments[i])) { attached = false; break; }" +
+            "}" +
+            "return [d.__lookupCacheMarker, d.__lookupCacheMutations, attached];";
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean enabled = false;
+    private volatile long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+    private volatile String lastMarker = null;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidate();
+        }
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    /**
+     * Set how long a cached lookup may be reused, even if the DOM didn't change.
+     */
+    public void setMaxAgeMillis(long maxAgeMillis) {
+        Preconditions.checkArgument(maxAgeMillis >= 0, "The max age of cached lookups can't be negative");
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Start a new navigation epoch: drop every cached lookup.
+     * Called by the Browser when it opens or refreshes a page.
+     */
+    public void invalidate() {
+        epoch.incrementAndGet();
+        entries.clear();
+        lastMarker = null;
+    }
+
+    public long getEpoch() {
+        return epoch.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the elements located by 'locator' under 'parentEl', from the cache if a still-valid result is present,
+     * otherwise from 'finder', caching its result.
+     *
+     * @param js       - used to validate cached results
+     * @param locator  - the locator of the elements
+     * @param parentEl - the element the lookup is relative to, or null for the whole document
+     * @param finder   - does the actual lookup through the WebDriver
+     */
+    public List<WebElement> findElements(JavascriptExecutor js, By locator, @Nullable WebElement parentEl, Supplier<List<WebElement>> finder) {
+        if (!enabled) {
+            return finder.get();
+        }
+        Key key = new Key(locator, parentEl);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            // Nothing to validate, so don't pay for the check script unless there's a result to cache
+            misses.incrementAndGet();
+            List<WebElement> elements = finder.get();
+            if (!elements.isEmpty()) {
+                Optional<DocumentState> state = readState(js, key, elements);
+                if (state.isPresent() && state.get().attached) {
+                    cache(key, elements, state.get());
+                }
+            }
+            return elements;
+        }
+
+        Optional<DocumentState> state = readState(js, key, entry.elements);
+        if (!state.isPresent()) {
+            misses.incrementAndGet();
+            return finder.get();
+        }
+        if (entry.isValid(epoch.get(), state.get(), maxAgeMillis)) {
+            hits.incrementAndGet();
+            return entry.elements;
+        }
+
+        misses.incrementAndGet();
+        List<WebElement> elements = finder.get();
+        // The state was read before the lookup, so a change in between only causes a future miss
+        cache(key, elements, state.get());
+        return elements;
+    }
+
+    /**
+     * Run the check script on the given elements and the parent of the lookup, and start a new epoch if the browser
+     * navigated to another document since the last check.
+     *
+     * @return - the state of the document, or an empty Optional if it couldn't be read, in which case the cached
+     * result of the lookup has been dropped.
+     */
+    private Optional<DocumentState> readState(JavascriptExecutor js, Key key, List<?> elements) {
+        List<Object> toCheck = Lists.newArrayList(elements);
+        if (key.parentEl != null) {
+            toCheck.add(key.parentEl);
+        }
+        DocumentState state;
+        try {
+            state = DocumentState.fromScriptResult(js.executeScript(CHECK_SCRIPT, toCheck.toArray()));
+        } catch (WebDriverException | IllegalArgumentException e) {
+            // Usually a stale element passed to the check; either way, the cached result can't be trusted
+            logger.debug("Could not validate cached lookup of {}: {}", key.locator, e.getMessage());
+            entries.remove(key);
+            return Optional.empty();
+        }
+        if (lastMarker != null && !lastMarker.equals(state.marker)) {
+            logger.debug("Detected navigation to a new document, invalidating the element lookup cache");
+            invalidate();
+        }
+        lastMarker = state.marker;
+        return Optional.of(state);
+    }
+
+    private void cache(Key key, List<WebElement> elements, DocumentState state) {
+        if (state.mutations < 0 || elements.isEmpty()) {
+            entries.remove(key);
+            return;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(ImmutableList.copyOf(elements), epoch.get(), state));
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("epoch", epoch.get())
+                .add("size", entries.size())
+                .add("hits", hits.get())
+                .add("misses", misses.get())
+                .toString();
+    }
+
+    private static final class Key {
+        private final By locator;
+        @Nullable
+        private final WebElement parentEl;
+
+        private Key(By locator, @Nullable WebElement parentEl) {
+            this.locator = locator;
+            this.parentEl = parentEl;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equal(locator, other.locator) && Objects.equal(parentEl, other.parentEl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(locator, parentEl);
+        }
+    }
+
+    private static final class Entry {
+        private final List<WebElement> elements;
+        private final long epoch;
+        private final String marker;
+        private final long mutations;
+        private final long createdMillis;
+
+        private Entry(List<WebElement> elements, long epoch, DocumentState state) {
+            this.elements = elements;
+            this.epoch = epoch;
+            this.marker = state.marker;
+            this.mutations = state.mutations;
+            this.createdMillis = System.currentTimeMillis();
+        }
+
+        private boolean isValid(long currentEpoch, DocumentState state, long maxAgeMillis) {
+            return epoch == currentEpoch
+                    && marker.equals(state.marker)
+                    && mutations == state.mutations
+                    && state.attached
+                    && System.currentTimeMillis() - createdMillis <= maxAgeMillis;
+        }
+    }
+
+    private static final class DocumentState {
+        private final String marker;
+        private final long mutations;
+        private final boolean attached;
+
+        private DocumentState(String marker, long mutations, boolean attached) {
+            this.marker = marker;
+            this.mutations = mutations;
+            this.attached = attached;
+        }
+
+        private static DocumentState fromScriptResult(Object result) {
+            if (!(result instanceof List) || ((List<?>) result).size() != 3) {
+                throw new IllegalArgumentException("Unexpected result from the lookup cache check: " + result);
+            }
+            List<?> values = (List<?>) result;
+            return new DocumentState(String.valueOf(values.get(0)),
+                    ((Number) values.get(1)).longValue(),
+                    Boolean.TRUE.equals(values.get(2)));
+        }
+    }
+}
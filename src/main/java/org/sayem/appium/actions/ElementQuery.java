@@ -0,0 +1,187 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+import org.openqa.selenium.By;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>A lookup of the elements matching a locator, filtered by a combination of predicates:
+ * containing some text (optionally case-insensitive), having a child matching a relative locator,
+ * being visible, and having a CSS class.</p>
+ * <p>
+ * <p>{@link SeleniumActions#queryElements(ElementQuery)} evaluates the lookup and all of the predicates in the
+ * browser with a single script, instead of fetching every candidate and then calling getText(), isDisplayed()
+ * or findElements() on each one.</p>
+ * <p>
+ * Example: ElementQuery.locatedBy(By.cssSelector("li.row")).containingText("Total", false).visible()
+ */
+public final class ElementQuery {
+
+    /**
+     * Takes (strategy, value, options, candidates). If strategy is null, the candidates are filtered instead of
+     * running a lookup. Returns the Array of matching elements, in document order.
+     */
+    static final String QUERY_SCRIPT =
+            ScriptLocator.FIND_ALL_FUNCTION +
+            ElementState.IS_DISPLAYED_FUNCTION +
+            ElementState.VISIBLE_TEXT_FUNCTION +
+            "var options = arguments[2] || {};" +
+            "var candidates = arguments[0] ? findAll(null, arguments[0], arguments[1]) : arguments[3];" +
+            "var text = options.text;" +
+            "if (text && !options.caseSensitive) { text = text.toLowerCase(); }" +
+            "var matches = [];" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var el = candidates[i];" +
+            "  if (options.className) {" +
+            "    var classes = String(el.getAttribute('class') || '').split(/\\s+/);" +
+            "    if (classes.indexOf(options.className) < 0) { continue; }" +
+            "  }" +
+            "  if (options.childStrategy && findAll(el, options.childStrategy, options.childValue).length === 0) { continue; }" +
+            "  if (options.visible && !isDisplayed(el)) { continue; }" +
+            "  if (text) {" +
+            "    var elText = visibleText(el);" +
+            "    if (!options.caseSensitive) { elText = elText.toLowerCase(); }" +
+            "    if (elText.indexOf(text) < 0) { continue; }" +
+            "  }" +
+            "  matches.push(el);" +
+            "  if (options.first) { break; }" +
+            "}" +
+            "return matches;";
+
+    private final By locator;
+    private String text = null;
+    private boolean caseSensitive = true;
+    private By childLocator = null;
+    private boolean visible = false;
+    private String className = null;
+
+    private ElementQuery(By locator) {
+        this.locator = Preconditions.checkNotNull(locator, "You must provide a non-null locator to ElementQuery!");
+    }
+
+    /**
+     * Start a query for the elements matching the given locator.
+     */
+    public static ElementQuery locatedBy(By locator) {
+        return new ElementQuery(locator);
+    }
+
+    /**
+     * Require that matching elements contain the given text, case-sensitively.
+     * Null or the empty string doesn't filter anything.
+     */
+    public ElementQuery containingText(@Nullable String text) {
+        return containingText(text, true);
+    }
+
+    /**
+     * Require that matching elements contain the given text.
+     * Null or the empty string doesn't filter anything.
+     */
+    public ElementQuery containingText(@Nullable String text, boolean caseSensitive) {
+        this.text = text;
+        this.caseSensitive = caseSensitive;
+        return this;
+    }
+
+    /**
+     * Require that matching elements have at least one child element located by the relative locator 'childLocator'.
+     */
+    public ElementQuery havingChild(By childLocator) {
+        this.childLocator = childLocator;
+        return this;
+    }
+
+    /**
+     * Require that matching elements are displayed.
+     */
+    public ElementQuery visible() {
+        this.visible = true;
+        return this;
+    }
+
+    /**
+     * Require that matching elements have the given CSS class.
+     */
+    public ElementQuery havingClass(String className) {
+        this.className = className;
+        return this;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    @Nullable
+    public String getText() {
+        return text;
+    }
+
+    public boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    @Nullable
+    public By getChildLocator() {
+        return childLocator;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    @Nullable
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Whether the predicates of this query can be evaluated by javascript.
+     * The lookup itself may still need to be done through the WebDriver, see {@link ScriptLocator#of(By)}.
+     */
+    boolean isScriptable() {
+        return childLocator == null || ScriptLocator.of(childLocator).isPresent();
+    }
+
+    /**
+     * The options object passed to {@link #QUERY_SCRIPT}.
+     */
+    Map<String, Object> toScriptOptions(boolean firstOnly) {
+        Map<String, Object> options = Maps.newHashMap();
+        if (!Strings.isNullOrEmpty(text)) {
+            options.put("text", text);
+            options.put("caseSensitive", caseSensitive);
+        }
+        Optional<ScriptLocator> child = ScriptLocator.of(childLocator);
+        if (child.isPresent()) {
+            options.put("childStrategy", child.get().getStrategy());
+            options.put("childValue", child.get().getValue());
+        }
+        if (visible) {
+            options.put("visible", true);
+        }
+        if (!Strings.isNullOrEmpty(className)) {
+            options.put("className", className);
+        }
+        options.put("first", firstOnly);
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("locator", locator)
+                .add("text", text)
+                .add("caseSensitive", caseSensitive)
+                .add("childLocator", childLocator)
+                .add("visible", visible)
+                .add("className", className)
+                .toString();
+    }
+}
@@ -0,0 +1,98 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+
+import java.util.List;
+
+/**
+ * The location and size of a WebElement, relative to the top left corner of the page, like
+ * {@link org.openqa.selenium.WebElement#getLocation()} and {@link org.openqa.selenium.WebElement#getSize()}.
+ *
+ * @see SeleniumActions#getRects(org.openqa.selenium.By)
+ */
+public final class ElementRect {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    public ElementRect(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public ElementRect(Point location, Dimension size) {
+        this(location.getX(), location.getY(), size.getWidth(), size.getHeight());
+    }
+
+    /**
+     * Convert an [x, y, width, height] Array returned by {@link BulkRead#READ_SCRIPT} into an ElementRect.
+     *
+     * @throws IllegalArgumentException if the value doesn't have the expected shape.
+     */
+    static ElementRect fromScriptResult(Object result) {
+        if (!(result instanceof List) || ((List<?>) result).size() != 4) {
+            throw new IllegalArgumentException("Unexpected element rect: " + result);
+        }
+        List<?> values = (List<?>) result;
+        return new ElementRect(((Number) values.get(0)).intValue(),
+                ((Number) values.get(1)).intValue(),
+                ((Number) values.get(2)).intValue(),
+                ((Number) values.get(3)).intValue());
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Point getLocation() {
+        return new Point(x, y);
+    }
+
+    public Dimension getSize() {
+        return new Dimension(width, height);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ElementRect)) {
+            return false;
+        }
+        ElementRect that = (ElementRect) o;
+        return x == that.x && y == that.y && width == that.width && height == that.height;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(x, y, width, height);
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("x", x)
+                .add("y", y)
+                .add("width", width)
+                .add("height", height)
+                .toString();
+    }
+}
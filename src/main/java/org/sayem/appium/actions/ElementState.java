@@ -0,0 +1,133 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+
+import java.util.List;
+
+/**
+ * A snapshot of the state of a WebElement, read from the browser with a single javascript call.
+ * <p>
+ * Reading the same values through the WebElement API costs one wire-protocol round trip per value
+ * (isDisplayed, getSize, isEnabled...), so waits that poll on visibility or clickability should use this instead.
+ *
+ * @see BaseSeleniumActions#isVisible(org.openqa.selenium.WebElement)
+ * @see BaseSeleniumActions#isClickable(org.openqa.selenium.WebElement)
+ */
+public final class ElementState {
+
+    /**
+     * Javascript function deciding whether an element is displayed. This is an approximation of the
+     * Selenium "isDisplayed" atom: the element must be attached to the document, must not be a hidden input,
+     * must not have visibility hidden, and neither it nor its ancestors may have display none or opacity 0.
+     */
+    static final String IS_DISPLAYED_FUNCTION =
+            "function isDisplayed(el) {" +
+            "  if (!document.documentElement.contains(el)) { return false; }" +
+            "  if (el.tagName === 'INPUT' && String(el.type).toLowerCase() === 'hidden') { return false; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.visibility === 'hidden' || style.visibility === 'collapse') { return false; }" +
+            "  for (var e = el; e && e.nodeType === 1; e = e.parentElement) {" +
+            "    var s = window.getComputedStyle(e);" +
+            "    if (s.display === 'none' || parseFloat(s.opacity) === 0) { return false; }" +
+            "  }" +
+            "  return true;" +
+            "}";
+
+    /**
+     * Javascript function visibleText(el) approximating WebElement.getText(): the rendered text of the element,
+     * trimmed, or '' if it isn't displayed. Needs {@link #IS_DISPLAYED_FUNCTION}.
+     */
+    static final String VISIBLE_TEXT_FUNCTION =
+            "function visibleText(el) {" +
+            "  if (!isDisplayed(el)) { return ''; }" +
+            "  return String(el.innerText !== undefined ? el.innerText : el.textContent).replace(/^\\s+|\\s+$/g, '');" +
+            "}";
+
+    /**
+     * Takes the element as arguments[0], returns [displayed, width, height, enabled, inViewport].
+     */
+    static final String PROBE_SCRIPT =
+            IS_DISPLAYED_FUNCTION +
+            "var el = arguments[0];" +
+            "var rect = el.getBoundingClientRect();" +
+            "var viewWidth = window.innerWidth || document.documentElement.clientWidth;" +
+            "var viewHeight = window.innerHeight || document.documentElement.clientHeight;" +
+            "var inViewport = rect.bottom > 0 && rect.right > 0 && rect.top < viewHeight && rect.left < viewWidth;" +
+            "return [isDisplayed(el), Math.round(rect.width), Math.round(rect.height), !el.disabled, inViewport];";
+
+    private final boolean displayed;
+    private final int width;
+    private final int height;
+    private final boolean enabled;
+    private final boolean inViewport;
+
+    public ElementState(boolean displayed, int width, int height, boolean enabled, boolean inViewport) {
+        this.displayed = displayed;
+        this.width = width;
+        this.height = height;
+        this.enabled = enabled;
+        this.inViewport = inViewport;
+    }
+
+    /**
+     * Convert the value returned by {@link #PROBE_SCRIPT} into an ElementState.
+     *
+     * @throws IllegalArgumentException if the result doesn't have the expected shape.
+     */
+    static ElementState fromScriptResult(Object result) {
+        if (!(result instanceof List) || ((List<?>) result).size() != 5) {
+            throw new IllegalArgumentException("Unexpected result from the element state probe: " + result);
+        }
+        List<?> values = (List<?>) result;
+        return new ElementState(Boolean.TRUE.equals(values.get(0)),
+                ((Number) values.get(1)).intValue(),
+                ((Number) values.get(2)).intValue(),
+                Boolean.TRUE.equals(values.get(3)),
+                Boolean.TRUE.equals(values.get(4)));
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isInViewport() {
+        return inViewport;
+    }
+
+    /**
+     * @return true if the element is displayed and has a height and width greater than 0.
+     */
+    public boolean isVisible() {
+        return displayed && width > 0 && height > 0;
+    }
+
+    /**
+     * @return true if the element is visible and enabled.
+     */
+    public boolean isClickable() {
+        return isVisible() && enabled;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("displayed", displayed)
+                .add("width", width)
+                .add("height", height)
+                .add("enabled", enabled)
+                .add("inViewport", inViewport)
+                .toString();
+    }
+}
@@ -0,0 +1,175 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * <p>A wait resolved inside the page: the condition is sent to the browser as a javascript function, which is
+ * re-evaluated whenever the DOM changes (observed with a MutationObserver and coalesced to one check per animation
+ * frame), and every {@link #POLL_MILLIS} for state the DOM doesn't reflect, such as javascript variables.
+ * The whole wait is a single executeAsyncScript command, that returns as soon as the condition holds.</p>
+ * <p>
+ * <p>Polling the same condition from Java costs one or more commands per check, and adds the polling interval to
+ * the latency of every wait. Native mobile contexts can't run javascript, so they keep polling from Java.</p>
+ *
+ * @see BaseSeleniumActions#waitInBrowser(String, int, String, String, org.openqa.selenium.By, Object...)
+ */
+public final class InBrowserWait {
+
+    /**
+     * How often the condition is re-evaluated in the page when the DOM doesn't change.
+     */
+    public static final long POLL_MILLIS = 50;
+
+    /**
+     * Takes (args, timeoutMillis, pollMillis), and evaluates condition(args) until it holds: until it returns something
+     * other than null, undefined, false or an empty Array. Resolves with [true, value] when it holds, or
+     * [false, last error] when timeoutMillis is over.
+     */
+    private static final String ENGINE =
+            "var args = arguments[0], timeoutMillis = arguments[1], pollMillis = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var start = new Date().getTime(), finished = false, scheduled = false, observer = null, lastError = null;" +
+            "function holds(r) { return r !== null && r !== undefined && r !== false && !(r instanceof Array && r.length === 0); }" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  done(result);" +
+            "}" +
+            "function check() {" +
+            "  scheduled = false;" +
+            "  if (finished) { return; }" +
+            "  try {" +
+            "    var r = condition(args);" +
+            "    lastError = null;" +
+            "    if (holds(r)) { finish([true, r]); return; }" +
+            "  } catch (e) { lastError = String((e && e.message) || e); }" +
+            "  if (new Date().getTime() - start >= timeoutMillis) { finish([false, lastError]); }" +
+            "}" +
+            "function schedule() {" +
+            "  if (scheduled || finished) { return; }" +
+            "  scheduled = true;" +
+            "  if (window.requestAnimationFrame && document.visibilityState !== 'hidden') {" +
+            "    window.requestAnimationFrame(check);" +
+            "  } else { setTimeout(check, 0); }" +
+            "}" +
+            "check();" +
+            "if (!finished) {" +
+            "  if (typeof MutationObserver !== 'undefined' && document.documentElement) {" +
+            "    observer = new MutationObserver(schedule);" +
+            "    observer.observe(document.documentElement," +
+            "        {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  }" +
+            "  setTimeout(function tick() { check(); if (!finished) { setTimeout(tick, pollMillis); } }, pollMillis);" +
+            "  setTimeout(function() { check(); finish([false, lastError]); }, timeoutMillis);" +
+            "}";
+
+    // Conditions on the elements located by a ScriptLocator, taking [strategy, value, ...]
+    static final String PRESENT = script(
+            "function(a) { return findAll(null, a[0], a[1])[0] || null; }");
+    static final String VISIBLE = script(
+            "function(a) { var el = findAll(null, a[0], a[1])[0]; return el && isDisplayed(el) ? el : null; }");
+    static final String NOT_VISIBLE = script(
+            "function(a) { var el = findAll(null, a[0], a[1])[0]; return !el || !isDisplayed(el); }");
+    static final String CLICKABLE = script(
+            "function(a) {" +
+            "  var el = findAll(null, a[0], a[1])[0];" +
+            "  if (!el || el.disabled || !isDisplayed(el)) { return null; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0 ? el : null;" +
+            "}");
+    static final String CONTAINS_TEXT = script(
+            "function(a) {" +
+            "  var el = findAll(null, a[0], a[1])[0];" +
+            "  return !!el && visibleText(el).indexOf(a[2]) >= 0;" +
+            "}");
+
+    // Hold once no element located by [strategy, value, text, stableMillis] has contained the text for stableMillis
+    static final String NO_ELEMENT_CONTAINS_TEXT = script(absenceOfText(false));
+    static final String NO_VISIBLE_ELEMENT_CONTAINS_TEXT = script(absenceOfText(true));
+
+    private InBrowserWait() {
+    }
+
+    /**
+     * Build the script of an in-browser wait.
+     *
+     * @param conditionFunction - the source of a javascript function taking the Array of arguments of the wait.
+     *                          It may use findAll(root, strategy, value), isDisplayed(el) and visibleText(el),
+     *                          see {@link ScriptLocator} and {@link ElementState}.
+     */
+    public static String script(String conditionFunction) {
+        return "/* inBrowserWait */" +
+                ScriptLocator.FIND_ALL_FUNCTION +
+                ElementState.IS_DISPLAYED_FUNCTION +
+                ElementState.VISIBLE_TEXT_FUNCTION +
+                "var condition = " + conditionFunction + ";" +
+                ENGINE;
+    }
+
+    /**
+     * A condition that keeps the time since when no (visible) element contained the text, in a closure,
+     * and holds once that has lasted for stableMillis; immediately if stableMillis is 0.
+     */
+    private static String absenceOfText(boolean visibleOnly) {
+        return "(function() {" +
+                "  var since = null;" +
+                "  return function(a) {" +
+                "    var els = findAll(null, a[0], a[1]), now = new Date().getTime();" +
+                "    for (var i = 0; i < els.length; i++) {" +
+                "      if (visibleText(els[i]).indexOf(a[2]) >= 0" + (visibleOnly ? " && isDisplayed(els[i])" : "") + ") {" +
+                "        since = null;" +
+                "        return false;" +
+                "      }" +
+                "    }" +
+                "    if (since === null) { since = now; }" +
+                "    return now - since >= a[3];" +
+                "  };" +
+                "})()";
+    }
+
+    /**
+     * The outcome of an in-browser wait, read from the [holds, value or error] returned by the script.
+     */
+    static final class Result {
+        private final boolean holds;
+        @Nullable
+        private final Object value;
+
+        private Result(boolean holds, @Nullable Object value) {
+            this.holds = holds;
+            this.value = value;
+        }
+
+        static Result fromScriptResult(Object result) {
+            if (!(result instanceof List) || ((List<?>) result).size() != 2) {
+                throw new IllegalArgumentException("Unexpected result of an in-browser wait: " + result);
+            }
+            List<?> values = (List<?>) result;
+            return new Result(Boolean.TRUE.equals(values.get(0)), values.get(1));
+        }
+
+        boolean holds() {
+            return holds;
+        }
+
+        /**
+         * @return - the value of the condition if it holds, or the last error thrown by it if it timed out.
+         */
+        @Nullable
+        Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this)
+                    .add("holds", holds)
+                    .add("value", value)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>An opt-in instrumentation of the pages loaded by a {@link org.sayem.appium.browser.Browser}, counting the
+ * XMLHttpRequest and fetch requests in flight, so that {@link SeleniumActions#waitForNetworkIdle(long, org.sayem.appium.config.TimeoutType)}
+ * can wait for the AJAX calls of a page to finish instead of sleeping.</p>
+ * <p>
+ * <p>When it's enabled, the Browser installs the instrumentation every time it loads a new document. When it's disabled,
+ * the wait installs it itself, so it only sees the requests started after the wait began.</p>
+ * <p>
+ * <p>Even when it's enabled, the instrumentation is installed once the WebDriver returns from loading the document.
+ * Requests the page started before that, e.g. from its inline scripts, are never counted.</p>
+ *
+ * @see org.sayem.appium.browser.Browser#getNetworkActivityTracker()
+ */
+public final class NetworkActivityTracker {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkActivityTracker.class);
+
+    /**
+     * Defines install(window), which wraps XMLHttpRequest.send and fetch once per document, and returns
+     * window.__networkTracker: {pending, started, last}, where last is the time of the last request starting or ending.
+     */
+    private static final String INSTALL_FUNCTION =
+            "function install(w) {" +
+            "  if (w.__networkTracker) { return w.__networkTracker; }" +
+            "  var t = w.__networkTracker = {pending: 0, started: 0, last: new Date().getTime()};" +
+            "  function begin() { t.pending++; t.started++; t.last = new Date().getTime(); }" +
+            "  function end() { t.pending = Math.max(0, t.pending - 1); t.last = new Date().getTime(); }" +
+            "  var X = w.XMLHttpRequest;" +
+            "  if (X && X.prototype && X.prototype.addEventListener) {" +
+            "    var send = X.prototype.send;" +
+            "    X.prototype.send = function() {" +
+            "      var finished = false;" +
+            "      var finish = function() { if (!finished) { finished = true; end(); } };" +
+            "      begin();" +
+            "      this.addEventListener('loadend', finish);" +
+            "      try { return send.apply(this, arguments); } catch (e) { finish(); throw e; }" +
+            "    };" +
+            "  }" +
+            "  if (typeof w.fetch === 'function') {" +
+            "    var fetch = w.fetch;" +
+            "    w.fetch = function() {" +
+            "      var p;" +
+            "      begin();" +
+            "      try { p = fetch.apply(this, arguments); } catch (e) { end(); throw e; }" +
+            "      return p.then(function(r) { end(); return r; }, function(e) { end(); throw e; });" +
+            "    };" +
+            "  }" +
+            "  return t;" +
+            "}";
+
+    static final String INSTALL_SCRIPT = INSTALL_FUNCTION + "install(window); return true;";
+
+    /**
+     * Resolves with [true, elapsed millis, requests started] once no request has been in flight for quietMillis,
+     * or [false, requests pending, requests started] if that doesn't happen within timeoutMillis.
+     * Requests are polled inside the browser, so the whole wait is a single command.
+     */
+    static final String WAIT_SCRIPT = INSTALL_FUNCTION +
+            "var quietMillis = arguments[0], timeoutMillis = arguments[1], done = arguments[arguments.length - 1];" +
+            "var t = install(window), start = new Date().getTime();" +
+            "(function check() {" +
+            "  var now = new Date().getTime();" +
+            "  if (t.pending === 0 && now - t.last >= quietMillis) { done([true, now - start, t.started]); }" +
+            "  else if (now - start >= timeoutMillis) { done([false, t.pending, t.started]); }" +
+            "  else {" +
+            "    var untilQuiet = t.pending > 0 ? 50 : quietMillis - (now - t.last);" +
+            "    setTimeout(check, Math.max(1, Math.min(untilQuiet, timeoutMillis - (now - start))));" +
+            "  }" +
+            "})();";
+
+    private final AtomicLong installs = new AtomicLong();
+    private volatile boolean enabled = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getInstalls() {
+        return installs.get();
+    }
+
+    /**
+     * Install the instrumentation on the current document, if the tracker is enabled.
+     * Called by the Browser when it opens, refreshes or loads a new page.
+     */
+    public void onDocumentLoaded(WebDriver webDriver) {
+        if (!enabled || !(webDriver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) webDriver).executeScript(INSTALL_SCRIPT);
+            installs.incrementAndGet();
+        } catch (WebDriverException e) {
+            logger.debug("Could not install the network activity tracker: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("installs", installs.get())
+                .toString();
+    }
+}
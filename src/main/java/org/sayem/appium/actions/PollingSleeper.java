@@ -0,0 +1,36 @@
+package org.sayem.appium.actions;
+
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.sayem.appium.config.PollingStrategy;
+
+/**
+ * A Selenium {@link Sleeper} for a single wait, that ignores the fixed polling interval of the wait and asks a
+ * {@link PollingStrategy} how long to sleep instead.
+ * <p>
+ * FluentWait calls sleep() right after each failed check, so the time since the previous sleep ended is how long
+ * that check took.
+ */
+class PollingSleeper implements Sleeper {
+    private final PollingStrategy strategy;
+    private final String conditionKey;
+    private long lastWakeMillis;
+    private int attempt = 0;
+
+    PollingSleeper(PollingStrategy strategy, String conditionKey) {
+        this.strategy = strategy;
+        this.conditionKey = conditionKey;
+        this.lastWakeMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void sleep(Duration ignored) throws InterruptedException {
+        attempt++;
+        long lastCheckMillis = System.currentTimeMillis() - lastWakeMillis;
+        long intervalMillis = strategy.nextIntervalMillis(conditionKey, attempt, lastCheckMillis);
+        if (intervalMillis > 0) {
+            Thread.sleep(intervalMillis);
+        }
+        lastWakeMillis = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,107 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A Selenium {@link By} translated into a strategy and value that javascript running in the page can evaluate,
+ * so that a lookup and whatever is done with the result can be sent to the browser in one script.
+ * <p>
+ * Only the standard Selenium locators can be translated. Others, such as Appium's MobileBy, can't.
+ */
+public final class ScriptLocator {
+
+    /**
+     * Javascript function findAll(root, strategy, value) returning an Array of the elements under root
+     * (or the document, if root is null) matching the strategy and value of a ScriptLocator.
+     */
+    static final String FIND_ALL_FUNCTION =
+            "function findAll(root, strategy, value) {" +
+            "  root = root || document;" +
+            "  var doc = root.ownerDocument || root;" +
+            "  var filter = function(nodes, test) {" +
+            "    var out = [];" +
+            "    for (var i = 0; i < nodes.length; i++) { if (test(nodes[i])) { out.push(nodes[i]); } }" +
+            "    return out;" +
+            "  };" +
+            "  var linkText = function(a) { return String(a.innerText !== undefined ? a.innerText : a.textContent).trim(); };" +
+            "  switch (strategy) {" +
+            "    case 'css': return Array.prototype.slice.call(root.querySelectorAll(value));" +
+            "    case 'id': return filter(root.getElementsByTagName('*'), function(e) { return e.id === value; });" +
+            "    case 'name': return filter(root.getElementsByTagName('*'), function(e) { return e.getAttribute('name') === value; });" +
+            "    case 'className': return Array.prototype.slice.call(root.getElementsByClassName(value));" +
+            "    case 'tagName': return Array.prototype.slice.call(root.getElementsByTagName(value));" +
+            "    case 'linkText': return filter(root.getElementsByTagName('a'), function(e) { return linkText(e) === value; });" +
+            "    case 'partialLinkText': return filter(root.getElementsByTagName('a'), function(e) { return linkText(e).indexOf(value) >= 0; });" +
+            "    case 'xpath':" +
+            "      var result = doc.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      var nodes = [];" +
+            "      for (var j = 0; j < result.snapshotLength; j++) {" +
+            "        if (result.snapshotItem(j).nodeType === 1) { nodes.push(result.snapshotItem(j)); }" +
+            "      }" +
+            "      return nodes;" +
+            "  }" +
+            "  throw new Error('Unsupported locator strategy: ' + strategy);" +
+            "}";
+
+    private static final Map<Class<? extends By>, String> STRATEGIES = ImmutableMap.<Class<? extends By>, String>builder()
+            .put(By.ByCssSelector.class, "css")
+            .put(By.ByXPath.class, "xpath")
+            .put(By.ById.class, "id")
+            .put(By.ByName.class, "name")
+            .put(By.ByClassName.class, "className")
+            .put(By.ByTagName.class, "tagName")
+            .put(By.ByLinkText.class, "linkText")
+            .put(By.ByPartialLinkText.class, "partialLinkText")
+            .build();
+
+    private final String strategy;
+    private final String value;
+
+    private ScriptLocator(String strategy, String value) {
+        this.strategy = strategy;
+        this.value = value;
+    }
+
+    /**
+     * Translate the given locator.
+     *
+     * @return - the ScriptLocator, or an empty Optional if the locator type can't be evaluated by javascript.
+     */
+    public static Optional<ScriptLocator> of(By locator) {
+        if (locator == null) {
+            return Optional.empty();
+        }
+        String strategy = STRATEGIES.get(locator.getClass());
+        if (strategy == null) {
+            return Optional.empty();
+        }
+        // Each of the standard locators describes itself as "By.<strategy>: <value>"
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ScriptLocator(strategy, description.substring(separator + 2)));
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("strategy", strategy)
+                .add("value", value)
+                .toString();
+    }
+}
@@ -18,6 +18,8 @@ import org.openqa.selenium.support.ui.ExpectedCondition;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -174,8 +176,11 @@ public interface SeleniumActions {
 
     /**
      * Enter the given text into the input defined by inputCSS, one character at a time.
-     * At each step, verify the previous popup was removed from the DOM, and find the new popup.
-     * Then see if there is a popup containing the required text on the page. If so, click it and return.
+     * After each character, wait for a displayed popup containing the required text. If one appears, click it and return
+     * without typing the rest of the text.
+     * <p>
+     * When javascript is supported and the popover locator is a standard Selenium locator, the popup is watched for
+     * inside the page, so the wait ends as soon as it renders.
      *
      * @param inputLocator      - locator for the input element
      * @param text              - text you are entering into the input element
@@ -341,6 +346,16 @@ public interface SeleniumActions {
      */
     Actions getActionsBuilder();
 
+    /**
+     * Read the given attributes of every element located by the locator, with one javascript call when possible.
+     * Like {@link WebElement#getAttribute(String)}, a property is read in preference to the attribute of the same name.
+     *
+     * @return - for each element, in document order, the values of the attributes in the order they're given,
+     * where a missing attribute is null. Empty if no element matches, without any implicit wait.
+     */
+    @Nonnull
+    List<List<String>> getAttributes(By locator, String... attributeNames);
+
     <B extends Browser> B getBrowser();
 
     void setBrowser(Browser browser);
@@ -354,6 +369,15 @@ public interface SeleniumActions {
     @Nonnull
     List<WebElement> getChildElements(By locator, WebElement parentEl);
 
+    /**
+     * Read the classes of every element located by the locator, with one javascript call when possible.
+     *
+     * @return - for each element, in document order, the set of its classes.
+     * Empty if no element matches, without any implicit wait.
+     */
+    @Nonnull
+    List<Set<String>> getClassSets(By locator);
+
     /**
      * Get the current URL that the browser has open.
      * I'm not sure what Appium WebDrivers return for mobile testing (?)
@@ -383,6 +407,24 @@ public interface SeleniumActions {
 
     WebElement getParentElement(WebElement el);
 
+    /**
+     * Read the location and size of every element located by the locator, with one javascript call when possible.
+     *
+     * @return - for each element, in document order, its rect relative to the top left corner of the page.
+     * Empty if no element matches, without any implicit wait.
+     */
+    @Nonnull
+    List<ElementRect> getRects(By locator);
+
+    /**
+     * Read the text of every element located by the locator, with one javascript call when possible.
+     *
+     * @return - for each element, in document order, its visible text, like {@link WebElement#getText()}.
+     * Empty if no element matches, without any implicit wait.
+     */
+    @Nonnull
+    List<String> getTexts(By locator);
+
     //////////////////////////////////////Timeouts//////////////////////////////////////////////
     TimeoutsConfig getTimeoutsConfig();
 
@@ -442,6 +484,22 @@ public interface SeleniumActions {
      */
     <T extends TopLevelPage> T loadTopLevelPage(Class<T> pageClass);
 
+    /**
+     * Return the first element matching the given {@link ElementQuery}.
+     * The lookup and all of the query's predicates are evaluated in the browser with one script when possible.
+     *
+     * @return - the first matching element in document order, or null if there is none.
+     */
+    @Nullable
+    WebElement queryElement(ElementQuery query);
+
+    /**
+     * Return all elements matching the given {@link ElementQuery}, in document order.
+     * The lookup and all of the query's predicates are evaluated in the browser with one script when possible.
+     */
+    @Nonnull
+    List<WebElement> queryElements(ElementQuery query);
+
     /**
      * Scroll so that the element is in the middle of the page.
      */
@@ -508,10 +566,34 @@ public interface SeleniumActions {
      */
     WebElement verifyAnyElementVisible(By locator, TimeoutType timeout);
 
+    /**
+     * Verify that no visible element located by the locator contains the text.
+     * Returns as soon as that's the case, without any implicit wait.
+     *
+     * @throws org.openqa.selenium.TimeoutException if one is still visible when the timeout is over.
+     */
     void verifyElementWithTextIsInvisible(By locator, String text, TimeoutType timeout);
 
+    /**
+     * Like {@link #verifyElementWithTextIsInvisible(By, String, TimeoutType)}, but no visible element may contain
+     * the text for stableMillis in a row, so that an element that's about to be rendered isn't missed.
+     */
+    void verifyElementWithTextIsInvisible(By locator, String text, long stableMillis, TimeoutType timeout);
+
+    /**
+     * Verify that no element located by the locator contains the text.
+     * Returns as soon as that's the case, without any implicit wait.
+     *
+     * @throws org.openqa.selenium.TimeoutException if one is still present when the timeout is over.
+     */
     void verifyElementWithTextNotPresented(By locator, String text, TimeoutType timeout);
 
+    /**
+     * Like {@link #verifyElementWithTextNotPresented(By, String, TimeoutType)}, but no element may contain the text
+     * for stableMillis in a row, so that an element that's about to be rendered isn't missed.
+     */
+    void verifyElementWithTextNotPresented(By locator, String text, long stableMillis, TimeoutType timeout);
+
     WebElement verifyPageRefreshed(WebElement elementFromBeforeRefresh, By locatorAfterRefresh, TimeoutType timeout);
 
     /**
@@ -522,11 +604,11 @@ public interface SeleniumActions {
     void waitForJavascriptSymbolToHaveValue(String symbol, String value, TimeoutType timeout);
 
     /**
-     * Wait for the HTML of a page to be stable, by verifying the length of the HTML doesn't change for a second.
+     * Wait for the DOM of a page to be stable, i.e. not to change for
+     * {@link org.sayem.appium.config.TimeoutsConfig#getDomQuietWindowMillis()}. The changes are observed in the browser
+     * with a MutationObserver; browsers without one fall back to verifying the length of the HTML doesn't change for a second.
      *
-     * @see com.thoughtworks.selenium.webdriven.commands.WaitForPageToLoad#getLengthCheckingWait(org.openqa.selenium.WebDriver)
-     * <p>
-     * This will probably will only be useful for ordinary WebBrowsers (not mobile) at the moment.
+     * @see org.sayem.appium.browser.BrowserUtil#waitForDomToBeStable(org.sayem.appium.browser.Browser, int, long)
      */
     void waitForPageToBeStable(TimeoutType timeout);
 
@@ -537,6 +619,35 @@ public interface SeleniumActions {
 
     void waitForWebPageReadyStateToBeComplete();
 
+    /**
+     * Wait until no XMLHttpRequest or fetch request of the page has been in flight for quietMillis, e.g. after an action
+     * that triggers AJAX calls, instead of sleeping. The requests are counted by the {@link NetworkActivityTracker};
+     * enable it on the Browser so that requests started before the wait are counted too.
+     *
+     * @param quietMillis - how long there must be no request in flight
+     * @throws TimeoutException if requests are still in flight after the timeout.
+     * @throws IllegalStateException if the WebDriver can't execute javascript, so the requests can't be counted.
+     */
+    void waitForNetworkIdle(long quietMillis, TimeoutType timeout);
+
+    /**
+     * Run a sequence of actions with a single time budget: every wait they make times out at the earlier of its own
+     * timeout and the {@link Deadline}, instead of each getting its full timeout. Composite actions such as
+     * clickAndVerifyPresent already run with a deadline set from their TimeoutType.
+     * <p>
+     * Example: actions.withDeadline(TimeoutType.TEN_SECONDS, () -&gt; actions.clickAndVerifyPresent(button, dialog, TimeoutType.DEFAULT));
+     *
+     * @param timeout - the budget; DEFAULT is the long timeout of the TimeoutsConfig
+     * @return - the result of the action
+     * @throws TimeoutException when a wait times out, or is started after the deadline passed.
+     */
+    <T> T withDeadline(TimeoutType timeout, Supplier<T> action);
+
+    /**
+     * Same as above, for actions that don't return anything.
+     */
+    void withDeadline(TimeoutType timeout, Runnable action);
+
     <T> T waitOnExpectedCondition(ExpectedCondition<T> expectedCondition, String message, TimeoutType timeout);
 
     /**
@@ -0,0 +1,43 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Function;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.metrics.MetricsRegistry;
+
+import javax.annotation.Nullable;
+
+/**
+ * The {@link TimedWebDriverWait} of a FluentWait on an arbitrary input.
+ */
+class TimedFluentWait<T> extends FluentWait<T> {
+    private final MetricsRegistry registry;
+    private final String action;
+    @Nullable
+    private final WebBrowserType browserType;
+
+    TimedFluentWait(T input, Clock clock, Sleeper sleeper,
+                    MetricsRegistry registry, String action, @Nullable WebBrowserType browserType) {
+        super(input, clock, sleeper);
+        this.registry = registry;
+        this.action = action;
+        this.browserType = browserType;
+    }
+
+    @Override
+    public <V> V until(Function<? super T, V> isTrue) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return super.until(isTrue);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            registry.record(action, null, browserType, start, timedOut);
+        }
+    }
+}
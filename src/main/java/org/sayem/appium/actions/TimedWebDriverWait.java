@@ -0,0 +1,48 @@
+package org.sayem.appium.actions;
+
+import com.google.common.base.Function;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.metrics.MetricsRegistry;
+
+import javax.annotation.Nullable;
+
+/**
+ * A WebDriverWait that records how long each {@link #until} took, and whether it timed out, in a {@link MetricsRegistry}.
+ * FluentWait.until(Predicate) delegates to until(Function), so both are recorded.
+ */
+class TimedWebDriverWait extends WebDriverWait {
+    private final MetricsRegistry registry;
+    private final String action;
+    @Nullable
+    private final Object target;
+    @Nullable
+    private final WebBrowserType browserType;
+
+    TimedWebDriverWait(WebDriver driver, Clock clock, Sleeper sleeper, long timeOutInSeconds, long sleepTimeOutMillis,
+                       MetricsRegistry registry, String action, @Nullable Object target, @Nullable WebBrowserType browserType) {
+        super(driver, clock, sleeper, timeOutInSeconds, sleepTimeOutMillis);
+        this.registry = registry;
+        this.action = action;
+        this.target = target;
+        this.browserType = browserType;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return super.until(isTrue);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            registry.record(action, target, browserType, start, timedOut);
+        }
+    }
+}
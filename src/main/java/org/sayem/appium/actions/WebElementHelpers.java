@@ -1,14 +1,19 @@
 package org.sayem.appium.actions;
 
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 import org.openqa.selenium.WebElement;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 /**
  * Static helper methods that don't require a WebDriver instance belong here.
  */
 public class WebElementHelpers {
+    private static final Splitter CLASS_SPLITTER = Splitter.on(CharMatcher.WHITESPACE).omitEmptyStrings();
+
     /**
      * Determine whether the given WebElement has the given Class
      *
@@ -28,9 +33,19 @@ public class WebElementHelpers {
      * @return - a List&lt;String&gt; of the classes for the given WebElement
      */
     public static List<String> getClasses(WebElement webElement) {
-        if (webElement.getAttribute("class") == null) {
+        return splitClasses(webElement.getAttribute("class"));
+    }
+
+    /**
+     * Split the value of a "class" attribute into its classes.
+     *
+     * @param classAttribute - the value of the attribute, or null if the element doesn't have one
+     * @return - a List&lt;String&gt; of the classes, empty if there are none
+     */
+    public static List<String> splitClasses(@Nullable String classAttribute) {
+        if (classAttribute == null) {
             return Lists.newArrayList();
         }
-        return Lists.newArrayList(webElement.getAttribute("class").split("\\s+"));
+        return Lists.newArrayList(CLASS_SPLITTER.split(classAttribute));
     }
 }
@@ -1,34 +1,78 @@
 package org.sayem.appium.browser;
 
 import com.google.common.base.Preconditions;
+import org.sayem.appium.actions.ElementLookupCache;
+import org.sayem.appium.actions.NetworkActivityTracker;
 import org.sayem.appium.actions.SeleniumActions;
 import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.config.LookupMode;
 import org.sayem.appium.config.TimeoutsConfig;
 import org.sayem.appium.exception.IWebDriverException;
+import org.sayem.appium.metrics.MetricsRegistry;
 import org.sayem.appium.pages.PageUtils;
 import org.sayem.appium.pages.SubPage;
 import org.sayem.appium.pages.TopLevelPage;
-import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.util.Objects;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A Browser and its WebDriver are meant to be used by one thread at a time. To run tests in parallel, give each thread
+ * its own Browser, e.g. with {@link org.sayem.appium.testng.ParallelBrowserListener}.
+ * The page cache is synchronized, so that a Browser handed over between threads (e.g. by a {@link BrowserPool})
+ * is always seen in a consistent state.
+ */
 public abstract class Browser<D extends WebDriver> {
     protected static final PageUtils PAGE_UTILS = new PageUtils();
     private static final Logger logger = LoggerFactory.getLogger(Browser.class);
+
+    /**
+     * Returns [URL, marker], where the marker identifies the document: its performance.timeOrigin, which is set when
+     * the document is created, or else a random marker stamped on the document the first time.
+     */
+    static final String PAGE_STATE_SCRIPT =
+            "var d = document;" +
+            "if (!d.__pageCacheMarker) {" +
+            "  var p = window.performance;" +
+            "  var origin = p && (p.timeOrigin || (p.timing && p.timing.navigationStart));" +
+            "  d.__pageCacheMarker = origin ? 'origin:' + origin : new Date().getTime() + ':' + Math.random();" +
+            "}" +
+            "return [window.location.href, d.__pageCacheMarker];";
+
     protected D webDriver;
     protected String baseTestUrl;
     protected TimeoutsConfig timeouts;
-    protected Optional<CachedPage> optionalCachedPage = Optional.empty();
+    protected final PageCache pageCache = new PageCache();
+    protected final ElementLookupCache elementLookupCache = new ElementLookupCache();
+    protected final NetworkActivityTracker networkActivityTracker = new NetworkActivityTracker();
+    // The script timeout last set on scriptTimeoutDriver, so that it's only sent again when it needs raising
+    private volatile WebDriver scriptTimeoutDriver;
+    private volatile long scriptTimeoutMillis;
+    // The implicit wait last set on implicitWaitDriver, so that it's only sent again when it changes
+    private volatile WebDriver implicitWaitDriver;
+    private volatile long implicitWaitMillis;
+    // Overrides the LookupMode of the TimeoutsConfig when set
+    @Nullable
+    private volatile LookupMode lookupMode;
+    // How many withImplicitWaitSuspended calls are running; they're nested on the thread using the Browser
+    private int implicitWaitSuspensions;
 
     protected Browser(String baseTestUrl, TimeoutsConfig timeoutsConfig) {
         this.baseTestUrl = Preconditions.checkNotNull(baseTestUrl);
@@ -69,13 +113,144 @@ public abstract class Browser<D extends WebDriver> {
         return timeouts.getImplicitWaitTimeoutMillis();
     }
 
+    /**
+     * Make sure asynchronous scripts may run for at least the given time before the driver times them out.
+     * The script timeout is only sent to the driver when it has to be raised, so an in-browser wait doesn't cost
+     * an extra command each time.
+     *
+     * @param millis - the minimum script timeout in milliseconds
+     */
+    public void ensureScriptTimeoutMillis(long millis) {
+        D driver = getWebDriver();
+        if (driver == scriptTimeoutDriver && scriptTimeoutMillis >= millis) {
+            return;
+        }
+        driver.manage().timeouts().setScriptTimeout(millis, TimeUnit.MILLISECONDS);
+        scriptTimeoutMillis = millis;
+        scriptTimeoutDriver = driver;
+    }
+
+    /**
+     * @return - who waits for elements that aren't there yet: the LookupMode set on this Browser, or else the one of
+     * its TimeoutsConfig.
+     */
+    public LookupMode getLookupMode() {
+        LookupMode mode = lookupMode;
+        return mode != null ? mode : timeouts.getLookupMode();
+    }
+
+    /**
+     * Set the LookupMode of this Browser, overriding the one of its TimeoutsConfig, and apply it to the WebDriver.
+     *
+     * @param lookupMode - the LookupMode, or null to use the one of the TimeoutsConfig again
+     */
+    public void setLookupMode(@Nullable LookupMode lookupMode) {
+        this.lookupMode = lookupMode;
+        applyImplicitWait();
+    }
+
+    /**
+     * Run the action with the given LookupMode, then restore the previous one.
+     */
+    public <T> T withLookupMode(LookupMode lookupMode, Supplier<T> action) {
+        LookupMode previous = this.lookupMode;
+        setLookupMode(Preconditions.checkNotNull(lookupMode, "Cannot use a null LookupMode"));
+        try {
+            return action.get();
+        } finally {
+            setLookupMode(previous);
+        }
+    }
+
+    /**
+     * Run the action with the driver's implicit wait set to 0, so that element lookups return right away when
+     * nothing matches, and restore the implicit wait afterwards. With {@link LookupMode#FRAMEWORK}, the implicit wait
+     * is already 0, and no command is sent.
+     */
+    public <T> T withImplicitWaitSuspended(Supplier<T> action) {
+        implicitWaitSuspensions++;
+        try {
+            applyImplicitWait();
+            return action.get();
+        } finally {
+            implicitWaitSuspensions--;
+            applyImplicitWait();
+        }
+    }
+
+    /**
+     * @return - the implicit wait the driver should have now: 0 with {@link LookupMode#FRAMEWORK} or while it's
+     * suspended, otherwise the one of the TimeoutsConfig.
+     */
+    public long getEffectiveImplicitWaitMillis() {
+        if (implicitWaitSuspensions > 0 || getLookupMode() == LookupMode.FRAMEWORK) {
+            return 0;
+        }
+        return getImplicitWaitTimeoutMillis();
+    }
+
+    /**
+     * Set the driver's implicit wait to {@link #getEffectiveImplicitWaitMillis()}. The implicit wait is only sent
+     * to the driver when it changes, so switching modes or suspending it repeatedly doesn't cost a command each time.
+     * Safari doesn't support implicit waits, so nothing is sent to it.
+     */
+    protected void applyImplicitWait() {
+        D driver = getWebDriver();
+        if (driver == null || getBrowserType() == WebBrowserType.SAFARI) {
+            return;
+        }
+        long millis = getEffectiveImplicitWaitMillis();
+        if (driver == implicitWaitDriver && implicitWaitMillis == millis) {
+            return;
+        }
+        driver.manage().timeouts().implicitlyWait(millis, TimeUnit.MILLISECONDS);
+        implicitWaitMillis = millis;
+        implicitWaitDriver = driver;
+    }
+
+    /**
+     * Called on the thread using the browser after it opens, refreshes or loads a new document.
+     */
+    protected void onDocumentLoaded() {
+        networkActivityTracker.onDocumentLoaded(webDriver);
+    }
+
+    /**
+     * @return - the page the browser is currently on, if it's cached.
+     */
     public Optional<CachedPage> getOptionalCachedPage() {
-        return optionalCachedPage;
+        return pageCache.getCurrent();
+    }
+
+    /**
+     * The {@link TopLevelPage}s loaded by this Browser, reused by {@link #loadTopLevelPage(Class)}.
+     */
+    public PageCache getPageCache() {
+        return pageCache;
+    }
+
+    /**
+     * The cache of element lookups made by this Browser's actions. It is disabled by default; enable it with
+     * {@link ElementLookupCache#setEnabled(boolean)}, or when building the Browser.
+     */
+    public ElementLookupCache getElementLookupCache() {
+        return elementLookupCache;
+    }
+
+    /**
+     * The instrumentation counting the AJAX requests of the pages loaded by this Browser. It is disabled by default;
+     * enable it with {@link NetworkActivityTracker#setEnabled(boolean)}, or when building the Browser.
+     */
+    public NetworkActivityTracker getNetworkActivityTracker() {
+        return networkActivityTracker;
     }
 
     /**
      * Invalidate cached page, and return a fresh TopLevelPage with newly initialized WebElements.
      * <p>
+     * There's no need to call this to avoid stale pages after a reload or a route change:
+     * {@link #loadTopLevelPage(Class)} only reuses a page cached for the same document and route.
+     * <p>
      * This method does not do a Browser Refresh of the page.
      * <p>
      * It does:
@@ -96,40 +271,66 @@ public abstract class Browser<D extends WebDriver> {
      * @param pageClass - the class of the SubPage that is currently present on the DOM in the browser to load.
      */
     public <T extends SubPage> T loadSubPage(Class<T> pageClass) {
-        return PAGE_UTILS.loadCurrentPage(pageClass, webDriver, getActions());
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return PAGE_UTILS.loadCurrentPage(pageClass, webDriver, getActions());
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            MetricsRegistry.getDefault().record("loadSubPage", pageClass.getSimpleName(), getBrowserType(), start, timedOut);
+        }
     }
 
     /**
-     * If the current page is still valid, and the URL hasn't changed, and the
-     * class given as input is assignable from the cached page,
+     * If a page that is assignable to the class given as input was cached for the current URL and document,
      * THEN return the cached page and avoid re-initializing web elements and running page hooks.
-     * Otherwise, invalidate the cache and load as normal.
+     * Otherwise, load as normal, and cache the page. Pages visited earlier stay cached, see {@link PageCache}.
      *
      * @param pageClass - the class of the current Page
      */
     public <T extends TopLevelPage> T loadTopLevelPage(Class<T> pageClass) {
-        if (shouldUseCachedPage(pageClass)) {
+        long start = System.nanoTime();
+        PageState state = readPageState();
+        // find makes the page it finds the current one, so remember which page the browser is leaving
+        Optional<CachedPage> previousPage = pageCache.getCurrent();
+        Optional<CachedPage> cachedPage = state.url == null ? Optional.empty()
+                : pageCache.find(state.url, state.documentMarker, pageClass);
+        if (cachedPage.isPresent()) {
             logger.info("CACHE HIT: Fetching page of type " + pageClass.getSimpleName() + " from the Page Cache");
-            // This cast is safe, because we check in shouldUseCachedPage
-            return (T) optionalCachedPage.get().getCachedPage();
+            if (previousPage.isPresent() && previousPage.get().getCachedPage() != cachedPage.get().getCachedPage()) {
+                previousPage.get().getCachedPage().leavePageHook();
+            }
+            MetricsRegistry.getDefault().record("loadCachedTopLevelPage", pageClass.getSimpleName(), getBrowserType(), start, false);
+            // This cast is safe, because PageCache only finds instances of the page class
+            return (T) cachedPage.get().getCachedPage();
         }
         logger.info("Loading page of type " + pageClass.getSimpleName());
-        // If the page wasn't valid, then invalidate the cache.
-        runLeavePageHook();
-        invalidateCachedPage();
-
-        // First load the page without the page load hook so that we can store the failing page in the cache
-        T page = PAGE_UTILS.loadCurrentPageWithoutPageLoadHook(pageClass, webDriver, getActions());
-        setCachedPage(page);
-
-        // Next, run page load hook and sub-page load hooks
-        page.pageLoadHook();
-        PAGE_UTILS.runPageLoadHooksForSubPages(page, getActions());
-
-        return page;
+        boolean timedOut = false;
+        try {
+            // Leaving the current page; it stays cached, in case the browser comes back to it
+            runLeavePageHook();
+            pageCache.leaveCurrent();
+            onDocumentLoaded();
+
+            // First load the page without the page load hook so that we can store the failing page in the cache
+            T page = PAGE_UTILS.loadCurrentPageWithoutPageLoadHook(pageClass, webDriver, getActions());
+            setCachedPage(page, state);
+
+            // Next, run page load hook and sub-page load hooks
+            page.pageLoadHook();
+            PAGE_UTILS.runPageLoadHooksForSubPages(page, getActions());
+
+            return page;
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            MetricsRegistry.getDefault().record("loadTopLevelPage", pageClass.getSimpleName(), getBrowserType(), start, timedOut);
+        }
     }
 
-
     /**
      * Save a screenshot in PNG format to given file name.
      *
@@ -137,70 +338,90 @@ public abstract class Browser<D extends WebDriver> {
      * @return - a File representing the saved screenshot.
      */
     public File saveScreenshotToFile(String filename) {
-        TakesScreenshot screenshotDriver;
-        screenshotDriver = ((TakesScreenshot) getWebDriver());
-        File scrFile = screenshotDriver.getScreenshotAs(OutputType.FILE);
-
-        // Now you can do whatever you need to do with it, for example copy somewhere
+        byte[] png = getScreenshotDriver().getScreenshotAs(OutputType.BYTES);
         File outFile = new File(filename);
         try {
-            FileUtils.copyFile(scrFile, outFile);
+            Files.write(outFile.toPath(), png);
         } catch (IOException e) {
             logger.error("Error saving screenshot!", e);
         }
         return outFile;
     }
 
+    /**
+     * Take a screenshot and save it to the given file in the background.
+     *
+     * @see ScreenshotPipeline#capture(Browser, Path)
+     */
+    public CompletableFuture<Path> saveScreenshotAsync(ScreenshotPipeline pipeline, Path target) {
+        return pipeline.capture(this, target);
+    }
+
+    /**
+     * @return - the WebDriver, as a TakesScreenshot.
+     */
+    public TakesScreenshot getScreenshotDriver() {
+        return (TakesScreenshot) getWebDriver();
+    }
+
+    /**
+     * Evict the current page from the page cache, so that the next load initializes it again.
+     */
     public void invalidateCachedPage() {
-        optionalCachedPage = Optional.empty();
+        pageCache.invalidateCurrent();
     }
 
     //--------------Private helpers------------
     protected void setCachedPage(TopLevelPage p) {
         if (getBrowserType() != WebBrowserType.MOBILE) {
-            final String url = webDriver.getCurrentUrl();
-            CachedPage cachedPage = new CachedPage(url, p);
-            optionalCachedPage = Optional.of(cachedPage);
-            logger.debug("Set cached page of type {} with URL {}", p.getClass().getSimpleName(), url);
+            setCachedPage(p, readPageState());
         }
     }
 
-    private <T extends TopLevelPage> boolean shouldUseCachedPage(Class<T> pageClass) {
-        if (!optionalCachedPage.isPresent()) {
-            return false;
+    private void setCachedPage(TopLevelPage p, PageState state) {
+        if (getBrowserType() != WebBrowserType.MOBILE && state.url != null) {
+            pageCache.put(new CachedPage(state.url, p, state.documentMarker));
+            logger.debug("Set cached page of type {} with URL {}", p.getClass().getSimpleName(), state.url);
         }
-        CachedPage cachedPage = optionalCachedPage.get();
+    }
 
-        // The cached page must be an instance of the required page class.
-        if (!pageClass.isInstance(cachedPage.getCachedPage())) {
-            return false;
+    /**
+     * Read the URL and the document marker in a single script, or only the URL if javascript isn't supported.
+     */
+    private PageState readPageState() {
+        if (getBrowserType() == WebBrowserType.MOBILE) {
+            return new PageState(null, null);
         }
-
-        try {
-            URI currentURI = URI.create(webDriver.getCurrentUrl());
-            URI cachedURI = URI.create(cachedPage.getUrl());
-
-            // Hosts must be equal
-            if (!Objects.equals(currentURI.getHost(), cachedURI.getHost())) {
-                return false;
+        if (webDriver instanceof JavascriptExecutor) {
+            try {
+                Object result = ((JavascriptExecutor) webDriver).executeScript(PAGE_STATE_SCRIPT);
+                if (result instanceof List && ((List<?>) result).size() == 2) {
+                    List<?> values = (List<?>) result;
+                    return new PageState(String.valueOf(values.get(0)), (String) values.get(1));
+                }
+            } catch (WebDriverException e) {
+                logger.debug("Could not read the document marker, using the URL only: {}", e.getMessage());
             }
+        }
+        return new PageState(webDriver.getCurrentUrl(), null);
+    }
 
-            // Paths must be equal
-            if (!Objects.equals(currentURI.getPath(), cachedURI.getPath())) {
-                return false;
-            }
+    private static final class PageState {
+        @Nullable
+        private final String url;
+        @Nullable
+        private final String documentMarker;
 
-        } catch (Exception e) {
-            logger.debug("Error constructing URIs from the current webdriver URL", e);
-            return false;
+        private PageState(@Nullable String url, @Nullable String documentMarker) {
+            this.url = url;
+            this.documentMarker = documentMarker;
         }
-
-        return true;
     }
 
     public void runLeavePageHook() {
-        if (optionalCachedPage.isPresent()) {
-            optionalCachedPage.get().getCachedPage().leavePageHook();
+        Optional<CachedPage> cachedPage = pageCache.getCurrent();
+        if (cachedPage.isPresent()) {
+            cachedPage.get().getCachedPage().leavePageHook();
         }
     }
 
@@ -0,0 +1,344 @@
+package org.sayem.appium.browser;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.sayem.appium.browser.web.BrowserLogTailer;
+import org.sayem.appium.browser.web.WebBrowser;
+import org.sayem.appium.exception.IWebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * <p>A pool of initialized {@link WebBrowser}s, all built from the same {@link LocalBrowserBuilder} or
+ * {@link RemoteBrowserBuilder}, so of the same {@link org.sayem.appium.browser.web.WebBrowserType} and capabilities.
+ * Use one pool per browser configuration.</p>
+ * <p>
+ * <p>Building a browser starts a driver process, a browser process and a session, which takes seconds.
+ * {@link #lease()} instead takes a browser that was built in the background, and {@link #release(WebBrowser)}
+ * resets it and puts it back for the next test: every window but one is closed, cookies and web storage of the
+ * current page are cleared, the browser navigates to about:blank, the page and element lookup caches are invalidated,
+ * the entries of its {@link BrowserLogTailer} are cleared, its {@link org.sayem.appium.config.LookupMode} goes back to
+ * the one of its TimeoutsConfig, and its {@link org.sayem.appium.actions.NetworkActivityTracker} is enabled or disabled
+ * again as configured by the browser builder.</p>
+ * <p>
+ * <p>Idle browsers are health-checked before they're leased, and periodically; browsers failing the check are quit
+ * and replaced.</p>
+ * <p>
+ * Example:
+ * <pre>
+ * BrowserPool pool = BrowserPool.builder(LocalBrowserBuilder.getChromeBuilder(url)).withMinIdle(2).build();
+ * WebBrowser browser = pool.lease();
+ * try {
+ *     ...
+ * } finally {
+ *     pool.release(browser);
+ * }
+ * </pre>
+ */
+public final class BrowserPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage && window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage && window.sessionStorage.clear(); } catch (e) {}";
+
+    private final BrowserFactory factory;
+    private final String description;
+    private final boolean networkTrackingEnabled;
+    private final int minIdle;
+    private final int maxIdle;
+    private final Predicate<WebBrowser> healthCheck;
+
+    private final BlockingDeque<WebBrowser> idle = new LinkedBlockingDeque<>();
+    private final Set<WebBrowser> leased = Sets.newConcurrentHashSet();
+    private final AtomicInteger creating = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ScheduledExecutorService maintenance;
+
+    private BrowserPool(Builder builder) {
+        this.factory = builder.factory;
+        this.description = builder.description;
+        this.networkTrackingEnabled = builder.networkTrackingEnabled;
+        this.minIdle = builder.minIdle;
+        this.maxIdle = builder.maxIdle;
+        this.healthCheck = builder.healthCheck;
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BrowserPool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, builder.maintenanceIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Get a Builder for a pool of browsers built by the given LocalBrowserBuilder.
+     */
+    public static Builder builder(LocalBrowserBuilder browserBuilder) {
+        Preconditions.checkNotNull(browserBuilder, "You must provide a non-null LocalBrowserBuilder!");
+        return new Builder(browserBuilder::build, browserBuilder.toString(), browserBuilder.isNetworkTrackingEnabled());
+    }
+
+    /**
+     * Get a Builder for a pool of browsers built by the given RemoteBrowserBuilder.
+     */
+    public static Builder builder(RemoteBrowserBuilder browserBuilder) {
+        Preconditions.checkNotNull(browserBuilder, "You must provide a non-null RemoteBrowserBuilder!");
+        return new Builder(browserBuilder::build, browserBuilder.toString(), browserBuilder.isNetworkTrackingEnabled());
+    }
+
+    /**
+     * Take a healthy idle browser from the pool, or build a new one if there are none.
+     *
+     * @throws IWebDriverException when a new browser is needed and building it fails.
+     */
+    public WebBrowser lease() throws IWebDriverException {
+        Preconditions.checkState(!closed.get(), "Cannot lease a browser from a closed BrowserPool");
+        WebBrowser browser;
+        while ((browser = idle.pollFirst()) != null) {
+            if (isHealthy(browser)) {
+                break;
+            }
+            discard(browser);
+        }
+        if (browser == null) {
+            logger.info("No idle browser in the pool, building a new one: {}", description);
+            browser = factory.build();
+        }
+        leased.add(browser);
+        scheduleRefill();
+        return browser;
+    }
+
+    /**
+     * Reset a leased browser and return it to the pool. If the reset fails, or there are already maxIdle idle browsers,
+     * the browser is quit instead.
+     */
+    public void release(WebBrowser browser) {
+        Preconditions.checkNotNull(browser);
+        if (!leased.remove(browser)) {
+            throw new IllegalArgumentException("The browser wasn't leased from this pool: " + browser);
+        }
+        if (closed.get() || idle.size() >= maxIdle || !reset(browser)) {
+            discard(browser);
+            return;
+        }
+        idle.offerFirst(browser);
+    }
+
+    /**
+     * Quit a leased browser instead of returning it to the pool, e.g. because the test left it in an unknown state.
+     */
+    public void invalidate(WebBrowser browser) {
+        if (leased.remove(browser)) {
+            discard(browser);
+        }
+        scheduleRefill();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    /**
+     * Quit the idle browsers and stop building new ones. Leased browsers are quit when they're released.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        maintenance.shutdownNow();
+        WebBrowser browser;
+        while ((browser = idle.pollFirst()) != null) {
+            discard(browser);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("browser", description)
+                .add("minIdle", minIdle)
+                .add("maxIdle", maxIdle)
+                .add("idle", idle.size())
+                .add("leased", leased.size())
+                .toString();
+    }
+
+    //--------------Private helpers------------
+    private void maintain() {
+        // Replace idle browsers that died, e.g. because the session timed out on the grid
+        // Each browser is taken out of the pool while it's checked, so that it can't be leased at the same time
+        for (WebBrowser browser : Lists.newArrayList(idle)) {
+            if (!idle.remove(browser)) {
+                continue;
+            }
+            if (isHealthy(browser)) {
+                idle.offerLast(browser);
+            } else {
+                discard(browser);
+            }
+        }
+        refill();
+    }
+
+    private void scheduleRefill() {
+        try {
+            maintenance.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            logger.debug("BrowserPool is closed, not refilling it");
+        }
+    }
+
+    private void refill() {
+        while (!closed.get() && idle.size() + creating.get() < minIdle) {
+            creating.incrementAndGet();
+            try {
+                WebBrowser browser = factory.build();
+                if (closed.get()) {
+                    discard(browser);
+                } else {
+                    idle.offerLast(browser);
+                }
+            } catch (Exception e) {
+                logger.error("Error building a browser for the pool: " + description, e);
+                return;
+            } finally {
+                creating.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean isHealthy(WebBrowser browser) {
+        try {
+            return healthCheck.test(browser);
+        } catch (Exception e) {
+            logger.info("Pooled browser failed its health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reset(WebBrowser browser) {
+        try {
+            closeAllWindowsButOne(browser.getWebDriver());
+            if (browser.getWebDriver() instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) browser.getWebDriver()).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            browser.getWebDriver().manage().deleteAllCookies();
+            browser.getWebDriver().get("about:blank");
+            browser.getPageCache().clear();
+            browser.getElementLookupCache().invalidate();
+            browser.getLogTailer().ifPresent(BrowserLogTailer::clear);
+            // Undo what the test may have changed, so it doesn't leak to the next one
+            browser.setLookupMode(null);
+            browser.getNetworkActivityTracker().setEnabled(networkTrackingEnabled);
+            return true;
+        } catch (Exception e) {
+            logger.info("Could not reset the browser returned to the pool, quitting it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void closeAllWindowsButOne(WebDriver webDriver) {
+        List<String> handles = Lists.newArrayList(webDriver.getWindowHandles());
+        if (handles.isEmpty()) {
+            throw new IllegalStateException("The browser has no window left");
+        }
+        for (String handle : handles.subList(1, handles.size())) {
+            webDriver.switchTo().window(handle).close();
+        }
+        webDriver.switchTo().window(handles.get(0));
+    }
+
+    private void discard(WebBrowser browser) {
+        try {
+            browser.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting a pooled browser", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BrowserFactory {
+        WebBrowser build() throws IWebDriverException;
+    }
+
+    public static final class Builder {
+        private final BrowserFactory factory;
+        private final String description;
+        private final boolean networkTrackingEnabled;
+        private int minIdle = 1;
+        private int maxIdle = 4;
+        private long maintenanceIntervalSeconds = 30;
+        private Predicate<WebBrowser> healthCheck = browser -> browser.getWebDriver().getWindowHandle() != null;
+
+        private Builder(BrowserFactory factory, String description, boolean networkTrackingEnabled) {
+            this.factory = factory;
+            this.description = description;
+            this.networkTrackingEnabled = networkTrackingEnabled;
+        }
+
+        /**
+         * How many idle browsers to keep ready. Building them happens in the background. Default 1.
+         */
+        public Builder withMinIdle(int minIdle) {
+            Preconditions.checkArgument(minIdle >= 0, "minIdle can't be negative");
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * How many idle browsers to keep at most; browsers released beyond that are quit. Default 4.
+         */
+        public Builder withMaxIdle(int maxIdle) {
+            Preconditions.checkArgument(maxIdle >= 0, "maxIdle can't be negative");
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * How a browser is checked before being leased. The default asks the WebDriver for the current window handle.
+         */
+        public Builder withHealthCheck(Predicate<WebBrowser> healthCheck) {
+            this.healthCheck = Preconditions.checkNotNull(healthCheck);
+            return this;
+        }
+
+        /**
+         * How often the idle browsers are health-checked, and the pool refilled. Default 30 seconds.
+         */
+        public Builder withMaintenanceIntervalSeconds(long maintenanceIntervalSeconds) {
+            Preconditions.checkArgument(maintenanceIntervalSeconds > 0, "The maintenance interval must be positive");
+            this.maintenanceIntervalSeconds = maintenanceIntervalSeconds;
+            return this;
+        }
+
+        /**
+         * Create the pool. It starts building minIdle browsers in the background right away.
+         */
+        public BrowserPool build() {
+            Preconditions.checkArgument(maxIdle >= minIdle, "maxIdle must be at least minIdle");
+            return new BrowserPool(this);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package org.sayem.appium.browser;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.sayem.appium.browser.web.RemoteBrowser;
 import com.thoughtworks.selenium.Wait;
 import com.thoughtworks.selenium.webdriven.commands.WaitForPageToLoad;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
-import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.client.HttpClient;
 import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.util.EntityUtils;
 import org.codehaus.jackson.JsonNode;
 import org.codehaus.jackson.map.ObjectMapper;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.remote.CommandExecutor;
 import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
@@ -21,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -28,27 +35,105 @@ public class BrowserUtil {
     public static final int DEFAULT_TIMEOUT_SECONDS = 30;
     private static final Logger logger = LoggerFactory.getLogger(BrowserUtil.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    // A session runs on one node for its whole life, so its node only needs to be looked up once
+    private static final Cache<String, String> sessionNodes = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(6, TimeUnit.HOURS)
+            .build();
+
+    // Extra time given to the driver's script timeout, so that an in-browser wait reports its own timeout first
+    public static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 5000;
+
+    /**
+     * Resolves with [true, elapsed millis] once the DOM hasn't changed for quietMillis, [false, 'timeout'] if that
+     * doesn't happen within timeoutMillis, or [false, 'unsupported'] if the browser has no MutationObserver.
+     * The mutations are observed inside the browser, so the whole wait is a single command.
+     */
+    static final String DOM_STABLE_SCRIPT =
+            "var quietMillis = arguments[0], timeoutMillis = arguments[1], done = arguments[arguments.length - 1];" +
+            "if (typeof MutationObserver === 'undefined' || !document.documentElement) {" +
+            "  done([false, 'unsupported']); return;" +
+            "}" +
+            "var start = new Date().getTime(), last = start;" +
+            "var observer = new MutationObserver(function() { last = new Date().getTime(); });" +
+            "observer.observe(document.documentElement," +
+            "    {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "(function check() {" +
+            "  var now = new Date().getTime();" +
+            "  if (now - last >= quietMillis) { observer.disconnect(); done([true, now - start]); }" +
+            "  else if (now - start >= timeoutMillis) { observer.disconnect(); done([false, 'timeout']); }" +
+            "  else { setTimeout(check, Math.min(quietMillis - (now - last), timeoutMillis - (now - start))); }" +
+            "})();";
 
     /**
-     * Helper to wait until the length of an HTML page (as a String) is stable for 1 second.
+     * Helper to wait until the DOM of the page hasn't changed for the quiet window of the browser's
+     * {@link org.sayem.appium.config.TimeoutsConfig#getDomQuietWindowMillis()}.
      * Useful to wait for javascript actions that modify the DOM of the page to complete.
      *
      * @param browser - this will probably only be useful for a {@link WebBrowser}
+     * @see #waitForDomToBeStable(Browser, int, long)
+     */
+    public static void waitForPageHtmlToBeStable(Browser<?> browser, int timeoutSeconds) {
+        waitForDomToBeStable(browser, timeoutSeconds, browser.getTimeouts().getDomQuietWindowMillis());
+    }
+
+    public static void waitForPageHtmlToBeStable(Browser<?> browser) {
+        waitForPageHtmlToBeStable(browser, DEFAULT_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Wait until the DOM of the page hasn't changed for quietMillis. A MutationObserver in the page sees every change
+     * to the DOM, including ones that don't change the length of the HTML, and the wait is a single asynchronous script
+     * instead of reading the whole page source every 50 ms.
+     * <p>
+     * Browsers without MutationObserver or javascript, such as native mobile apps, fall back to waiting until the
+     * length of the page source is stable for 1 second.
+     *
+     * @param timeoutSeconds - how long to wait for the DOM to be stable
+     * @param quietMillis    - how long the DOM must not change
+     * @throws TimeoutException if the DOM keeps changing for timeoutSeconds.
      */
-    public static void waitForPageHtmlToBeStable(Browser browser, int timeoutSeconds) {
-        final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    public static void waitForDomToBeStable(Browser<?> browser, int timeoutSeconds, long quietMillis) {
+        final long timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        final long start = System.currentTimeMillis();
+        if (!(browser instanceof WebBrowser) || !(browser.getWebDriver() instanceof JavascriptExecutor)) {
+            waitForPageHtmlLengthToBeStable(browser, timeoutMillis);
+            return;
+        }
+        List<?> result;
+        try {
+            browser.ensureScriptTimeoutMillis(timeoutMillis + SCRIPT_TIMEOUT_MARGIN_MILLIS);
+            result = (List<?>) ((JavascriptExecutor) browser.getWebDriver())
+                    .executeAsyncScript(DOM_STABLE_SCRIPT, quietMillis, timeoutMillis);
+        } catch (UnsupportedCommandException e) {
+            // e.g. Safari doesn't support setting the script timeout
+            logger.debug("Cannot run an asynchronous script, checking the page HTML length instead: {}", e.getMessage());
+            waitForPageHtmlLengthToBeStable(browser, timeoutMillis);
+            return;
+        }
+        if (result != null && Boolean.TRUE.equals(result.get(0))) {
+            logger.info("Success - waited for the DOM to be stable for {} ms! Took {} ms", quietMillis, result.get(1));
+            return;
+        }
+        if (result != null && "unsupported".equals(result.get(1))) {
+            long remainingMillis = Math.max(0, timeoutMillis - (System.currentTimeMillis() - start));
+            waitForPageHtmlLengthToBeStable(browser, remainingMillis);
+            return;
+        }
+        throw new TimeoutException(String.format("Timeout waiting for the DOM to be stable for %d ms with %d seconds timeout used",
+                quietMillis, timeoutSeconds));
+    }
+
+    // Helper for waitForDomToBeStable, when the browser can't observe DOM mutations
+    private static void waitForPageHtmlLengthToBeStable(Browser<?> browser, long timeoutMillis) {
         final long START = System.currentTimeMillis();
         WaitForPageToLoad waitForPageToLoad = new WaitForPageToLoad();
         Wait lengthWait = waitForPageToLoad.getLengthCheckingWait(browser.getWebDriver());
-        lengthWait.wait("Timeout waiting for the page HTML to be stable with !", TIMEOUT_MILLIS);
+        lengthWait.wait("Timeout waiting for the page HTML to be stable with !", timeoutMillis);
         final long END = System.currentTimeMillis();
         logger.info("Success - waited for the page HTML to be stable! Took {} ms", END - START);
     }
 
-    public static void waitForPageHtmlToBeStable(Browser browser) {
-        waitForPageHtmlToBeStable(browser, DEFAULT_TIMEOUT_SECONDS);
-    }
-
     /**
      * Helper to determine the Selenium Node we're running on via the Selenium API
      *
@@ -69,17 +154,31 @@ public class BrowserUtil {
 
     // Helper for above method.
     private static Optional<String> getSeleniumNodeUrl(URL remoteServer, String sessionId) {
+        String cacheKey = remoteServer + "#" + sessionId;
+        String cachedNode = sessionNodes.getIfPresent(cacheKey);
+        if (cachedNode != null) {
+            return Optional.of(cachedNode);
+        }
         try {
             URI gridApiURI = new URI(remoteServer.getProtocol(), null, remoteServer.getHost(), remoteServer.getPort(),
                     "/grid/api/testsession", "session=" + sessionId, null);
-            DefaultHttpClient client = new DefaultHttpClient();
+            HttpClient client = RemoteHttpClientFactory.getDefault().getHttpClient();
             BasicHttpEntityEnclosingRequest request = new BasicHttpEntityEnclosingRequest("POST", gridApiURI.toString());
             HttpHost host = new HttpHost(remoteServer.getHost(), remoteServer.getPort());
             HttpResponse response = client.execute(host, request);
-            InputStream inputStream = response.getEntity().getContent();
-            JsonNode obj = objectMapper.readTree(inputStream);
-            String nodeHost = obj.get("proxyId").asText();
-            return Optional.ofNullable(nodeHost);
+            JsonNode obj;
+            try (InputStream inputStream = response.getEntity().getContent()) {
+                obj = objectMapper.readTree(inputStream);
+            } finally {
+                EntityUtils.consumeQuietly(response.getEntity()); // Return the connection to the pool
+            }
+            JsonNode proxyId = obj.get("proxyId");
+            if (proxyId == null) {
+                return Optional.empty();
+            }
+            String nodeHost = proxyId.asText();
+            sessionNodes.put(cacheKey, nodeHost);
+            return Optional.of(nodeHost);
         } catch (Exception e) {
             logger.warn("Error determining Selenium Node URL: {}", e.getMessage());
             logger.debug(Throwables.getStackTraceAsString(e));
@@ -3,14 +3,22 @@ package org.sayem.appium.browser;
 import org.sayem.appium.pages.TopLevelPage;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class CachedPage {
     private final String url;
     private final TopLevelPage cachedPage;
+    @Nullable
+    private final String documentMarker;
 
     public CachedPage(@Nonnull String url, @Nonnull TopLevelPage cachedPage) {
+        this(url, cachedPage, null);
+    }
+
+    public CachedPage(@Nonnull String url, @Nonnull TopLevelPage cachedPage, @Nullable String documentMarker) {
         this.url = url;
         this.cachedPage = cachedPage;
+        this.documentMarker = documentMarker;
     }
 
     public String getUrl() {
@@ -20,4 +28,12 @@ public final class CachedPage {
     public TopLevelPage getCachedPage() {
         return cachedPage;
     }
+
+    /**
+     * @return - the marker of the document the page was loaded from, or null if it couldn't be read.
+     */
+    @Nullable
+    public String getDocumentMarker() {
+        return documentMarker;
+    }
 }
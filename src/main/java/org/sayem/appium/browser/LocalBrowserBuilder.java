@@ -47,6 +47,8 @@ public class LocalBrowserBuilder {
     private Optional<Integer> startWindowHeight = Optional.empty();
     private Optional<Level> browserLogLevel = Optional.empty();
     private Optional<String> browserLogFile = Optional.empty();
+    private boolean elementLookupCacheEnabled = false;
+    private boolean networkTrackingEnabled = false;
 
     private LocalBrowserBuilder(WebBrowserType browserType, String baseTestUrl) {
         this.browserType = Preconditions.checkNotNull(browserType, "You must provide a non-null browserType!");
@@ -132,6 +134,14 @@ public class LocalBrowserBuilder {
         return browserLogFile;
     }
 
+    public boolean isElementLookupCacheEnabled() {
+        return elementLookupCacheEnabled;
+    }
+
+    public boolean isNetworkTrackingEnabled() {
+        return networkTrackingEnabled;
+    }
+
     /**
      * Creates the Browser instance, which includes creating the actual Browser process via the underlying WebDriver.
      *
@@ -162,6 +172,8 @@ public class LocalBrowserBuilder {
             default:
                 throw new IllegalArgumentException("Only Firefox, Chrome, and IE are currently supported!");
         }
+        browser.getElementLookupCache().setEnabled(elementLookupCacheEnabled);
+        browser.getNetworkActivityTracker().setEnabled(networkTrackingEnabled);
         browser.initializeBrowser();
         return browser;
     }
@@ -206,6 +218,27 @@ public class LocalBrowserBuilder {
         return this;
     }
 
+    /**
+     * Cache element lookups made by the Browser's actions until the DOM changes or the Browser navigates.
+     *
+     * @see org.sayem.appium.actions.ElementLookupCache
+     */
+    public LocalBrowserBuilder withElementLookupCache(boolean elementLookupCacheEnabled) {
+        this.elementLookupCacheEnabled = elementLookupCacheEnabled;
+        return this;
+    }
+
+    /**
+     * Count the AJAX requests in flight on every page the Browser loads, for
+     * {@link org.sayem.appium.actions.SeleniumActions#waitForNetworkIdle(long, org.sayem.appium.config.TimeoutType)}.
+     *
+     * @see org.sayem.appium.actions.NetworkActivityTracker
+     */
+    public LocalBrowserBuilder withNetworkTracking(boolean networkTrackingEnabled) {
+        this.networkTrackingEnabled = networkTrackingEnabled;
+        return this;
+    }
+
     @Override
     public String toString() {
         return Objects.toStringHelper(this)
@@ -218,6 +251,8 @@ public class LocalBrowserBuilder {
                 .add("startWindowHeight", startWindowHeight)
                 .add("browserLogLevel", browserLogLevel)
                 .add("browserLogFile", browserLogFile)
+                .add("elementLookupCacheEnabled", elementLookupCacheEnabled)
+                .add("networkTrackingEnabled", networkTrackingEnabled)
                 .toString();
     }
 }
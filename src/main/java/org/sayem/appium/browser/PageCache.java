@@ -0,0 +1,270 @@
+package org.sayem.appium.browser;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.sayem.appium.pages.TopLevelPage;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>The {@link TopLevelPage}s loaded by a {@link Browser}, keyed by host, path, query, fragment and page class, so that
+ * navigating
+ * back to a page, or switching between routes of a single-page app, reuses the page instead of initializing its
+ * elements and running its page load hooks again. Routes that only differ by query or fragment each have their own
+ * slot.</p>
+ * <p>
+ * <p>A cached page is only reused while it's still the same document and the same route: when it's cached, the marker
+ * of the document (see {@link Browser#PAGE_STATE_SCRIPT}) is recorded, and a page is only found if the current document
+ * has the same marker, and the current URL has the same query and fragment, which single-page apps change on
+ * route changes that keep the path. A new document (e.g. a reload to the same URL) evicts the pages cached for it.
+ * When the marker can't be read (no javascript), pages are matched by host and path only.</p>
+ * <p>
+ * <p>Only navigations that keep the document can hit: the route changes of a single-page app, and back or forward
+ * navigations that the browser restores from its back/forward cache, which keeps the document and its marker.
+ * Any navigation that loads a new document misses, since the new document has a new marker.</p>
+ * <p>
+ * <p>The cache holds at most {@link #getMaxSize()} pages; the least recently used page is evicted first.</p>
+ */
+public final class PageCache {
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    private final LinkedHashMap<Key, CachedPage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    @Nullable
+    private CachedPage current = null;
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private long hits = 0;
+    private long misses = 0;
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize - how many pages to keep; 1 only keeps the current page.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        Preconditions.checkArgument(maxSize > 0, "The max size must be positive");
+        this.maxSize = maxSize;
+        evictOverflow();
+    }
+
+    /**
+     * @return - the page the browser is on: the one most recently loaded or reused, unless it was invalidated
+     * or left since.
+     */
+    public synchronized Optional<CachedPage> getCurrent() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Evict the current page, so that the next load of the page initializes it again. Other pages stay cached.
+     */
+    public synchronized void invalidateCurrent() {
+        if (current != null) {
+            remove(current.getCachedPage());
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        current = null;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return Objects.toStringHelper(this)
+                .add("size", entries.size())
+                .add("maxSize", maxSize)
+                .add("hits", hits)
+                .add("misses", misses)
+                .toString();
+    }
+
+    /**
+     * Find the most recently used page that is an instance of the page class and was cached for the current URL and
+     * document. Pages cached for the same URL but another document are evicted.
+     *
+     * @param currentUrl     - the URL of the current document
+     * @param documentMarker - the marker of the current document, or null if it can't be read
+     */
+    public synchronized <T extends TopLevelPage> Optional<CachedPage> find(String currentUrl, @Nullable String documentMarker,
+                                                                   Class<T> pageClass) {
+        Optional<Location> location = Location.of(currentUrl);
+        if (!location.isPresent()) {
+            misses++;
+            return Optional.empty();
+        }
+        Key found = null;
+        for (Iterator<Map.Entry<Key, CachedPage>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, CachedPage> entry = it.next();
+            if (!entry.getKey().location.equals(location.get())) {
+                continue;
+            }
+            String cachedMarker = entry.getValue().getDocumentMarker();
+            if (documentMarker != null && cachedMarker != null) {
+                if (!documentMarker.equals(cachedMarker)) {
+                    it.remove(); // Cached for a document that is gone
+                    continue;
+                }
+                if (!isSameRoute(currentUrl, entry.getValue().getUrl())) {
+                    continue; // Same document, another route of a single-page app; the app may come back to it
+                }
+            }
+            if (pageClass.isInstance(entry.getValue().getCachedPage())) {
+                found = entry.getKey(); // Iteration is least recently used first, so keep the last one
+            }
+        }
+        if (found == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        current = entries.get(found); // Also marks the page as the most recently used
+        return Optional.of(current);
+    }
+
+    /**
+     * Cache the page, which becomes the current page, replacing a page of the same class cached for the same URL.
+     */
+    public synchronized void put(CachedPage cachedPage) {
+        Optional<Location> location = Location.of(cachedPage.getUrl());
+        if (!location.isPresent()) {
+            return;
+        }
+        Key key = new Key(location.get(), routeOf(cachedPage.getUrl()), cachedPage.getCachedPage().getClass());
+        entries.put(key, cachedPage);
+        current = cachedPage;
+        evictOverflow();
+    }
+
+    /**
+     * Forget which page is current, e.g. because the browser is leaving it. It stays cached.
+     */
+    synchronized void leaveCurrent() {
+        current = null;
+    }
+
+    /**
+     * Remove the given page, e.g. because its page load hook failed.
+     */
+    synchronized void remove(TopLevelPage page) {
+        List<Key> keys = Lists.newArrayList();
+        entries.forEach((key, cachedPage) -> {
+            if (cachedPage.getCachedPage() == page) {
+                keys.add(key);
+            }
+        });
+        keys.forEach(entries::remove);
+        if (current != null && current.getCachedPage() == page) {
+            current = null;
+        }
+    }
+
+    //--------------Private helpers------------
+    private static boolean isSameRoute(String url, String otherUrl) {
+        Optional<String> route = routeOf(url);
+        return route.isPresent() && route.equals(routeOf(otherUrl));
+    }
+
+    /**
+     * The query and fragment of the URL, which single-page apps change on route changes that keep the path.
+     */
+    private static Optional<String> routeOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return Optional.of(Strings.nullToEmpty(uri.getRawQuery()) + "#" + Strings.nullToEmpty(uri.getRawFragment()));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedPage> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            CachedPage evicted = it.next();
+            it.remove();
+            if (evicted == current) {
+                current = null;
+            }
+        }
+    }
+
+    private static final class Location {
+        private final String host;
+        private final String path;
+
+        private Location(String host, String path) {
+            this.host = host;
+            this.path = path;
+        }
+
+        private static Optional<Location> of(String url) {
+            try {
+                URI uri = URI.create(url);
+                return Optional.of(new Location(uri.getHost(), uri.getPath()));
+            } catch (Exception e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Location)) {
+                return false;
+            }
+            Location other = (Location) o;
+            return Objects.equal(host, other.host) && Objects.equal(path, other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(host, path);
+        }
+    }
+
+    private static final class Key {
+        private final Location location;
+        private final Optional<String> route;
+        private final Class<?> pageClass;
+
+        private Key(Location location, Optional<String> route, Class<?> pageClass) {
+            this.location = location;
+            this.route = route;
+            this.pageClass = pageClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return location.equals(other.location) && route.equals(other.route) && pageClass == other.pageClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(location, route, pageClass);
+        }
+    }
+}
@@ -41,6 +41,8 @@ public class RemoteBrowserBuilder {
     private Optional<Integer> startWindowHeight = Optional.empty();
     private Optional<Level> browserLogLevel = Optional.empty();
     private Optional<String> browserLogFile = Optional.empty();
+    private boolean elementLookupCacheEnabled = false;
+    private boolean networkTrackingEnabled = false;
     private Optional<Platform> platform = Optional.empty();
 
     private RemoteBrowserBuilder(WebBrowserType browserType,
@@ -140,6 +142,14 @@ public class RemoteBrowserBuilder {
         return browserLogFile;
     }
 
+    public boolean isElementLookupCacheEnabled() {
+        return elementLookupCacheEnabled;
+    }
+
+    public boolean isNetworkTrackingEnabled() {
+        return networkTrackingEnabled;
+    }
+
     public Optional<Platform> getPlatform() {
         return platform;
     }
@@ -173,6 +183,8 @@ public class RemoteBrowserBuilder {
                 throw new IllegalArgumentException("Only Firefox, Chrome, and IE are currently supported!");
         }
         RemoteBrowser remoteBrowser = new RemoteBrowser(browser, seleniumHubURL);
+        remoteBrowser.getElementLookupCache().setEnabled(elementLookupCacheEnabled);
+        remoteBrowser.getNetworkActivityTracker().setEnabled(networkTrackingEnabled);
         remoteBrowser.initializeBrowser();
         return remoteBrowser;
     }
@@ -212,6 +224,27 @@ public class RemoteBrowserBuilder {
         return this;
     }
 
+    /**
+     * Cache element lookups made by the Browser's actions until the DOM changes or the Browser navigates.
+     *
+     * @see org.sayem.appium.actions.ElementLookupCache
+     */
+    public RemoteBrowserBuilder withElementLookupCache(boolean elementLookupCacheEnabled) {
+        this.elementLookupCacheEnabled = elementLookupCacheEnabled;
+        return this;
+    }
+
+    /**
+     * Count the AJAX requests in flight on every page the Browser loads, for
+     * {@link org.sayem.appium.actions.SeleniumActions#waitForNetworkIdle(long, org.sayem.appium.config.TimeoutType)}.
+     *
+     * @see org.sayem.appium.actions.NetworkActivityTracker
+     */
+    public RemoteBrowserBuilder withNetworkTracking(boolean networkTrackingEnabled) {
+        this.networkTrackingEnabled = networkTrackingEnabled;
+        return this;
+    }
+
     public RemoteBrowserBuilder withPlatform(Platform platform) {
         this.platform = Optional.ofNullable(platform);
         return this;
@@ -229,6 +262,8 @@ public class RemoteBrowserBuilder {
                 .add("startWindowHeight", startWindowHeight)
                 .add("browserLogLevel", browserLogLevel)
                 .add("browserLogFile", browserLogFile)
+                .add("elementLookupCacheEnabled", elementLookupCacheEnabled)
+                .add("networkTrackingEnabled", networkTrackingEnabled)
                 .add("platform", platform)
                 .toString();
     }
@@ -0,0 +1,228 @@
+package org.sayem.appium.browser;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.openqa.selenium.remote.internal.ApacheHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The HTTP client used for all traffic to a Selenium Hub: the WebDriver commands of every
+ * {@link org.sayem.appium.browser.web.RemoteBrowser}, and the Grid API calls of {@link BrowserUtil}.</p>
+ * <p>
+ * <p>One pool of keep-alive connections is shared by all sessions, so running many remote sessions in parallel
+ * reuses connections instead of opening one per command and leaving sockets in TIME_WAIT. Responses compressed
+ * with gzip or deflate are decompressed. The number of connections is capped in total and per route (host and port),
+ * and idle connections are closed after the keep-alive time.</p>
+ * <p>
+ * <p>To configure it, set a new default before building any remote browser:</p>
+ * <pre>
+ * RemoteHttpClientFactory.setDefault(RemoteHttpClientFactory.builder().withMaxPerRoute(80).build());
+ * </pre>
+ */
+public final class RemoteHttpClientFactory implements org.openqa.selenium.remote.http.HttpClient.Factory, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteHttpClientFactory.class);
+    private static volatile RemoteHttpClientFactory defaultFactory;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final String description;
+
+    private RemoteHttpClientFactory(Builder builder) {
+        this.connectionManager = new PoolingHttpClientConnectionManager(builder.keepAliveSeconds, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(builder.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(builder.maxPerRoute);
+        builder.routeLimits.forEach((host, max) -> connectionManager.setMaxPerRoute(new HttpRoute(host), max));
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setTcpNoDelay(true)
+                .setSoKeepAlive(true)
+                .setSoTimeout(builder.socketTimeoutMillis)
+                .build());
+        connectionManager.setValidateAfterInactivity(2000);
+
+        HttpClientBuilder clientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(builder.connectTimeoutMillis)
+                        .setConnectionRequestTimeout(builder.connectTimeoutMillis)
+                        .setSocketTimeout(builder.socketTimeoutMillis)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeUnit.SECONDS.toMillis(builder.keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(builder.keepAliveSeconds, TimeUnit.SECONDS);
+        if (!builder.contentCompression) {
+            clientBuilder.disableContentCompression();
+        }
+        this.httpClient = clientBuilder.build();
+        this.description = Objects.toStringHelper(this)
+                .add("maxTotal", builder.maxTotal)
+                .add("maxPerRoute", builder.maxPerRoute)
+                .add("routeLimits", builder.routeLimits)
+                .add("keepAliveSeconds", builder.keepAliveSeconds)
+                .add("contentCompression", builder.contentCompression)
+                .toString();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return - the factory used by remote browsers and BrowserUtil, created with the defaults of {@link Builder}
+     * on first use.
+     */
+    public static RemoteHttpClientFactory getDefault() {
+        RemoteHttpClientFactory factory = defaultFactory;
+        if (factory == null) {
+            synchronized (RemoteHttpClientFactory.class) {
+                factory = defaultFactory;
+                if (factory == null) {
+                    factory = builder().build();
+                    defaultFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Replace the default factory. Remote browsers created before keep using the previous one, which isn't closed.
+     */
+    public static void setDefault(RemoteHttpClientFactory factory) {
+        defaultFactory = Preconditions.checkNotNull(factory);
+        logger.info("Set the default RemoteHttpClientFactory: {}", factory);
+    }
+
+    /**
+     * A WebDriver HttpClient for the given Selenium server, using the shared connection pool.
+     */
+    @Override
+    public org.openqa.selenium.remote.http.HttpClient createClient(URL url) {
+        return new ApacheHttpClient(httpClient, url);
+    }
+
+    /**
+     * @return - the Apache HttpClient using the shared connection pool, e.g. for calls to the Grid API.
+     * Consume or close the entity of each response, so the connection goes back to the pool.
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return - the number of leased, idle and pending connections, over all routes.
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Close all connections. The factory can't be used afterwards.
+     */
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.debug("Error closing the remote HTTP client", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    public static final class Builder {
+        private int maxTotal = 200;
+        private int maxPerRoute = 50;
+        private final Map<HttpHost, Integer> routeLimits = new ConcurrentHashMap<>();
+        private long keepAliveSeconds = 60;
+        private int connectTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(60);
+        private int socketTimeoutMillis = (int) TimeUnit.HOURS.toMillis(3);
+        private boolean contentCompression = true;
+
+        private Builder() {
+        }
+
+        /**
+         * The max number of open connections over all routes. Default 200.
+         */
+        public Builder withMaxTotal(int maxTotal) {
+            Preconditions.checkArgument(maxTotal > 0, "maxTotal must be positive");
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * The max number of open connections to a single host and port, e.g. a Selenium Hub. Default 50.
+         */
+        public Builder withMaxPerRoute(int maxPerRoute) {
+            Preconditions.checkArgument(maxPerRoute > 0, "maxPerRoute must be positive");
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * The max number of open connections to the given host and port, instead of the default per route.
+         */
+        public Builder withMaxPerRoute(String host, int port, int maxPerRoute) {
+            Preconditions.checkArgument(maxPerRoute > 0, "maxPerRoute must be positive");
+            routeLimits.put(new HttpHost(host, port), maxPerRoute);
+            return this;
+        }
+
+        /**
+         * How long idle connections are kept open. Default 60 seconds.
+         */
+        public Builder withKeepAliveSeconds(long keepAliveSeconds) {
+            Preconditions.checkArgument(keepAliveSeconds > 0, "keepAliveSeconds must be positive");
+            this.keepAliveSeconds = keepAliveSeconds;
+            return this;
+        }
+
+        /**
+         * How long to wait for a connection to open, or to be free in the pool. Default 60 seconds.
+         */
+        public Builder withConnectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * How long to wait for the response to a command. Default 3 hours, like the default WebDriver client,
+         * since some commands (e.g. page loads, async scripts) are bounded by WebDriver timeouts instead.
+         */
+        public Builder withSocketTimeoutMillis(int socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Whether to accept gzip and deflate responses. Default true.
+         */
+        public Builder withContentCompression(boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+        public RemoteHttpClientFactory build() {
+            return new RemoteHttpClientFactory(this);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.sayem.appium.browser;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <p>Saves screenshots in the background, storing each distinct image only once.</p>
+ * <p>
+ * <p>{@link #capture(Browser, Path)} only asks the driver for the screenshot on the calling thread, as the base64
+ * string the driver returns. Decoding, hashing and writing happen on a bounded pool of background threads.
+ * Images are stored in the store directory under their SHA-256 hash, written with a FileChannel; the requested
+ * file is a hard link to the stored image (or a copy, where the file system doesn't support links), so taking the
+ * same screenshot on every step of a test costs one file.</p>
+ * <p>
+ * <p>When the queue of the pool is full, the calling thread does the work itself, which slows the test down
+ * instead of using unbounded memory. Call {@link #close()} at the end of the run to wait for pending screenshots.</p>
+ */
+public final class ScreenshotPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final String EXTENSION = ".png";
+
+    private final Path storeDirectory;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Path>> storedImages = new ConcurrentHashMap<>();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    /**
+     * @param storeDirectory - where the distinct images are stored; created if needed
+     * @param threads        - how many background threads decode and write screenshots
+     * @param queueCapacity  - how many screenshots may wait for a thread before callers do the work themselves
+     */
+    public ScreenshotPipeline(Path storeDirectory, int threads, int queueCapacity) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive");
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+        this.storeDirectory = Preconditions.checkNotNull(storeDirectory);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ScreenshotPipeline-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public ScreenshotPipeline(Path storeDirectory) {
+        this(storeDirectory, 2, 64);
+    }
+
+    /**
+     * Take a screenshot of the browser, and save it to the target file in the background.
+     *
+     * @return - completes with the target file when it's written, or exceptionally if writing it failed.
+     */
+    public CompletableFuture<Path> capture(Browser<?> browser, Path target) {
+        String base64 = browser.getScreenshotDriver().getScreenshotAs(OutputType.BASE64);
+        return submit(() -> Base64.getMimeDecoder().decode(base64), target);
+    }
+
+    /**
+     * Save an image in PNG format that was already captured to the target file in the background.
+     */
+    public CompletableFuture<Path> save(byte[] png, Path target) {
+        return submit(() -> png, target);
+    }
+
+    /**
+     * @return - how many distinct images were stored.
+     */
+    public int getStoredImageCount() {
+        return storedImages.size();
+    }
+
+    /**
+     * @return - how many screenshots were identical to an image already stored.
+     */
+    public long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    public Path getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    /**
+     * Wait for the pending screenshots to be written, and stop the background threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Timed out waiting for {} screenshots to be written", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("storeDirectory", storeDirectory)
+                .add("storedImages", storedImages.size())
+                .add("duplicates", duplicates.get())
+                .add("pending", executor.getQueue().size())
+                .toString();
+    }
+
+    //--------------Private helpers------------
+    private CompletableFuture<Path> submit(Supplier<byte[]> source, Path target) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Path stored = store(source.get());
+                link(stored, target);
+                return target;
+            } catch (IOException e) {
+                logger.error("Error saving screenshot to " + target, e);
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private Path store(byte[] png) throws IOException {
+        String hash = Hashing.sha256().hashBytes(png).toString();
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        CompletableFuture<Path> existing = storedImages.putIfAbsent(hash, written);
+        if (existing != null) {
+            duplicates.incrementAndGet();
+            return existing.join();
+        }
+        try {
+            Files.createDirectories(storeDirectory);
+            Path stored = storeDirectory.resolve(hash + EXTENSION);
+            if (!Files.exists(stored)) {
+                // Write to a temporary file first, so that a stored image is never seen half-written
+                Path temp = Files.createTempFile(storeDirectory, hash, ".tmp");
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(png);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                Files.move(temp, stored, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written.complete(stored);
+            return stored;
+        } catch (IOException | RuntimeException e) {
+            storedImages.remove(hash, written);
+            written.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void link(Path stored, Path target) throws IOException {
+        Path absoluteTarget = target.toAbsolutePath();
+        if (absoluteTarget.equals(stored.toAbsolutePath())) {
+            return;
+        }
+        if (absoluteTarget.getParent() != null) {
+            Files.createDirectories(absoluteTarget.getParent());
+        }
+        Files.deleteIfExists(absoluteTarget);
+        try {
+            Files.createLink(absoluteTarget, stored);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("Could not link {} to {}, copying it instead: {}", target, stored, e.getMessage());
+            Files.copy(stored, absoluteTarget, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package org.sayem.appium.browser.mobile;
 
 import org.sayem.appium.browser.Browser;
+import org.sayem.appium.browser.CachedPage;
 import org.sayem.appium.browser.web.WebBrowserType;
 import org.sayem.appium.config.TimeoutsConfig;
 import org.sayem.appium.exception.IWebDriverException;
+import org.sayem.appium.metrics.MetricsRegistry;
 import org.sayem.appium.pages.BaseTopLevelPage;
 import org.sayem.appium.pages.TopLevelPage;
 import io.appium.java_client.AppiumDriver;
@@ -14,7 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 
 
 /**
@@ -23,7 +25,7 @@ import java.util.concurrent.TimeUnit;
  * Supports pages
  */
 public abstract class MobileBrowser extends Browser<AppiumDriver> {
-    private static Logger logger = LoggerFactory.getLogger(MobileBrowser.class);
+    private static final Logger logger = LoggerFactory.getLogger(MobileBrowser.class);
 
     protected String browserName;
     protected String platform;
@@ -61,8 +63,10 @@ public abstract class MobileBrowser extends Browser<AppiumDriver> {
     }
 
     public void initializeBrowser() throws IWebDriverException {
+        long start = System.nanoTime();
         this.webDriver = createWebDriver();
-        this.webDriver.manage().timeouts().implicitlyWait(getImplicitWaitTimeoutMillis(), TimeUnit.MILLISECONDS);
+        applyImplicitWait();
+        MetricsRegistry.getDefault().record("initializeBrowser", null, getBrowserType(), start, false);
     }
 
     public int getScreenWidth() {
@@ -90,6 +94,8 @@ public abstract class MobileBrowser extends Browser<AppiumDriver> {
         runLeavePageHook();
         BaseTopLevelPage currentPage = PAGE_UTILS.loadCurrentPage(BaseTopLevelPage.class, webDriver, this.getActions());
         currentPage.refreshPage();
+        elementLookupCache.invalidate();
+        Optional<CachedPage> optionalCachedPage = getOptionalCachedPage();
         if (optionalCachedPage.isPresent()) {
             TopLevelPage cachedPage = optionalCachedPage.get().getCachedPage();
             cachedPage.refreshElements();
@@ -107,6 +113,7 @@ public abstract class MobileBrowser extends Browser<AppiumDriver> {
         invalidateCachedPage();
         T page = loadTopLevelPage(pageClass);
         page.refreshPage();
+        elementLookupCache.invalidate();
         page = loadTopLevelPage(pageClass);
         setCachedPage(page);
         return page;
@@ -0,0 +1,346 @@
+package org.sayem.appium.browser.web;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+/**
+ * <p>Drains the logs of a {@link WebBrowser} (by default the BROWSER and DRIVER logs) into a fixed-size ring buffer, so that they can be queried or dumped when a test fails, while memory stays flat over a long
+ * session: once the buffer is full, the oldest entries are dropped. Entries below the minimum level aren't kept.</p>
+ * <p>
+ * <p>Example:</p>
+ * <pre>
+ * BrowserLogTailer tailer = BrowserLogTailer.builder(browser).withCapacity(2000).withMinLevel(Level.WARNING).start();
+ * ...
+ * List&lt;BrowserLogTailer.Entry&gt; errors = tailer.query(LogType.BROWSER, Level.SEVERE);
+ * </pre>
+ * <p>
+ * The tailer is stopped when the browser quits. {@link org.sayem.appium.testng.ParallelBrowserListener} dumps the
+ * tailed entries of a failed test to the log, and
+ * {@link org.sayem.appium.browser.BrowserPool} clears them when the browser is returned to the pool.
+ * <p>
+ * Fetching logs is a command to the driver, and a Browser's WebDriver is only used by one thread at a time, so logs
+ * are drained on the thread using the browser: when it loads a new document and after each test run by the
+ * ParallelBrowserListener, at most once per interval (see {@link #drainIfDue()}), and whenever {@link #drain()} is
+ * called. Fetching logs consumes them, so while a tailer is
+ * installed, {@link WebBrowser#getBrowserLogEntries()} reads the entries from the tailer instead of the driver.
+ */
+public final class BrowserLogTailer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserLogTailer.class);
+
+    private final WebBrowser browser;
+    private final Set<String> logTypes;
+    private final int minLevel;
+    private final long intervalNanos;
+    private final Entry[] buffer;
+    private int next = 0;
+    private int size = 0;
+    private long dropped = 0;
+    // How many entries were ever added; the sequence number of the next one
+    private long added = 0;
+    // The sequence number of the next entry takeNew returns, per log type
+    private final Map<String, Long> taken = Maps.newHashMap();
+    private volatile boolean closed = false;
+    private volatile long lastDrainNanos = System.nanoTime();
+    private final Object drainLock = new Object();
+
+    private BrowserLogTailer(Builder builder) {
+        this.browser = builder.browser;
+        this.logTypes = ImmutableSet.copyOf(builder.logTypes);
+        this.minLevel = builder.minLevel.intValue();
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.intervalMillis);
+        this.buffer = new Entry[builder.capacity];
+    }
+
+    public static Builder builder(WebBrowser browser) {
+        return new Builder(Preconditions.checkNotNull(browser, "You must provide a non-null WebBrowser!"));
+    }
+
+    /**
+     * Fetch the new entries of each log type from the driver into the buffer. Log types the driver doesn't support
+     * are skipped.
+     */
+    public void drain() {
+        if (closed) {
+            return;
+        }
+        // Fetching logs consumes them, so drains are serialized to keep the entries in order
+        synchronized (drainLock) {
+            lastDrainNanos = System.nanoTime();
+            for (String logType : logTypes) {
+                LogEntries entries = browser.fetchLogEntries(logType);
+                if (entries != null) {
+                    for (LogEntry entry : entries) {
+                        if (entry.getLevel().intValue() >= minLevel) {
+                            add(new Entry(logType, entry));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Drain the logs if the interval passed since the last drain. Errors are logged, not thrown, so that tailing the
+     * logs never fails a test. Called by the browser when it loads a new document.
+     */
+    public void drainIfDue() {
+        if (intervalNanos > 0 && System.nanoTime() - lastDrainNanos >= intervalNanos) {
+            drainQuietly();
+        }
+    }
+
+    /**
+     * @return - whether this tailer drains the given log type.
+     */
+    public boolean isTailing(String logType) {
+        return logTypes.contains(logType);
+    }
+
+    /**
+     * Drain the logs, and return the entries of the given log type that are in the buffer and weren't returned by
+     * a previous call, oldest first. Entries dropped from the buffer before that are lost.
+     */
+    public LogEntries takeNew(String logType) {
+        drainQuietly();
+        List<LogEntry> entries = Lists.newArrayList();
+        synchronized (this) {
+            long from = Math.max(taken.getOrDefault(logType, 0L), added - size);
+            for (long sequence = from; sequence < added; sequence++) {
+                Entry entry = buffer[(int) (sequence % buffer.length)];
+                if (entry.getLogType().equals(logType)) {
+                    entries.add(entry.entry);
+                }
+            }
+            taken.put(logType, added);
+        }
+        return new LogEntries(entries);
+    }
+
+    /**
+     * @return - the entries in the buffer, oldest first.
+     */
+    public List<Entry> getEntries() {
+        return query(entry -> true);
+    }
+
+    /**
+     * @return - the entries of the given log type at or above the given level, oldest first.
+     */
+    public List<Entry> query(String logType, Level minLevel) {
+        return query(entry -> entry.getLogType().equals(logType) && entry.getLevel().intValue() >= minLevel.intValue());
+    }
+
+    /**
+     * @return - the entries logged at or after the given time, oldest first.
+     */
+    public List<Entry> getEntriesSince(long timestampMillis) {
+        return query(entry -> entry.getTimestamp() >= timestampMillis);
+    }
+
+    /**
+     * @return - the entries matching the predicate, oldest first.
+     */
+    public synchronized List<Entry> query(Predicate<Entry> predicate) {
+        List<Entry> entries = Lists.newArrayListWithCapacity(size);
+        int start = (next - size + buffer.length) % buffer.length;
+        for (int i = 0; i < size; i++) {
+            Entry entry = buffer[(start + i) % buffer.length];
+            if (predicate.test(entry)) {
+                entries.add(entry);
+            }
+        }
+        return ImmutableList.copyOf(entries);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return - how many entries were dropped because the buffer was full.
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = null;
+        }
+        next = 0;
+        size = 0;
+        dropped = 0;
+        added = 0;
+        taken.clear();
+    }
+
+    /**
+     * Drain the latest entries, and log everything in the buffer at INFO level.
+     *
+     * @param title - what the entries are dumped for, e.g. the name of the failed test
+     */
+    public void dump(String title) {
+        drainQuietly();
+        List<Entry> entries = getEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder dump = new StringBuilder();
+        for (Entry entry : entries) {
+            dump.append(System.lineSeparator()).append(entry);
+        }
+        long droppedCount = getDroppedCount();
+        if (droppedCount > 0) {
+            dump.append(System.lineSeparator()).append("(").append(droppedCount).append(" older entries were dropped)");
+        }
+        logger.info("Browser logs for {}:{}", title, dump);
+    }
+
+    /**
+     * Stop draining logs. The entries in the buffer can still be queried.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("browser", browser.getBrowserType())
+                .add("logTypes", logTypes)
+                .add("capacity", buffer.length)
+                .add("size", size())
+                .add("dropped", getDroppedCount())
+                .toString();
+    }
+
+    //--------------Private helpers------------
+    private synchronized void add(Entry entry) {
+        buffer[next] = entry;
+        next = (next + 1) % buffer.length;
+        added++;
+        if (size < buffer.length) {
+            size++;
+        } else {
+            dropped++;
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            // The session may be gone, e.g. if the browser quit without stopping the tailer
+            logger.debug("Error draining browser logs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A log entry, and the type of log it came from.
+     */
+    public static final class Entry {
+        private final String logType;
+        private final LogEntry entry;
+
+        private Entry(String logType, LogEntry entry) {
+            this.logType = logType;
+            this.entry = entry;
+        }
+
+        public String getLogType() {
+            return logType;
+        }
+
+        public Level getLevel() {
+            return entry.getLevel();
+        }
+
+        public long getTimestamp() {
+            return entry.getTimestamp();
+        }
+
+        public String getMessage() {
+            return entry.getMessage();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%tT.%<tL %s %s] %s", new Date(getTimestamp()), logType, getLevel(), getMessage());
+        }
+    }
+
+    public static final class Builder {
+        private final WebBrowser browser;
+        private Set<String> logTypes = ImmutableSet.of(LogType.BROWSER, LogType.DRIVER);
+        private int capacity = 1000;
+        private long intervalMillis = 2000;
+        private Level minLevel = Level.ALL;
+
+        private Builder(WebBrowser browser) {
+            this.browser = browser;
+        }
+
+        /**
+         * The log types to drain, from {@link LogType}. Default BROWSER and DRIVER.
+         */
+        public Builder withLogTypes(String... logTypes) {
+            this.logTypes = ImmutableSet.copyOf(logTypes);
+            return this;
+        }
+
+        /**
+         * How many entries the ring buffer holds. Default 1000.
+         */
+        public Builder withCapacity(int capacity) {
+            Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * The least time between the drains made when the browser loads a new document or a test ends; 0 to only
+         * drain the logs with {@link #drain()}, when they're read, or when the entries of a failed test are dumped.
+         * Default 2 seconds.
+         */
+        public Builder withIntervalMillis(long intervalMillis) {
+            Preconditions.checkArgument(intervalMillis >= 0, "The interval can't be negative");
+            this.intervalMillis = intervalMillis;
+            return this;
+        }
+
+        /**
+         * Entries below this level are not kept. Default ALL.
+         */
+        public Builder withMinLevel(Level minLevel) {
+            this.minLevel = Preconditions.checkNotNull(minLevel);
+            return this;
+        }
+
+        /**
+         * Start tailing the browser's logs. A tailer previously started for the browser is stopped.
+         */
+        public BrowserLogTailer start() {
+            BrowserLogTailer tailer = new BrowserLogTailer(this);
+            browser.setLogTailer(tailer);
+            return tailer;
+        }
+    }
+}
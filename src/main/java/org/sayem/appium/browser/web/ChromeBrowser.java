@@ -6,8 +6,6 @@ import org.sayem.appium.config.TimeoutsConfig;
 import org.sayem.appium.exception.IWebDriverException;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.logging.LoggingPreferences;
@@ -17,15 +15,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.File;
-import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Level;
 
 public class ChromeBrowser extends WebBrowser {
     private static final Logger logger = LoggerFactory.getLogger(ChromeBrowser.class);
+    private volatile ChromeDriverServiceManager.Session session;
 
     public ChromeBrowser(String baseTestUrl,
                          TimeoutsConfig timeouts,
@@ -96,31 +92,29 @@ public class ChromeBrowser extends WebBrowser {
         return new ChromeSeleniumActions(this);
     }
 
+    /**
+     * Open a session on a chromedriver service pooled by the default {@link ChromeDriverServiceManager}.
+     */
     @Override
     protected WebDriver createWebDriver() throws IWebDriverException {
-        Optional<String> driverPath = getWebDriverPath();
-        Optional<String> browserLogFile = getBrowserLogFile();
-
-        ChromeDriverService.Builder builder = new ChromeDriverService.Builder()
-                .usingAnyFreePort();
-
-        if (driverPath.isPresent() && !driverPath.get().isEmpty()) {
-            File chromedriverFile = new File(driverPath.get());
-            builder.usingDriverExecutable(chromedriverFile);
-        }
-
-        if (browserLogFile.isPresent() && !browserLogFile.get().isEmpty()) {
-            builder.withLogFile(new File(browserLogFile.get()));
-        }
-
-        ChromeDriverService service = builder.build();
+        session = ChromeDriverServiceManager.getDefault()
+                .openSession(getWebDriverPath(), getBrowserLogFile(), getDesiredCapabilities());
+        return session.getDriver();
+    }
 
+    /**
+     * Quit the browser, and give its slot on the chromedriver service back to the pool.
+     */
+    @Override
+    public void quit() {
         try {
-            service.start();
-        } catch (IOException e) {
-            throw new IWebDriverException("Error starting Chrome driver service", e);
+            super.quit();
+        } finally {
+            ChromeDriverServiceManager.Session session = this.session;
+            if (session != null) {
+                session.close();
+            }
         }
-        return new ChromeDriver(service, getDesiredCapabilities());
     }
 
     @Nullable
@@ -129,13 +123,10 @@ public class ChromeBrowser extends WebBrowser {
             logger.info("WebDriver was null in ChromeBrowser#getBrowserLogEntries! Returning null.");
             return null;
         }
-        logger.debug("Getting available log types...");
-        Set<String> availableLogTypes = webDriver.manage().logs().getAvailableLogTypes();
-        logger.debug("Found log types: {}", availableLogTypes);
-        if (availableLogTypes == null || !availableLogTypes.contains(LogType.BROWSER)) {
+        LogEntries logs = getLogEntries(LogType.BROWSER);
+        if (logs == null) {
             return null;
         }
-        LogEntries logs = webDriver.manage().logs().get(LogType.BROWSER);
         logger.info("Success - obtained Browser logs for a local ChromeBrowser!");
         return logs;
     }
@@ -0,0 +1,486 @@
+package org.sayem.appium.browser.web;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.sayem.appium.browser.RemoteHttpClientFactory;
+import org.sayem.appium.exception.IWebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+
+/**
+ * <p>Keeps a small pool of running chromedriver processes, and opens the sessions of {@link ChromeBrowser}s on them,
+ * instead of starting a chromedriver process per browser and never stopping it.</p>
+ * <p>
+ * <p>A session goes to the running service with the fewest sessions, if it has fewer than the max sessions per service;
+ * otherwise a new service is started, up to the max number of services; beyond that, sessions share the least
+ * loaded service. A service is started outside of the manager's lock, so sessions opened in parallel don't wait for
+ * each other's cold start, only for the start of the service they're given. Services are health-checked before
+ * getting a new session. Sessions talk to their service through the shared {@link RemoteHttpClientFactory}
+ * connection pool, and quitting a session leaves its service running.</p>
+ * <p>
+ * <p>A reaper runs periodically: it forgets sessions that were quit, quits sessions older than the max session age
+ * (if set), and stops services that are dead or have been idle for longer than the max idle time.
+ * At JVM exit, every open session is quit, closing its browser, and every service is stopped.</p>
+ */
+public final class ChromeDriverServiceManager {
+    private static final Logger logger = LoggerFactory.getLogger(ChromeDriverServiceManager.class);
+    private static volatile ChromeDriverServiceManager defaultManager;
+
+    private final int maxServices;
+    private final int maxSessionsPerService;
+    private final long maxIdleMillis;
+    private final long maxSessionAgeMillis;
+    private final List<PooledService> services = Lists.newArrayList(); // Guarded by this
+    private final ScheduledExecutorService reaper;
+    private final Thread shutdownHook;
+    private boolean shutDown = false; // Guarded by this
+
+    private ChromeDriverServiceManager(Builder builder) {
+        this.maxServices = builder.maxServices;
+        this.maxSessionsPerService = builder.maxSessionsPerService;
+        this.maxIdleMillis = TimeUnit.SECONDS.toMillis(builder.maxIdleSeconds);
+        this.maxSessionAgeMillis = TimeUnit.MINUTES.toMillis(builder.maxSessionAgeMinutes);
+        this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChromeDriverServiceManager-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(this::reap, builder.reapIntervalSeconds, builder.reapIntervalSeconds, TimeUnit.SECONDS);
+        this.shutdownHook = new Thread(this::shutdownNow, "ChromeDriverServiceManager-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return - the manager used by ChromeBrowser, created with the defaults of {@link Builder} on first use.
+     */
+    public static ChromeDriverServiceManager getDefault() {
+        ChromeDriverServiceManager manager = defaultManager;
+        if (manager == null) {
+            synchronized (ChromeDriverServiceManager.class) {
+                manager = defaultManager;
+                if (manager == null) {
+                    manager = builder().build();
+                    defaultManager = manager;
+                }
+            }
+        }
+        return manager;
+    }
+
+    /**
+     * Replace the default manager. Sessions opened by the previous one stay on its services until they're quit.
+     */
+    public static void setDefault(ChromeDriverServiceManager manager) {
+        defaultManager = Preconditions.checkNotNull(manager);
+    }
+
+    /**
+     * Open a new Chrome session on a pooled chromedriver service.
+     *
+     * @param driverPath   - the chromedriver executable, or empty to find it on the PATH
+     * @param logFile      - the log file of the chromedriver service, or empty for none
+     * @param capabilities - the desired capabilities of the session
+     * @throws IWebDriverException if no service could be started, or the session couldn't be created.
+     */
+    public Session openSession(Optional<String> driverPath, Optional<String> logFile, Capabilities capabilities)
+            throws IWebDriverException {
+        ServiceConfig config = new ServiceConfig(driverPath.filter(path -> !path.isEmpty()),
+                logFile.filter(path -> !path.isEmpty()));
+        List<PooledService> evicted = Lists.newArrayList();
+        PooledService service = acquireService(config, evicted);
+        evicted.forEach(ChromeDriverServiceManager::stopQuietly);
+        awaitStarted(service);
+        try {
+            HttpCommandExecutor executor = new HttpCommandExecutor(ImmutableMap.<String, CommandInfo>of(),
+                    service.service.getUrl(), RemoteHttpClientFactory.getDefault());
+            return new Session(service, new RemoteWebDriver(executor, capabilities));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                service.pending--;
+            }
+            throw new IWebDriverException("Error creating a Chrome session on " + service.service.getUrl(), e);
+        }
+    }
+
+    public synchronized int getServiceCount() {
+        return services.size();
+    }
+
+    public synchronized int getSessionCount() {
+        int count = 0;
+        for (PooledService service : services) {
+            count += service.getLoad();
+        }
+        return count;
+    }
+
+    /**
+     * Quit every open session and stop every service. Sessions can't be opened afterwards.
+     */
+    public void shutdown() {
+        shutdownNow();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return Objects.toStringHelper(this)
+                .add("services", services.size())
+                .add("maxServices", maxServices)
+                .add("maxSessionsPerService", maxSessionsPerService)
+                .toString();
+    }
+
+    //--------------Private helpers------------
+    /**
+     * Reserve a slot for a session on a service with the given config, adding a service that isn't started yet if
+     * needed. Services that must be stopped to make room are added to evicted, to be stopped outside of the lock.
+     *
+     * @throws IWebDriverException if maxServices are running with other configs, and none of them is idle.
+     */
+    private synchronized PooledService acquireService(ServiceConfig config, List<PooledService> evicted)
+            throws IWebDriverException {
+        Preconditions.checkState(!shutDown, "The ChromeDriverServiceManager was shut down");
+        PooledService leastLoaded = null;
+        PooledService idleOther = null;
+        for (Iterator<PooledService> it = services.iterator(); it.hasNext(); ) {
+            PooledService service = it.next();
+            if (service.isDead()) {
+                logger.warn("chromedriver at {} isn't running anymore, removing it from the pool", service.service.getUrl());
+                it.remove();
+                evicted.add(service);
+                continue;
+            }
+            if (!service.config.equals(config)) {
+                if (service.getLoad() == 0 && (idleOther == null || service.lastUsedMillis < idleOther.lastUsedMillis)) {
+                    idleOther = service;
+                }
+                continue;
+            }
+            if (leastLoaded == null || service.getLoad() < leastLoaded.getLoad()) {
+                leastLoaded = service;
+            }
+        }
+        if (leastLoaded == null || (leastLoaded.getLoad() >= maxSessionsPerService && services.size() < maxServices)) {
+            if (services.size() >= maxServices) {
+                if (idleOther == null) {
+                    throw new IWebDriverException(format("All %d chromedriver services have sessions with another driver path " +
+                            "or log file, can't start one for %s", maxServices, config));
+                }
+                logger.info("Stopping idle chromedriver at {} to make room for another configuration", idleOther.service.getUrl());
+                services.remove(idleOther);
+                evicted.add(idleOther);
+            }
+            leastLoaded = new PooledService(config, buildService(config));
+            services.add(leastLoaded);
+        }
+        leastLoaded.pending++;
+        leastLoaded.lastUsedMillis = System.currentTimeMillis();
+        return leastLoaded;
+    }
+
+    private static ChromeDriverService buildService(ServiceConfig config) {
+        ChromeDriverService.Builder builder = new ChromeDriverService.Builder().usingAnyFreePort();
+        if (config.driverPath.isPresent()) {
+            builder.usingDriverExecutable(new File(config.driverPath.get()));
+        }
+        if (config.logFile.isPresent()) {
+            builder.withLogFile(new File(config.logFile.get()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Start the service if no other thread has, then wait until it's running. If it fails to start, the slot
+     * reserved by {@link #acquireService} is given back and the service is removed from the pool.
+     */
+    private void awaitStarted(PooledService service) throws IWebDriverException {
+        if (service.startClaimed.compareAndSet(false, true)) {
+            try {
+                service.service.start();
+                logger.info("Started chromedriver at {}", service.service.getUrl());
+                if (!isPooled(service)) {
+                    // The manager was shut down while the service was starting
+                    stopQuietly(service);
+                    throw new IllegalStateException("The ChromeDriverServiceManager was shut down");
+                }
+                service.started.complete(null);
+            } catch (IOException | RuntimeException e) {
+                service.started.completeExceptionally(e);
+            }
+        }
+        try {
+            service.started.get();
+        } catch (InterruptedException e) {
+            // The service keeps starting for the other sessions waiting on it, only this slot is given back
+            synchronized (this) {
+                service.pending--;
+            }
+            Thread.currentThread().interrupt();
+            throw new IWebDriverException("Interrupted while waiting for the Chrome driver service to start", e);
+        } catch (ExecutionException e) {
+            releaseUnstarted(service);
+            throw new IWebDriverException("Error starting Chrome driver service", (Exception) e.getCause());
+        }
+    }
+
+    private synchronized boolean isPooled(PooledService service) {
+        return services.contains(service);
+    }
+
+    private synchronized void releaseUnstarted(PooledService service) {
+        service.pending--;
+        services.remove(service);
+    }
+
+    private synchronized void sessionOpened(PooledService service, Session session) {
+        service.pending--;
+        service.sessions.add(session);
+    }
+
+    private synchronized void sessionClosed(Session session) {
+        session.service.sessions.remove(session);
+        session.service.lastUsedMillis = System.currentTimeMillis();
+    }
+
+    private void reap() {
+        List<Session> expired = Lists.newArrayList();
+        List<PooledService> stopped = Lists.newArrayList();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (Iterator<PooledService> it = services.iterator(); it.hasNext(); ) {
+                PooledService service = it.next();
+                // Forget the sessions quit directly through their WebDriver
+                service.sessions.removeIf(session -> session.driver.getSessionId() == null);
+                for (Session session : service.sessions) {
+                    if (maxSessionAgeMillis > 0 && now - session.openedMillis > maxSessionAgeMillis) {
+                        expired.add(session);
+                    }
+                }
+                boolean idle = service.getLoad() == 0 && now - service.lastUsedMillis > maxIdleMillis;
+                if (idle || service.isDead()) {
+                    it.remove();
+                    stopped.add(service);
+                }
+            }
+        }
+        for (Session session : expired) {
+            logger.warn("Quitting Chrome session {}, open for more than {} ms", session.driver.getSessionId(), maxSessionAgeMillis);
+            session.close();
+        }
+        for (PooledService service : stopped) {
+            for (Session session : Lists.newArrayList(service.sessions)) {
+                session.close();
+            }
+            stopQuietly(service);
+        }
+    }
+
+    private void shutdownNow() {
+        List<PooledService> toStop;
+        synchronized (this) {
+            if (shutDown) {
+                return;
+            }
+            shutDown = true;
+            toStop = Lists.newArrayList(services);
+            services.clear();
+        }
+        reaper.shutdownNow();
+        for (PooledService service : toStop) {
+            for (Session session : Lists.newArrayList(service.sessions)) {
+                session.close();
+            }
+            stopQuietly(service);
+        }
+    }
+
+    private static void stopQuietly(PooledService service) {
+        try {
+            service.service.stop();
+            logger.info("Stopped chromedriver at {}", service.service.getUrl());
+        } catch (Exception e) {
+            logger.debug("Error stopping chromedriver", e);
+        }
+    }
+
+    /**
+     * A Chrome session on a pooled service. Closing it quits the browser if it's still open, and returns the
+     * session's slot to the service.
+     */
+    public final class Session implements AutoCloseable {
+        private final PooledService service;
+        private final RemoteWebDriver driver;
+        private final long openedMillis = System.currentTimeMillis();
+
+        private Session(PooledService service, RemoteWebDriver driver) {
+            this.service = service;
+            this.driver = driver;
+            sessionOpened(service, this);
+        }
+
+        public RemoteWebDriver getDriver() {
+            return driver;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (driver.getSessionId() != null) {
+                    driver.quit();
+                }
+            } catch (Exception e) {
+                logger.debug("Error quitting a Chrome session", e);
+            } finally {
+                sessionClosed(this);
+            }
+        }
+    }
+
+    private static final class PooledService {
+        private final ServiceConfig config;
+        private final ChromeDriverService service;
+        private final List<Session> sessions = Lists.newArrayList();
+        // Started by the first session that needs it, outside of the manager's lock
+        private final AtomicBoolean startClaimed = new AtomicBoolean(false);
+        private final CompletableFuture<Void> started = new CompletableFuture<>();
+        private int pending = 0;
+        private long lastUsedMillis = System.currentTimeMillis();
+
+        private PooledService(ServiceConfig config, ChromeDriverService service) {
+            this.config = config;
+            this.service = service;
+        }
+
+        private int getLoad() {
+            return sessions.size() + pending;
+        }
+
+        private boolean isDead() {
+            return started.isDone() && !service.isRunning();
+        }
+    }
+
+    private static final class ServiceConfig {
+        private final Optional<String> driverPath;
+        private final Optional<String> logFile;
+
+        private ServiceConfig(Optional<String> driverPath, Optional<String> logFile) {
+            this.driverPath = driverPath;
+            this.logFile = logFile;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ServiceConfig)) {
+                return false;
+            }
+            ServiceConfig other = (ServiceConfig) o;
+            return driverPath.equals(other.driverPath) && logFile.equals(other.logFile);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(driverPath, logFile);
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this)
+                    .add("driverPath", driverPath)
+                    .add("logFile", logFile)
+                    .toString();
+        }
+    }
+
+    public static final class Builder {
+        private int maxServices = 2;
+        private int maxSessionsPerService = 8;
+        private long maxIdleSeconds = 300;
+        private long maxSessionAgeMinutes = 0;
+        private long reapIntervalSeconds = 30;
+
+        private Builder() {
+        }
+
+        /**
+         * How many chromedriver processes to run at most. Default 2. Services run with one driver path and log file;
+         * when all of them have sessions with other ones, opening a session with a new driver path or log file fails.
+         */
+        public Builder withMaxServices(int maxServices) {
+            Preconditions.checkArgument(maxServices > 0, "maxServices must be positive");
+            this.maxServices = maxServices;
+            return this;
+        }
+
+        /**
+         * How many sessions a service gets before another service is started. Default 8.
+         */
+        public Builder withMaxSessionsPerService(int maxSessionsPerService) {
+            Preconditions.checkArgument(maxSessionsPerService > 0, "maxSessionsPerService must be positive");
+            this.maxSessionsPerService = maxSessionsPerService;
+            return this;
+        }
+
+        /**
+         * How long a service without sessions keeps running. Default 5 minutes.
+         */
+        public Builder withMaxIdleSeconds(long maxIdleSeconds) {
+            Preconditions.checkArgument(maxIdleSeconds >= 0, "maxIdleSeconds can't be negative");
+            this.maxIdleSeconds = maxIdleSeconds;
+            return this;
+        }
+
+        /**
+         * How long a session may stay open before the reaper quits it, e.g. because a test hung or leaked its browser;
+         * 0 for no limit. Default 0.
+         */
+        public Builder withMaxSessionAgeMinutes(long maxSessionAgeMinutes) {
+            Preconditions.checkArgument(maxSessionAgeMinutes >= 0, "maxSessionAgeMinutes can't be negative");
+            this.maxSessionAgeMinutes = maxSessionAgeMinutes;
+            return this;
+        }
+
+        /**
+         * How often the reaper runs. Default 30 seconds.
+         */
+        public Builder withReapIntervalSeconds(long reapIntervalSeconds) {
+            Preconditions.checkArgument(reapIntervalSeconds > 0, "reapIntervalSeconds must be positive");
+            this.reapIntervalSeconds = reapIntervalSeconds;
+            return this;
+        }
+
+        public ChromeDriverServiceManager build() {
+            return new ChromeDriverServiceManager(this);
+        }
+    }
+}
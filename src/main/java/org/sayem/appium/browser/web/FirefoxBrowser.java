@@ -17,7 +17,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Optional;
-import java.util.Set;
 
 public class FirefoxBrowser extends WebBrowser {
 
@@ -83,13 +82,10 @@ public class FirefoxBrowser extends WebBrowser {
             logger.info("WebDriver was null in FirefoxBrowser#getBrowserLogEntries! Returning null.");
             return null;
         }
-        logger.debug("Getting available log types...");
-        Set<String> availableLogTypes = webDriver.manage().logs().getAvailableLogTypes();
-        logger.debug("Found log types: {}", availableLogTypes);
-        if (availableLogTypes == null || !availableLogTypes.contains(LogType.BROWSER)) {
+        LogEntries logs = getLogEntries(LogType.BROWSER);
+        if (logs == null) {
             return null;
         }
-        LogEntries logs = webDriver.manage().logs().get(LogType.BROWSER);
         logger.info("Success - obtained Browser logs for a local FirefoxBrowser!");
         return logs;
     }
@@ -1,26 +1,23 @@
 package org.sayem.appium.browser.web;
 
+import com.google.common.collect.ImmutableMap;
 import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.RemoteHttpClientFactory;
 import org.sayem.appium.exception.IWebDriverException;
-import org.apache.commons.io.FileUtils;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogType;
-import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.CommandInfo;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.LocalFileDetector;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.File;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.Set;
 import java.util.logging.Level;
 
 /**
@@ -62,7 +59,10 @@ public class RemoteBrowser extends WebBrowser {
     @Override
     protected WebDriver createWebDriver() throws IWebDriverException {
         try {
-            RemoteWebDriver driver = new RemoteWebDriver(new URL(seleniumHubURL), delegate.getDesiredCapabilities());
+            // Commands go through the shared pool of keep-alive connections
+            HttpCommandExecutor executor = new HttpCommandExecutor(ImmutableMap.<String, CommandInfo>of(),
+                    new URL(seleniumHubURL), RemoteHttpClientFactory.getDefault());
+            RemoteWebDriver driver = new RemoteWebDriver(executor, delegate.getDesiredCapabilities());
             Level level = getLogLevel();
             driver.setLogLevel(level);
             driver.setFileDetector(new LocalFileDetector()); // Allow to upload local files to remote webdriver
@@ -75,6 +75,7 @@ public class RemoteBrowser extends WebBrowser {
 
     @Override
     public SeleniumActions getActions() {
+        // The delegate creates a new Actions instance on every call, so re-binding it doesn't affect other callers
         SeleniumActions actions = delegate.getActions();
         actions.setBrowser(this);  //We are running remotely, so the Actions should use the RemoteBrowser and RemoteWebDriver
         return actions;
@@ -98,18 +99,14 @@ public class RemoteBrowser extends WebBrowser {
                 logger.info("The web driver was null in getBrowserLogEntries. Returning null.");
                 return null;
             }
-            logger.debug("Getting the available log types from remote Selenium node...");
-            Set<String> availableLogTypes = webDriver.manage().logs().getAvailableLogTypes();
-
-            logger.debug("Found available log types: {}", String.valueOf(availableLogTypes));
-
-            if (availableLogTypes == null || !availableLogTypes.contains(LogType.BROWSER)) {
+            // The available log types are only fetched from the remote Selenium node once per session
+            if (!getAvailableLogTypes().contains(LogType.BROWSER)) {
                 logger.info("{} log type not allowed. Returning null.", LogType.BROWSER);
                 return null;
             }
             logger.debug("Fetching logs from remote server...");
 
-            LogEntries logs = webDriver.manage().logs().get(LogType.BROWSER);
+            LogEntries logs = getLogEntries(LogType.BROWSER);
 
             logger.info("Success getting remote logs!");
 
@@ -120,25 +117,4 @@ public class RemoteBrowser extends WebBrowser {
             return null;
         }
     }
-
-    /**
-     * Save a screenshot in PNG format to given file name.
-     *
-     * @param filename
-     * @return - a File representing the saved screenshot.
-     */
-    @Override
-    public File saveScreenshotToFile(String filename) {
-        TakesScreenshot screenshotDriver;
-        screenshotDriver = (TakesScreenshot) new Augmenter().augment(getWebDriver());
-        File scrFile = screenshotDriver.getScreenshotAs(OutputType.FILE);
-        // Now you can do whatever you need to do with it, for example copy somewhere
-        File outFile = new File(filename);
-        try {
-            FileUtils.copyFile(scrFile, outFile);
-        } catch (IOException e) {
-            logger.error("Error saving screenshot!", e);
-        }
-        return outFile;
-    }
 }
@@ -17,7 +17,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Level;
 
 public class SafariBrowser extends WebBrowser {
@@ -86,13 +85,10 @@ public class SafariBrowser extends WebBrowser {
             logger.info("WebDriver was null in ChromeBrowser#getBrowserLogEntries! Returning null.");
             return null;
         }
-        logger.debug("Getting available log types...");
-        Set<String> availableLogTypes = webDriver.manage().logs().getAvailableLogTypes();
-        logger.debug("Found log types: {}", availableLogTypes);
-        if (availableLogTypes == null || !availableLogTypes.contains(LogType.BROWSER)) {
+        LogEntries logs = getLogEntries(LogType.BROWSER);
+        if (logs == null) {
             return null;
         }
-        LogEntries logs = webDriver.manage().logs().get(LogType.BROWSER);
         logger.info("Success - obtained Browser logs for a local ChromeBrowser!");
         return logs;
     }
@@ -1,8 +1,11 @@
 package org.sayem.appium.browser.web;
 
+import com.google.common.collect.ImmutableSet;
 import org.sayem.appium.browser.Browser;
+import org.sayem.appium.browser.CachedPage;
 import org.sayem.appium.config.TimeoutsConfig;
 import org.sayem.appium.exception.IWebDriverException;
+import org.sayem.appium.metrics.MetricsRegistry;
 import org.sayem.appium.pages.BaseTopLevelPage;
 import org.sayem.appium.pages.TopLevelPage;
 import org.sayem.appium.webservice.EndpointBuilder;
@@ -19,7 +22,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.net.URI;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
@@ -40,6 +45,8 @@ public abstract class WebBrowser extends Browser<WebDriver> {
     private final Optional<Level> browserLogLevel;
     private final Optional<String> browserLogFile;
     private final Optional<Platform> platform;
+    private volatile Set<String> availableLogTypes;
+    private volatile BrowserLogTailer logTailer;
 
     public WebBrowser(String baseTestUrl,
                       TimeoutsConfig timeouts,
@@ -87,15 +94,18 @@ public abstract class WebBrowser extends Browser<WebDriver> {
      * @throws IWebDriverException
      */
     public void initializeBrowser() throws IWebDriverException {
+        long start = System.nanoTime();
         this.webDriver = createWebDriver();
+        this.availableLogTypes = null;
         if (startWindowWidth.isPresent() && startWindowHeight.isPresent()) {
             this.webDriver.manage().window().setSize(new Dimension(startWindowWidth.get(), startWindowHeight.get()));
         }
         // Safari web driver doesn't support setting timeouts.
         if (getBrowserType() != WebBrowserType.SAFARI) {
             this.webDriver.manage().timeouts().pageLoadTimeout(getPageTimeoutSeconds(), TimeUnit.SECONDS);
-            this.webDriver.manage().timeouts().implicitlyWait(getImplicitWaitTimeoutMillis(), TimeUnit.MILLISECONDS);
+            applyImplicitWait();
         }
+        MetricsRegistry.getDefault().record("initializeBrowser", null, getBrowserType(), start, false);
         logger.info("SUCCESS - Created WebBrowser of type {}: {}", getBrowserType(), webDriver);
     }
 
@@ -193,7 +203,9 @@ public abstract class WebBrowser extends Browser<WebDriver> {
         logger.info("Opening web page by URL {}", absoluteURI);
         runLeavePageHook();
         invalidateCachedPage();
+        elementLookupCache.invalidate();
         T page = PAGE_UTILS.loadPageFromURL(absoluteURI, pageClass, getWebDriver(), getActions());
+        onDocumentLoaded();
         setCachedPage(page);
         return page;
     }
@@ -217,9 +229,13 @@ public abstract class WebBrowser extends Browser<WebDriver> {
     public void refreshPage() {
         runLeavePageHook();
         webDriver.navigate().refresh();
+        elementLookupCache.invalidate();
+        onDocumentLoaded();
+        Optional<CachedPage> optionalCachedPage = getOptionalCachedPage();
         if (optionalCachedPage.isPresent()) {
             TopLevelPage cachedPage = optionalCachedPage.get().getCachedPage();
             cachedPage.refreshElements();
+            setCachedPage(cachedPage); // Cache it again for the new document
         }
     }
 
@@ -230,9 +246,8 @@ public abstract class WebBrowser extends Browser<WebDriver> {
         runLeavePageHook();
         invalidateCachedPage();
         webDriver.navigate().refresh();
-        T page = loadTopLevelPage(pageClass);
-        setCachedPage(page);
-        return page;
+        elementLookupCache.invalidate();
+        return loadTopLevelPage(pageClass);
     }
 
     public void cleanSession() {
@@ -242,6 +257,85 @@ public abstract class WebBrowser extends Browser<WebDriver> {
     @Nullable
     public abstract LogEntries getBrowserLogEntries();
 
+    /**
+     * The log types the WebDriver supports. They don't change during a session, so the driver is only asked once.
+     *
+     * @return - the available log types, or an empty set if the driver can't tell.
+     */
+    public Set<String> getAvailableLogTypes() {
+        Set<String> logTypes = availableLogTypes;
+        if (logTypes == null) {
+            logger.debug("Getting available log types...");
+            Set<String> fromDriver = webDriver.manage().logs().getAvailableLogTypes();
+            logger.debug("Found log types: {}", fromDriver);
+            logTypes = fromDriver == null ? Collections.emptySet() : ImmutableSet.copyOf(fromDriver);
+            availableLogTypes = logTypes;
+        }
+        return logTypes;
+    }
+
+    /**
+     * Get the entries of the given log type since the last time they were fetched. Fetching logs from the driver
+     * consumes them, so when a {@link BrowserLogTailer} tails the log type, the entries are read from the tailer.
+     *
+     * @return - the entries, or null if the WebDriver doesn't support the log type.
+     */
+    @Nullable
+    public LogEntries getLogEntries(String logType) {
+        BrowserLogTailer tailer = logTailer;
+        if (tailer != null && tailer.isTailing(logType)) {
+            return tailer.takeNew(logType);
+        }
+        return fetchLogEntries(logType);
+    }
+
+    /**
+     * Fetch the entries of the given log type from the WebDriver, bypassing the tailer.
+     */
+    @Nullable
+    LogEntries fetchLogEntries(String logType) {
+        if (webDriver == null || !getAvailableLogTypes().contains(logType)) {
+            return null;
+        }
+        return webDriver.manage().logs().get(logType);
+    }
+
+    /**
+     * Drain the logs into the {@link BrowserLogTailer}, if one is started and its interval passed.
+     */
+    @Override
+    protected void onDocumentLoaded() {
+        super.onDocumentLoaded();
+        BrowserLogTailer tailer = logTailer;
+        if (tailer != null) {
+            tailer.drainIfDue();
+        }
+    }
+
+    /**
+     * @return - the {@link BrowserLogTailer} started for this browser, if any.
+     */
+    public Optional<BrowserLogTailer> getLogTailer() {
+        return Optional.ofNullable(logTailer);
+    }
+
+    void setLogTailer(@Nullable BrowserLogTailer logTailer) {
+        BrowserLogTailer previous = this.logTailer;
+        this.logTailer = logTailer;
+        if (previous != null && previous != logTailer) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Stop the log tailer, if any, and quit the WebDriver.
+     */
+    @Override
+    public void quit() {
+        setLogTailer(null);
+        super.quit();
+    }
+
     /**
      * Helper to set properties of the DesiredCapabilities that are common across all browsers.
      *
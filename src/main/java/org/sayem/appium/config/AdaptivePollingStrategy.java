@@ -0,0 +1,66 @@
+package org.sayem.appium.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Polls at an interval derived from how long each kind of condition has recently taken to check.</p>
+ * <p>
+ * <p>A moving average of the check latency is kept per condition key. The interval starts at roughly that latency,
+ * so that about half of a wait is spent checking, and grows gently for long waits, up to double the latency.
+ * Against a fast local driver this polls every few milliseconds; against a remote hub it polls less often,
+ * which avoids sending commands that are unlikely to see a change.</p>
+ *
+ * @see PollingStrategy#adaptive()
+ */
+public final class AdaptivePollingStrategy implements PollingStrategy {
+    static final long MIN_INTERVAL_MILLIS = 10;
+    static final long MAX_INTERVAL_MILLIS = 1000;
+    private static final double SMOOTHING = 0.3;
+    private static final int BACKOFF_ATTEMPTS = 10;
+
+    private final ConcurrentMap<String, LatencyEstimate> estimates = new ConcurrentHashMap<>();
+
+    AdaptivePollingStrategy() {
+    }
+
+    @Override
+    public long nextIntervalMillis(String conditionKey, int attempt, long lastCheckMillis) {
+        LatencyEstimate estimate = estimates.computeIfAbsent(conditionKey, key -> new LatencyEstimate());
+        double latency = estimate.update(Math.max(0, lastCheckMillis));
+        double backoff = 1 + Math.min(attempt, BACKOFF_ATTEMPTS) / (double) BACKOFF_ATTEMPTS;
+        long interval = Math.round(latency * backoff);
+        return Math.min(MAX_INTERVAL_MILLIS, Math.max(MIN_INTERVAL_MILLIS, interval));
+    }
+
+    /**
+     * @return - the current moving average of the check latency for the given condition key, or -1 if it was never checked.
+     */
+    public long getEstimatedLatencyMillis(String conditionKey) {
+        LatencyEstimate estimate = estimates.get(conditionKey);
+        return estimate == null ? -1 : Math.round(estimate.get());
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePollingStrategy" + estimates;
+    }
+
+    private static final class LatencyEstimate {
+        private double average = -1;
+
+        synchronized double update(long sampleMillis) {
+            average = average < 0 ? sampleMillis : SMOOTHING * sampleMillis + (1 - SMOOTHING) * average;
+            return average;
+        }
+
+        synchronized double get() {
+            return average;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return Math.round(average) + " ms";
+        }
+    }
+}
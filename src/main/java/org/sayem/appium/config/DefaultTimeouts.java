@@ -16,4 +16,6 @@ interface DefaultTimeouts {
     public static final int PAUSE_BETWEEN_REFRESH_SECONDS = 5;
     public static final int PAGE_LOAD_TIMEOUT_SECONDS = 20;
     public static final int IMPLICIT_WAIT_TIMEOUT_MILLIS = 2000;
+    public static final int POLL_INTERVAL_MILLIS = 100;
+    public static final int DOM_QUIET_WINDOW_MILLIS = 1000;
 }
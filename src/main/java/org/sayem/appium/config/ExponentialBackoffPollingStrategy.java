@@ -0,0 +1,49 @@
+package org.sayem.appium.config;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Polls with an exponentially growing interval, with random jitter.
+ *
+ * @see PollingStrategy#exponentialBackoff(long, long, double, double)
+ */
+public final class ExponentialBackoffPollingStrategy implements PollingStrategy {
+    private final long initialIntervalMillis;
+    private final long maxIntervalMillis;
+    private final double multiplier;
+    private final double jitter;
+
+    ExponentialBackoffPollingStrategy(long initialIntervalMillis, long maxIntervalMillis, double multiplier, double jitter) {
+        Preconditions.checkArgument(initialIntervalMillis > 0, "The initial polling interval must be positive");
+        Preconditions.checkArgument(maxIntervalMillis >= initialIntervalMillis, "The max polling interval must be at least the initial interval");
+        Preconditions.checkArgument(multiplier >= 1, "The backoff multiplier must be at least 1");
+        Preconditions.checkArgument(jitter >= 0 && jitter <= 1, "The jitter must be between 0 and 1");
+        this.initialIntervalMillis = initialIntervalMillis;
+        this.maxIntervalMillis = maxIntervalMillis;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public long nextIntervalMillis(String conditionKey, int attempt, long lastCheckMillis) {
+        double interval = initialIntervalMillis * Math.pow(multiplier, Math.max(0, attempt - 1));
+        interval = Math.min(interval, maxIntervalMillis);
+        if (jitter > 0) {
+            interval -= interval * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.max(1, Math.round(interval));
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("initialIntervalMillis", initialIntervalMillis)
+                .add("maxIntervalMillis", maxIntervalMillis)
+                .add("multiplier", multiplier)
+                .add("jitter", jitter)
+                .toString();
+    }
+}
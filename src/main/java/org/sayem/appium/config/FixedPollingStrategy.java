@@ -0,0 +1,27 @@
+package org.sayem.appium.config;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Polls at a fixed interval.
+ *
+ * @see PollingStrategy#fixed(long)
+ */
+public final class FixedPollingStrategy implements PollingStrategy {
+    private final long intervalMillis;
+
+    FixedPollingStrategy(long intervalMillis) {
+        Preconditions.checkArgument(intervalMillis >= 0, "The polling interval cannot be negative");
+        this.intervalMillis = intervalMillis;
+    }
+
+    @Override
+    public long nextIntervalMillis(String conditionKey, int attempt, long lastCheckMillis) {
+        return intervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedPollingStrategy(" + intervalMillis + " ms)";
+    }
+}
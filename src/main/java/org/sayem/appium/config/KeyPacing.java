@@ -0,0 +1,23 @@
+package org.sayem.appium.config;
+
+/**
+ * Where the pause between keys happens when entering text slowly, e.g. with
+ * {@link org.sayem.appium.actions.SeleniumActions#inputTextSlowly(org.openqa.selenium.WebElement, String)}.
+ *
+ * @see TimeoutsConfig#getKeyPacing()
+ * @see TimeoutsConfig#getPauseBetweenKeysMillis()
+ */
+public enum KeyPacing {
+    /**
+     * Send one key per WebDriver command, and sleep on the test thread between them. The keys are native key events,
+     * but each one costs a round trip.
+     */
+    DRIVER,
+
+    /**
+     * Type the whole text with one asynchronous script, which pauses between keys in the browser. The script dispatches
+     * keydown, keypress, input and keyup events for each character of a text input or textarea, which is enough
+     * for autocomplete widgets; other elements, and browsers without javascript, fall back to DRIVER.
+     */
+    BROWSER
+}
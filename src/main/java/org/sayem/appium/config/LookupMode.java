@@ -0,0 +1,22 @@
+package org.sayem.appium.config;
+
+/**
+ * Who waits for elements that aren't there yet when they're looked up.
+ *
+ * @see TimeoutsConfig#getLookupMode()
+ * @see org.sayem.appium.browser.Browser#setLookupMode(LookupMode)
+ */
+public enum LookupMode {
+    /**
+     * The WebDriver's implicit wait is set to {@link TimeoutsConfig#getImplicitWaitTimeoutMillis()}, so every lookup
+     * that matches nothing blocks for that long, including the ones that only check whether an element exists.
+     */
+    IMPLICIT_WAIT,
+
+    /**
+     * The WebDriver's implicit wait is set to 0, and lookups return right away. The framework's explicit waits do all
+     * the waiting; the lookups that used to rely on the implicit wait poll for the element for
+     * {@link TimeoutsConfig#getImplicitWaitTimeoutMillis()} instead.
+     */
+    FRAMEWORK
+}
@@ -0,0 +1,45 @@
+package org.sayem.appium.config;
+
+/**
+ * <p>Decides how long to sleep between checks of a condition while waiting on it.</p>
+ * <p>
+ * <p>Use {@link #fixed(long)}, {@link #exponentialBackoff(long, long, double, double)} or {@link #adaptive()} to get
+ * one of the standard strategies, and set it with {@link TimeoutsConfig.Builder#pollingStrategy(PollingStrategy)}.
+ * Implementations are shared by every wait of every Browser using the same {@link TimeoutsConfig}, so they must be thread-safe.</p>
+ *
+ * @see TimeoutsConfig#getPollingStrategy()
+ */
+public interface PollingStrategy {
+
+    /**
+     * Poll at a fixed interval.
+     */
+    static PollingStrategy fixed(long intervalMillis) {
+        return new FixedPollingStrategy(intervalMillis);
+    }
+
+    /**
+     * Start polling at initialIntervalMillis, then multiply the interval by multiplier after each check,
+     * up to maxIntervalMillis. Each interval is randomly shortened by up to the given jitter fraction (0 to 1),
+     * so that many waits started together don't poll in lock-step.
+     */
+    static PollingStrategy exponentialBackoff(long initialIntervalMillis, long maxIntervalMillis, double multiplier, double jitter) {
+        return new ExponentialBackoffPollingStrategy(initialIntervalMillis, maxIntervalMillis, multiplier, jitter);
+    }
+
+    /**
+     * Learn how long each kind of condition takes to check, and poll at a rate proportional to it:
+     * fast on a local driver, and without flooding a remote hub with commands.
+     */
+    static PollingStrategy adaptive() {
+        return new AdaptivePollingStrategy();
+    }
+
+    /**
+     * @param conditionKey    - identifies the kind of condition being waited on, e.g. the name of the waiting action.
+     * @param attempt         - how many times the condition has been checked so far in this wait, starting at 1.
+     * @param lastCheckMillis - how long the last check of the condition took.
+     * @return - how long to sleep before checking the condition again, in milliseconds.
+     */
+    long nextIntervalMillis(String conditionKey, int attempt, long lastCheckMillis);
+}
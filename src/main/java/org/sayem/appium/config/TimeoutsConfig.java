@@ -32,15 +32,24 @@ public final class TimeoutsConfig {
     private final int pauseBetweenKeysMillis;
     private final int pauseBetweenTriesMillis;
     private final int pauseBetweenRefreshSeconds;
+    private final KeyPacing keyPacing;
 
     // Timeouts used for configuring the underlying WebDriver
     private final int pageLoadTimeoutSeconds;
     private final int implicitWaitTimeoutMillis;
+    private final LookupMode lookupMode;
+
+    // How long to sleep between checks when waiting on a condition
+    private final PollingStrategy pollingStrategy;
+
+    // How long the DOM must not change for the page to be considered stable
+    private final int domQuietWindowMillis;
 
     private TimeoutsConfig(int clickTimeoutSeconds, int webElementPresenceTimeoutSeconds, int pollingWithRefreshTimeoutSeconds,
                            int pageRefreshTimeoutSeconds, int shortTimeoutSeconds, int mediumTimeoutSeconds, int longTimeoutSeconds,
                            int pauseBetweenKeysMillis, int pauseBetweenTriesMillis, int pauseBetweenRefreshSeconds,
-                           int pageLoadTimeoutSeconds, int implicitWaitTimeoutMillis) {
+                           KeyPacing keyPacing, int pageLoadTimeoutSeconds, int implicitWaitTimeoutMillis, LookupMode lookupMode,
+                           PollingStrategy pollingStrategy, int domQuietWindowMillis) {
         this.clickTimeoutSeconds = clickTimeoutSeconds;
         this.webElementPresenceTimeoutSeconds = webElementPresenceTimeoutSeconds;
         this.pollingWithRefreshTimeoutSeconds = pollingWithRefreshTimeoutSeconds;
@@ -51,8 +60,12 @@ public final class TimeoutsConfig {
         this.pauseBetweenKeysMillis = pauseBetweenKeysMillis;
         this.pauseBetweenTriesMillis = pauseBetweenTriesMillis;
         this.pauseBetweenRefreshSeconds = pauseBetweenRefreshSeconds;
+        this.keyPacing = keyPacing;
         this.pageLoadTimeoutSeconds = pageLoadTimeoutSeconds;
         this.implicitWaitTimeoutMillis = implicitWaitTimeoutMillis;
+        this.lookupMode = lookupMode;
+        this.pollingStrategy = pollingStrategy;
+        this.domQuietWindowMillis = domQuietWindowMillis;
     }
 
     /**
@@ -158,6 +171,10 @@ public final class TimeoutsConfig {
         return pauseBetweenKeysMillis;
     }
 
+    public KeyPacing getKeyPacing() {
+        return keyPacing;
+    }
+
     public int getPauseBetweenTriesMillis() {
         return pauseBetweenTriesMillis;
     }
@@ -174,6 +191,18 @@ public final class TimeoutsConfig {
         return implicitWaitTimeoutMillis;
     }
 
+    public LookupMode getLookupMode() {
+        return lookupMode;
+    }
+
+    public PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    public int getDomQuietWindowMillis() {
+        return domQuietWindowMillis;
+    }
+
     public static final class Builder {
         // Standard timeouts for most common usages, all in seconds
         private int clickTimeoutSeconds;
@@ -188,9 +217,15 @@ public final class TimeoutsConfig {
         private int pauseBetweenKeysMillis;
         private int pauseBetweenTriesMillis;
         private int pauseBetweenRefreshSeconds;
+        private KeyPacing keyPacing;
         // Timeouts used for configuring the underlying WebDriver
         private int pageLoadTimeoutSeconds;
         private int implicitWaitTimeoutMillis;
+        private LookupMode lookupMode;
+        // How long to sleep between checks when waiting on a condition
+        private PollingStrategy pollingStrategy;
+        // How long the DOM must not change for the page to be considered stable
+        private int domQuietWindowMillis;
 
         public Builder() {
             this.clickTimeoutSeconds = DefaultTimeouts.CLICK_TIMEOUT_SECONDS;
@@ -201,10 +236,14 @@ public final class TimeoutsConfig {
             this.mediumTimeoutSeconds = DefaultTimeouts.MEDIUM_TIMEOUT_SECONDS;
             this.longTimeoutSeconds = DefaultTimeouts.LONG_TIMEOUT_SECONDS;
             this.pauseBetweenKeysMillis = DefaultTimeouts.PAUSE_BETWEEN_KEYS_MILLIS;
+            this.keyPacing = KeyPacing.DRIVER;
             this.pauseBetweenTriesMillis = DefaultTimeouts.PAUSE_BETWEEN_TRIES_MILLIS;
             this.pauseBetweenRefreshSeconds = DefaultTimeouts.PAUSE_BETWEEN_REFRESH_SECONDS;
             this.pageLoadTimeoutSeconds = DefaultTimeouts.PAGE_LOAD_TIMEOUT_SECONDS;
             this.implicitWaitTimeoutMillis = DefaultTimeouts.IMPLICIT_WAIT_TIMEOUT_MILLIS;
+            this.lookupMode = LookupMode.IMPLICIT_WAIT;
+            this.pollingStrategy = PollingStrategy.fixed(DefaultTimeouts.POLL_INTERVAL_MILLIS);
+            this.domQuietWindowMillis = DefaultTimeouts.DOM_QUIET_WINDOW_MILLIS;
         }
 
         public TimeoutsConfig build() {
@@ -218,8 +257,12 @@ public final class TimeoutsConfig {
                     pauseBetweenKeysMillis,
                     pauseBetweenTriesMillis,
                     pauseBetweenRefreshSeconds,
+                    keyPacing,
                     pageLoadTimeoutSeconds,
-                    implicitWaitTimeoutMillis);
+                    implicitWaitTimeoutMillis,
+                    lookupMode,
+                    pollingStrategy,
+                    domQuietWindowMillis);
         }
 
         /**
@@ -304,6 +347,17 @@ public final class TimeoutsConfig {
             return this;
         }
 
+        /**
+         * Set where the pause between keys happens when entering text slowly. The default is {@link KeyPacing#DRIVER}.
+         *
+         * @param keyPacing - e.g. {@link KeyPacing#BROWSER} to type in the browser with a single command
+         * @return - the Builder
+         */
+        public Builder keyPacing(KeyPacing keyPacing) {
+            this.keyPacing = Preconditions.checkNotNull(keyPacing, "Cannot use a null KeyPacing");
+            return this;
+        }
+
         /**
          * Set the pause between tries in milliseconds. This is used for pausing between checks to see if an element
          * is visible.
@@ -351,5 +405,42 @@ public final class TimeoutsConfig {
             this.implicitWaitTimeoutMillis = implicitWaitTimeoutMillis;
             return this;
         }
+
+        /**
+         * Set who waits for elements that aren't there yet when they're looked up. The default is
+         * {@link LookupMode#IMPLICIT_WAIT}.
+         *
+         * @param lookupMode - e.g. {@link LookupMode#FRAMEWORK} to set the implicit wait to 0
+         * @return - the Builder
+         */
+        public Builder lookupMode(LookupMode lookupMode) {
+            this.lookupMode = Preconditions.checkNotNull(lookupMode, "Cannot use a null LookupMode");
+            return this;
+        }
+
+        /**
+         * Set the strategy deciding how long to sleep between checks when waiting on a condition.
+         * The default polls every 100 ms.
+         *
+         * @param pollingStrategy - e.g. {@link PollingStrategy#adaptive()}
+         * @return - the Builder
+         */
+        public Builder pollingStrategy(PollingStrategy pollingStrategy) {
+            this.pollingStrategy = Preconditions.checkNotNull(pollingStrategy, "Cannot use a null PollingStrategy");
+            return this;
+        }
+
+        /**
+         * Set how long the DOM must go without changes for the page to be considered stable,
+         * e.g. by {@link org.sayem.appium.actions.SeleniumActions#waitForPageToBeStable(TimeoutType)}. The default is 1 second.
+         *
+         * @param domQuietWindowMillis - time in milliseconds
+         * @return - the Builder
+         */
+        public Builder domQuietWindowMillis(int domQuietWindowMillis) {
+            Preconditions.checkArgument(domQuietWindowMillis >= 0, "The DOM quiet window can't be negative");
+            this.domQuietWindowMillis = domQuietWindowMillis;
+            return this;
+        }
     }
 }
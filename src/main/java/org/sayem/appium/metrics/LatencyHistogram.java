@@ -0,0 +1,95 @@
+package org.sayem.appium.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A lock-free histogram of latencies in microseconds, in the style of HdrHistogram: values are counted in
+ * log-linear buckets, so that any recorded value can be reported with a relative error of at most 1/32 (about 3%),
+ * in a fixed amount of memory.</p>
+ * <p>
+ * <p>Recording is a few arithmetic operations and an atomic increment, so it can be done on every action.</p>
+ */
+public final class LatencyHistogram {
+    // Values below 2 * SUB_BUCKET_HALF are counted exactly; above, each power of 2 is split into SUB_BUCKET_HALF buckets
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;
+    static final long MAX_VALUE_MICROS = (2L * SUB_BUCKET_HALF << MAX_EXPONENT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_EXPONENT + 2) * SUB_BUCKET_HALF);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_VALUE_MICROS));
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        long max;
+        while (value > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, value)) {
+            // retry until the max is at least this value
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalMicros.get() / count;
+    }
+
+    /**
+     * @param percentile - between 0 and 100
+     * @return - the value below which the given percentage of recorded values fall, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        int exponent = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return exponent * SUB_BUCKET_HALF + (int) (value >> exponent);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        int exponent = Math.max(0, index / SUB_BUCKET_HALF - 1);
+        return (long) (index - exponent * SUB_BUCKET_HALF) << exponent;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package org.sayem.appium.metrics;
+
+import com.google.common.base.Objects;
+import org.sayem.appium.browser.web.WebBrowserType;
+
+import javax.annotation.Nullable;
+
+/**
+ * What a latency was recorded for: an action, the locator or page class it was applied to, and the type of browser.
+ */
+public final class MetricKey implements Comparable<MetricKey> {
+    private final String action;
+    @Nullable
+    private final String target;
+    @Nullable
+    private final WebBrowserType browserType;
+
+    public MetricKey(String action, @Nullable String target, @Nullable WebBrowserType browserType) {
+        this.action = action;
+        this.target = target;
+        this.browserType = browserType;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * @return - the locator, or page class, the action was applied to; null if none.
+     */
+    @Nullable
+    public String getTarget() {
+        return target;
+    }
+
+    @Nullable
+    public WebBrowserType getBrowserType() {
+        return browserType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MetricKey)) {
+            return false;
+        }
+        MetricKey other = (MetricKey) o;
+        return action.equals(other.action) && Objects.equal(target, other.target) && browserType == other.browserType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(action, target, browserType);
+    }
+
+    @Override
+    public int compareTo(MetricKey other) {
+        int result = action.compareTo(other.action);
+        if (result == 0) {
+            result = String.valueOf(target).compareTo(String.valueOf(other.target));
+        }
+        if (result == 0) {
+            result = String.valueOf(browserType).compareTo(String.valueOf(other.browserType));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return action + (target == null ? "" : "(" + target + ")") + (browserType == null ? "" : " [" + browserType + "]");
+    }
+}
@@ -0,0 +1,151 @@
+package org.sayem.appium.metrics;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * <p>Latency histograms of the actions, waits, page loads and browser initializations done by the framework,
+ * keyed by {@link MetricKey}: action name, locator or page class, and browser type.</p>
+ * <p>
+ * <p>Each method of {@link org.sayem.appium.actions.SeleniumActions} that talks to the browser is recorded under
+ * its own name, from start to end. The steps it's made of, such as clicks, waits and element lookups, are recorded
+ * under their own names too, so composite actions show up both as a whole and in parts. Methods that only pass
+ * their arguments on, like findVisibleElement, are recorded under the method they delegate to.</p>
+ * <p>
+ * <p>Locators are part of the key, so the number of keys is capped by {@link #getMaxKeys()}: once it's reached,
+ * actions on targets that don't have a key yet are recorded under the target {@value #OTHER_TARGET}, one key per
+ * action and browser type.</p>
+ * <p>
+ * <p>The framework records into {@link #getDefault()}; read percentiles with {@link #getSnapshots()} or
+ * {@link #getSnapshot(MetricKey)}, or log them all with {@link #dump()}, which
+ * {@link org.sayem.appium.testng.MetricsListener} does at the end of a TestNG suite.</p>
+ */
+public final class MetricsRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    public static final int DEFAULT_MAX_KEYS = 2000;
+    public static final String OTHER_TARGET = "<other>";
+
+    private final Map<MetricKey, ActionMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+    private volatile int maxKeys = DEFAULT_MAX_KEYS;
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Recording is enabled by default. When disabled, {@link #record} returns without doing anything.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Set how many keys may be recorded before new targets are recorded under {@value #OTHER_TARGET}.
+     * Keys recorded so far are kept.
+     */
+    public void setMaxKeys(int maxKeys) {
+        Preconditions.checkArgument(maxKeys > 0, "The max number of keys must be positive");
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @param action      - the name of the action, e.g. "click" or "verifyElementPresented"
+     * @param target      - the locator or page class it was applied to, or null
+     * @param browserType - the type of the browser, or null if unknown
+     * @param startNanos  - the value of System.nanoTime() when the action started
+     * @param timedOut    - whether the action ended with a timeout
+     */
+    public void record(String action, @Nullable Object target, @Nullable WebBrowserType browserType,
+                       long startNanos, boolean timedOut) {
+        if (!enabled) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        MetricKey key = new MetricKey(action, target == null ? null : target.toString(), browserType);
+        ActionMetrics actionMetrics = metrics.get(key);
+        if (actionMetrics == null) {
+            if (metrics.size() >= maxKeys) {
+                key = new MetricKey(action, OTHER_TARGET, browserType);
+            }
+            actionMetrics = metrics.computeIfAbsent(key, k -> new ActionMetrics());
+        }
+        actionMetrics.histogram.recordNanos(elapsedNanos);
+        if (timedOut) {
+            actionMetrics.timeouts.incrementAndGet();
+        }
+    }
+
+    public Optional<MetricsSnapshot> getSnapshot(MetricKey key) {
+        ActionMetrics actionMetrics = metrics.get(key);
+        return actionMetrics == null ? Optional.empty() : Optional.of(actionMetrics.snapshot(key));
+    }
+
+    /**
+     * @return - a snapshot of every key recorded so far, sorted by action, target and browser type.
+     */
+    public List<MetricsSnapshot> getSnapshots() {
+        List<MetricsSnapshot> snapshots = Lists.newArrayList();
+        metrics.forEach((key, actionMetrics) -> snapshots.add(actionMetrics.snapshot(key)));
+        Collections.sort(snapshots, (a, b) -> a.getKey().compareTo(b.getKey()));
+        return snapshots;
+    }
+
+    public void reset() {
+        metrics.clear();
+    }
+
+    /**
+     * @return - a table of the percentiles of every key, one line per key.
+     */
+    public String formatReport() {
+        StringBuilder report = new StringBuilder(format("%-60s %8s %8s %10s %10s %10s %10s%n",
+                "action", "count", "timeouts", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (MetricsSnapshot snapshot : getSnapshots()) {
+            report.append(format("%-60s %8d %8d %10.1f %10.1f %10.1f %10.1f%n", snapshot.getKey(),
+                    snapshot.getCount(), snapshot.getTimeouts(), snapshot.getP50Millis(), snapshot.getP95Millis(),
+                    snapshot.getP99Millis(), snapshot.getMaxMillis()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Log the report of {@link #formatReport()} at INFO level, if anything was recorded.
+     */
+    public void dump() {
+        if (!metrics.isEmpty()) {
+            logger.info("Action latencies:{}{}", System.lineSeparator(), formatReport());
+        }
+    }
+
+    private static final class ActionMetrics {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private MetricsSnapshot snapshot(MetricKey key) {
+            return new MetricsSnapshot(key, histogram, timeouts.get());
+        }
+    }
+}
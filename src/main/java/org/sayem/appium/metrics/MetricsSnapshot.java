@@ -0,0 +1,76 @@
+package org.sayem.appium.metrics;
+
+import com.google.common.base.Objects;
+
+/**
+ * The latency percentiles, in milliseconds, and counts recorded for a {@link MetricKey} at some point in time.
+ */
+public final class MetricsSnapshot {
+    private final MetricKey key;
+    private final long count;
+    private final long timeouts;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    MetricsSnapshot(MetricKey key, LatencyHistogram histogram, long timeouts) {
+        this.key = key;
+        this.count = histogram.getCount();
+        this.timeouts = timeouts;
+        this.meanMillis = histogram.getMeanMicros() / 1000;
+        this.p50Millis = histogram.getValueAtPercentile(50) / 1000.0;
+        this.p95Millis = histogram.getValueAtPercentile(95) / 1000.0;
+        this.p99Millis = histogram.getValueAtPercentile(99) / 1000.0;
+        this.maxMillis = histogram.getMaxMicros() / 1000.0;
+    }
+
+    public MetricKey getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return - how many of the recorded actions ended with a timeout.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("key", key)
+                .add("count", count)
+                .add("timeouts", timeouts)
+                .add("p50Millis", p50Millis)
+                .add("p95Millis", p95Millis)
+                .add("p99Millis", p99Millis)
+                .add("maxMillis", maxMillis)
+                .toString();
+    }
+}
@@ -2,7 +2,6 @@ package org.sayem.appium.pages;
 
 import org.sayem.appium.actions.SeleniumActions;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.PageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,7 +14,7 @@ import javax.annotation.Nullable;
 public class BaseSubPage<S extends SeleniumActions> implements SubPage {
     private static final PageUtils PAGE_UTILS = new PageUtils();
     @SuppressWarnings("unused")
-    private static Logger logger = LoggerFactory.getLogger(BaseSubPage.class);
+    private static final Logger logger = LoggerFactory.getLogger(BaseSubPage.class);
     protected S a;
     protected Page parent = null;
 
@@ -59,7 +58,7 @@ public class BaseSubPage<S extends SeleniumActions> implements SubPage {
 
     @Override
     public final void refreshElements() {
-        PageFactory.initElements(getActions().getBrowser().getWebDriver(), this);
+        PageMetadata.of(getClass()).initElements(getActions().getBrowser().getWebDriver(), this);
         initSubPages();
         pageLoadHook();
     }
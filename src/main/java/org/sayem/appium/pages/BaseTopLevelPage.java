@@ -4,7 +4,6 @@ import org.sayem.appium.actions.SeleniumActions;
 import org.sayem.appium.browser.web.WebBrowser;
 import org.sayem.appium.exception.InvalidPageUrlException;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.PageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,7 +20,7 @@ import java.util.regex.Pattern;
 public class BaseTopLevelPage<S extends SeleniumActions> implements TopLevelPage {
     private static final PageUtils PAGE_UTILS = new PageUtils();
     @SuppressWarnings("unused")
-    private static Logger logger = LoggerFactory.getLogger(BaseTopLevelPage.class);
+    private static final Logger logger = LoggerFactory.getLogger(BaseTopLevelPage.class);
     protected S a;
     private long pageLoadTime;
 
@@ -65,15 +64,15 @@ public class BaseTopLevelPage<S extends SeleniumActions> implements TopLevelPage
      * If the current URL is "http:/example.com/foo/1234" and we specify @WebPagePath(isRegex = true, path = "/foo/\\d+"), then this would match as a regex.
      */
     public void verifyCurrentURL() {
-        WebPagePath webPagePath = getClass().getAnnotation(WebPagePath.class);
+        PageMetadata metadata = PageMetadata.of(getClass());
 
         // If the @WebPagePath annotation isn't present, or browser isn't a WebBrowser, then return.
-        if (webPagePath == null || !(a.getBrowser() instanceof WebBrowser)) {
+        if (!metadata.getExpectedPath().isPresent() || !(a.getBrowser() instanceof WebBrowser)) {
             return;
         }
 
-        String expectedPath = webPagePath.path();
-        boolean regex = webPagePath.isRegex();
+        String expectedPath = metadata.getExpectedPath().get();
+        Optional<Pattern> pattern = metadata.getExpectedPathPattern();
 
         String currentURL = a.getCurrentURL();
 
@@ -89,13 +88,9 @@ public class BaseTopLevelPage<S extends SeleniumActions> implements TopLevelPage
         if (currentPath.endsWith("/")) {
             currentPath = currentPath.substring(0, currentPath.length() - 1);
         }
-        if (expectedPath.endsWith("/")) {
-            expectedPath = expectedPath.substring(0, expectedPath.length() - 1);
-        }
 
-        if (regex) {
-            Pattern pattern = Pattern.compile(expectedPath);
-            Matcher m = pattern.matcher(currentPath);
+        if (pattern.isPresent()) {
+            Matcher m = pattern.get().matcher(currentPath);
             if (!m.find() || m.regionEnd() != currentPath.length()) {
                 throw new InvalidPageUrlException(String.format("The current path of the web browser is %s, but expected the path to end with an expression " +
                                 "matching the regex '%s'",
@@ -127,7 +122,7 @@ public class BaseTopLevelPage<S extends SeleniumActions> implements TopLevelPage
 
     @Override
     public final void refreshElements() {
-        PageFactory.initElements(getActions().getBrowser().getWebDriver(), this);
+        PageMetadata.of(getClass()).initElements(getActions().getBrowser().getWebDriver(), this);
         initSubPages();
         pageLoadHook();
     }
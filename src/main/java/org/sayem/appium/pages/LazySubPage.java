@@ -0,0 +1,135 @@
+package org.sayem.appium.pages;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import org.sayem.appium.actions.SeleniumActions;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * <p>A {@link SubPage} that is only initialized, and has its pageLoadHook run, the first time it is used.</p>
+ * <p>
+ * <p>Declare a field as <code>@SubPageField LazySubPage&lt;NavBar&gt; navBar;</code> and call navBar.get() to use it.
+ * Fields declared with an interface type and <code>@SubPageField(lazy = true, implementation = ...)</code> get a proxy
+ * that calls {@link #get()} on the first method call instead.</p>
+ * <p>
+ * <p>A new LazySubPage is set on the field every time the parent page initializes its sub pages,
+ * e.g. in {@link Page#refreshElements()}, so a refreshed page loads its sub pages again on first use.</p>
+ *
+ * @param <T> - the type of the SubPage
+ */
+public final class LazySubPage<T extends SubPage> {
+    private final Class<T> type;
+    private final Class<? extends SubPage> implementation;
+    private final Page parent;
+    private final SeleniumActions actions;
+    private volatile T subPage = null;
+
+    LazySubPage(Class<T> type, Class<? extends SubPage> implementation, Page parent, SeleniumActions actions) {
+        this.type = Preconditions.checkNotNull(type);
+        this.implementation = Preconditions.checkNotNull(implementation);
+        Preconditions.checkArgument(type.isAssignableFrom(implementation), "%s isn't a %s", implementation, type);
+        this.parent = Preconditions.checkNotNull(parent);
+        this.actions = Preconditions.checkNotNull(actions);
+    }
+
+    /**
+     * A proxy implementing the interface 'type', that loads an instance of 'implementation' on the first method call.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends SubPage> T proxy(Class<T> type, Class<? extends SubPage> implementation, Page parent,
+                                       SeleniumActions actions) {
+        Preconditions.checkArgument(type.isInterface(), "Only a SubPage interface can be proxied, not %s", type);
+        LazySubPage<T> lazySubPage = new LazySubPage<>(type, implementation, parent, actions);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(lazySubPage));
+    }
+
+    /**
+     * @return - the SubPage held by 'value', if it's a LazySubPage or a lazy proxy that was loaded,
+     * 'value' itself if it's any other SubPage, or null.
+     */
+    @Nullable
+    static SubPage getIfLoaded(@Nullable Object value) {
+        if (value instanceof LazySubPage) {
+            return ((LazySubPage<?>) value).getIfLoaded();
+        }
+        if (value != null && Proxy.isProxyClass(value.getClass()) && Proxy.getInvocationHandler(value) instanceof Handler) {
+            return ((Handler) Proxy.getInvocationHandler(value)).lazySubPage.getIfLoaded();
+        }
+        return value instanceof SubPage ? (SubPage) value : null;
+    }
+
+    /**
+     * Get the SubPage, initializing it and running its pageLoadHook if this is the first call.
+     */
+    public T get() {
+        T loaded = subPage;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = subPage;
+                if (loaded == null) {
+                    loaded = type.cast(PageMetadata.of(implementation).newInstance(actions.getBrowser().getWebDriver()));
+                    loaded.setActions(actions);
+                    loaded.setParent(parent);
+                    loaded.pageLoadHook();
+                    loaded.initSubPages();
+                    subPage = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public boolean isLoaded() {
+        return subPage != null;
+    }
+
+    @Nullable
+    public T getIfLoaded() {
+        return subPage;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("type", type.getSimpleName())
+                .add("loaded", isLoaded())
+                .toString();
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final LazySubPage<?> lazySubPage;
+
+        private Handler(LazySubPage<?> lazySubPage) {
+            this.lazySubPage = lazySubPage;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                // Don't load the SubPage just to log or compare it
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return lazySubPage.toString();
+                }
+            }
+            try {
+                return method.invoke(lazySubPage.get(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
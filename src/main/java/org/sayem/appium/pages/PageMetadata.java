@@ -0,0 +1,311 @@
+package org.sayem.appium.pages;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.PageFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Everything the framework needs to know about a Page class, found with reflection once per class and then cached:
+ * the fields annotated with {@link SubPageField} (with MethodHandles to read and write them),
+ * the {@link WebPagePath} annotation with its regex precompiled, and the WebElement fields that
+ * {@link PageFactory} will decorate.</p>
+ * <p>
+ * <p>Use {@link #of(Class)} to get the metadata for a class.</p>
+ */
+public final class PageMetadata {
+    private static final Logger logger = LoggerFactory.getLogger(PageMetadata.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<PageMetadata> METADATA = new ClassValue<PageMetadata>() {
+        @Override
+        protected PageMetadata computeValue(Class<?> type) {
+            return new PageMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<SubPageFieldAccessor> subPageFields;
+    private final Optional<WebPagePath> webPagePath;
+    private final Optional<String> expectedPath;
+    private final Optional<Pattern> expectedPathPattern;
+    private final List<Field> elementFields;
+    private final Optional<MethodHandle> driverConstructor;
+    private final Optional<MethodHandle> defaultConstructor;
+
+    private PageMetadata(Class<?> type) {
+        this.type = type;
+        this.subPageFields = findSubPageFields(type);
+        this.webPagePath = Optional.ofNullable(type.getAnnotation(WebPagePath.class));
+        if (webPagePath.isPresent() && webPagePath.get().path() != null) {
+            String path = webPagePath.get().path();
+            // Trailing slashes are ignored when comparing paths
+            if (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            this.expectedPath = Optional.of(path);
+            this.expectedPathPattern = webPagePath.get().isRegex() ? Optional.of(Pattern.compile(path)) : Optional.empty();
+        } else {
+            this.expectedPath = Optional.empty();
+            this.expectedPathPattern = Optional.empty();
+        }
+        this.elementFields = findElementFields(type);
+        this.driverConstructor = findConstructor(type, WebDriver.class);
+        this.defaultConstructor = findConstructor(type);
+    }
+
+    /**
+     * @return - the metadata of the given Page class, computed on the first call for each class.
+     */
+    public static PageMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return - the fields annotated with {@link SubPageField} that are of type {@link SubPage} or {@link LazySubPage},
+     * recursively including fields from super classes.
+     */
+    public List<Field> getSubPageFields() {
+        ImmutableList.Builder<Field> fields = ImmutableList.builder();
+        for (SubPageFieldAccessor accessor : subPageFields) {
+            fields.add(accessor.getField());
+        }
+        return fields.build();
+    }
+
+    List<SubPageFieldAccessor> getSubPageFieldAccessors() {
+        return subPageFields;
+    }
+
+    public Optional<WebPagePath> getWebPagePath() {
+        return webPagePath;
+    }
+
+    /**
+     * @return - the path of the {@link WebPagePath} annotation, without a trailing slash.
+     */
+    public Optional<String> getExpectedPath() {
+        return expectedPath;
+    }
+
+    /**
+     * @return - the compiled regex of the {@link WebPagePath} annotation, if it has isRegex = true.
+     */
+    public Optional<Pattern> getExpectedPathPattern() {
+        return expectedPathPattern;
+    }
+
+    /**
+     * @return - the WebElement and List&lt;WebElement&gt; fields that {@link PageFactory} decorates,
+     * recursively including fields from super classes.
+     */
+    public List<Field> getElementFields() {
+        return elementFields;
+    }
+
+    public boolean hasElementFields() {
+        return !elementFields.isEmpty();
+    }
+
+    /**
+     * Same as {@link PageFactory#initElements(WebDriver, Class)}, without the reflection to find the constructor,
+     * and skipping the decoration of fields if the class doesn't have any WebElement fields.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T newInstance(WebDriver driver) {
+        T page;
+        try {
+            if (driverConstructor.isPresent()) {
+                page = (T) driverConstructor.get().invoke(driver);
+            } else if (defaultConstructor.isPresent()) {
+                page = (T) defaultConstructor.get().invoke();
+            } else {
+                return PageFactory.initElements(driver, (Class<T>) type);
+            }
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+        initElements(driver, page);
+        return page;
+    }
+
+    /**
+     * Same as {@link PageFactory#initElements(org.openqa.selenium.SearchContext, Object)}, skipped if the class
+     * doesn't have any WebElement fields.
+     */
+    void initElements(WebDriver driver, Object page) {
+        if (hasElementFields()) {
+            PageFactory.initElements(driver, page);
+        }
+    }
+
+    //--------------Private helpers------------
+    private static List<SubPageFieldAccessor> findSubPageFields(Class<?> type) {
+        ImmutableList.Builder<SubPageFieldAccessor> fields = ImmutableList.builder();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getAnnotation(SubPageField.class) == null) {
+                    continue;
+                }
+                Optional<Class<? extends SubPage>> subPageType = getSubPageType(field);
+                if (!subPageType.isPresent()) {
+                    logger.warn("Class {} has a field annotated with @SubPageField that isn't a SubPage type", c.getSimpleName());
+                    continue;
+                }
+                fields.add(new SubPageFieldAccessor(field, subPageType.get()));
+            }
+        }
+        return fields.build();
+    }
+
+    /**
+     * @return - the type of SubPage held by a field of type SubPage or LazySubPage&lt;T&gt;.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<Class<? extends SubPage>> getSubPageType(Field field) {
+        if (SubPage.class.isAssignableFrom(field.getType())) {
+            return Optional.of((Class<? extends SubPage>) field.getType());
+        }
+        if (field.getType() == LazySubPage.class && field.getGenericType() instanceof ParameterizedType) {
+            Type typeArgument = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            if (typeArgument instanceof Class && SubPage.class.isAssignableFrom((Class<?>) typeArgument)) {
+                return Optional.of((Class<? extends SubPage>) typeArgument);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Field> findElementFields(Class<?> type) {
+        ImmutableList.Builder<Field> fields = ImmutableList.builder();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (WebElement.class.isAssignableFrom(field.getType())) {
+                    fields.add(field);
+                } else if (List.class.isAssignableFrom(field.getType())
+                        && (field.getAnnotation(FindBy.class) != null
+                        || field.getAnnotation(FindBys.class) != null
+                        || field.getAnnotation(FindAll.class) != null)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields.build();
+    }
+
+    private static Optional<MethodHandle> findConstructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            return Optional.of(handle.asType(MethodType.methodType(Object.class, parameterTypes)));
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A field annotated with {@link SubPageField}, with MethodHandles to read and write it.
+     */
+    static final class SubPageFieldAccessor {
+        private final Field field;
+        private final Class<? extends SubPage> type;
+        private final Class<? extends SubPage> implementation;
+        private final boolean lazy;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private SubPageFieldAccessor(Field field, Class<? extends SubPage> type) {
+            this.field = field;
+            this.type = type;
+            SubPageField annotation = field.getAnnotation(SubPageField.class);
+            this.implementation = annotation.implementation() == SubPage.class ? type : annotation.implementation();
+            Preconditions.checkArgument(type.isAssignableFrom(implementation),
+                    "The implementation %s of @SubPageField %s isn't a %s", implementation, field, type);
+            this.lazy = annotation.lazy();
+            try {
+                field.setAccessible(true);
+                this.getter = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+                this.setter = LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException ex) {
+                logger.error("Error accessing SubPage field: " + field, ex);
+                throw new RuntimeException(ex);
+            }
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        /**
+         * @return - the type of the SubPage, which is the type argument for a LazySubPage field.
+         */
+        Class<? extends SubPage> getType() {
+            return type;
+        }
+
+        /**
+         * @return - the class to instantiate: the implementation given in the annotation, or else the type.
+         */
+        Class<? extends SubPage> getImplementationType() {
+            return implementation;
+        }
+
+        /**
+         * @return - true if the field is declared as a {@link LazySubPage}.
+         */
+        boolean isLazySubPageHolder() {
+            return field.getType() == LazySubPage.class;
+        }
+
+        /**
+         * @return - true if the field is annotated with @SubPageField(lazy = true).
+         */
+        boolean isLazy() {
+            return lazy;
+        }
+
+        // The cast looks redundant, but invokeExact needs the argument types to match the type of the handle exactly
+        @SuppressWarnings("cast")
+        Object get(Page page) {
+            try {
+                return getter.invokeExact((Object) page);
+            } catch (Throwable t) {
+                logger.error("Error getting SubPage field: " + field, t);
+                throw Throwables.propagate(t);
+            }
+        }
+
+        // As in get, the casts make the call site match the (Object, Object)void type of the handle
+        @SuppressWarnings("cast")
+        void set(Page page, Object subPage) {
+            try {
+                setter.invokeExact((Object) page, (Object) subPage);
+            } catch (Throwable t) {
+                logger.error("Error setting SubPage field: " + field, t);
+                throw Throwables.propagate(t);
+            }
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package org.sayem.appium.pages;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import org.sayem.appium.actions.SeleniumActions;
 import org.sayem.appium.config.TimeoutType;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,9 +18,25 @@ import java.util.Optional;
  */
 public class PageUtils {
     private static final Logger logger = LoggerFactory.getLogger(PageUtils.class);
+    private static volatile boolean lazySubPagesByDefault = false;
 
     /**
-     * Use reflection to recursively get all fields annotated with {@link SubPageField} on a given class.
+     * Load every {@link SubPageField} that can be loaded lazily on first access, as if annotated with
+     * <code>@SubPageField(lazy = true)</code>.
+     *
+     * @see LazySubPage
+     */
+    public static void setLazySubPagesByDefault(boolean lazy) {
+        lazySubPagesByDefault = lazy;
+    }
+
+    public static boolean isLazySubPagesByDefault() {
+        return lazySubPagesByDefault;
+    }
+
+    /**
+     * Get all fields annotated with {@link SubPageField} on a given class. The fields are found once per class,
+     * see {@link PageMetadata}.
      *
      * @param type
      * @return - List of Fields that are annotated with {@link SubPageField}
@@ -30,22 +44,7 @@ public class PageUtils {
      * recursively including fields from super classes.
      */
     public static List<Field> getAllSubpageFields(Class<?> type) {
-        List<Field> subpageFields = Lists.newArrayList();
-        for (Field field : type.getDeclaredFields()) {
-            if (field.getAnnotation(SubPageField.class) != null) {
-                if (SubPage.class.isAssignableFrom(field.getType())) {
-                    subpageFields.add(field);
-                } else {
-                    logger.warn("Class {} has a field annotated with @SubPageField that isn't a SubPage type", type.getSimpleName());
-                }
-            }
-        }
-
-        if (type.getSuperclass() != null) {
-            subpageFields.addAll(getAllSubpageFields(type.getSuperclass()));
-        }
-
-        return subpageFields;
+        return PageMetadata.of(type).getSubPageFields();
     }
 
     /**
@@ -57,11 +56,11 @@ public class PageUtils {
      * {@link WebPagePath}
      */
     public Optional<String> getWebPagePathForClass(Class<? extends TopLevelPage> pageClass) {
-        WebPagePath annotation = pageClass.getAnnotation(WebPagePath.class);
-        if (annotation == null) {
+        Optional<WebPagePath> annotation = PageMetadata.of(pageClass).getWebPagePath();
+        if (!annotation.isPresent()) {
             return Optional.empty();
         }
-        return Optional.ofNullable(annotation.path());
+        return Optional.ofNullable(annotation.get().path());
     }
 
     /**
@@ -82,78 +81,46 @@ public class PageUtils {
     public void initSubPages(Page page, SeleniumActions a) {
         Preconditions.checkNotNull(a);
         Preconditions.checkNotNull(page);
-        List<Field> fields = getAllSubpageFields(page.getClass());
-        for (Field field : fields) {
-            Class type = field.getType();
-            if (!SubPage.class.isAssignableFrom(type)) {
-                logger.warn("Invalid @SubPageField in class '%s'. Must be a subclass of SubPage.");
+        WebDriver driver = a.getBrowser().getWebDriver();
+        for (PageMetadata.SubPageFieldAccessor field : PageMetadata.of(page.getClass()).getSubPageFieldAccessors()) {
+            if (setLazySubPage(page, field, a)) {
                 continue;
             }
-
-            SubPage subPage = PageFactory.initElements(a.getBrowser().getWebDriver(), (Class<? extends SubPage>) field.getType());
+            SubPage subPage = PageMetadata.of(field.getImplementationType()).newInstance(driver);
             subPage.setActions(a);
             subPage.setParent(page);
             subPage.pageLoadHook();
             subPage.initSubPages();
 
             //Set the subpage field
-            try {
-                field.setAccessible(true);
-                field.set(page, subPage);
-            } catch (IllegalAccessException ex) {
-                logger.error("Error instantiating SubPage field: " + field, ex);
-                throw new RuntimeException(ex);
-            }
+            field.set(page, subPage);
         }
     }
 
     public void initSubPagesWithoutPageLoadHooks(Page page, SeleniumActions a) {
         Preconditions.checkNotNull(a);
         Preconditions.checkNotNull(page);
-        List<Field> fields = getAllSubpageFields(page.getClass());
-        for (Field field : fields) {
-            Class type = field.getType();
-            if (!SubPage.class.isAssignableFrom(type)) {
-                logger.warn("Invalid @SubPageField in class '%s'. Must be a subclass of SubPage.");
+        WebDriver driver = a.getBrowser().getWebDriver();
+        for (PageMetadata.SubPageFieldAccessor field : PageMetadata.of(page.getClass()).getSubPageFieldAccessors()) {
+            if (setLazySubPage(page, field, a)) {
                 continue;
             }
-
-            SubPage subPage = PageFactory.initElements(a.getBrowser().getWebDriver(), (Class<? extends SubPage>) field.getType());
+            SubPage subPage = PageMetadata.of(field.getImplementationType()).newInstance(driver);
             subPage.setActions(a);
             subPage.setParent(page);
             initSubPagesWithoutPageLoadHooks(subPage, a);
 
             //Set the subpage field
-            try {
-                field.setAccessible(true);
-                field.set(page, subPage);
-            } catch (IllegalAccessException ex) {
-                logger.error("Error instantiating SubPage field: " + field, ex);
-                throw new RuntimeException(ex);
-            }
+            field.set(page, subPage);
         }
     }
 
     public void runPageLoadHooksForSubPages(Page page, SeleniumActions a) {
         Preconditions.checkNotNull(a);
         Preconditions.checkNotNull(page);
-        List<Field> fields = getAllSubpageFields(page.getClass());
-        for (Field field : fields) {
-            Class type = field.getType();
-            if (!SubPage.class.isAssignableFrom(type)) {
-                logger.warn("Invalid @SubPageField in class '%s'. Must be a subclass of SubPage.");
-                continue;
-            }
-
-            //Get the subpage field
-            SubPage subPage;
-            try {
-                field.setAccessible(true);
-                subPage = (SubPage) field.get(page);
-            } catch (IllegalAccessException ex) {
-                logger.error("Error instantiating SubPage field: " + field, ex);
-                throw new RuntimeException(ex);
-            }
+        for (PageMetadata.SubPageFieldAccessor field : PageMetadata.of(page.getClass()).getSubPageFieldAccessors()) {
+            //Get the subpage field. Lazy sub pages that weren't used yet will run their hooks when loaded.
+            SubPage subPage = LazySubPage.getIfLoaded(field.get(page));
             if (subPage != null) {
                 subPage.pageLoadHook();
                 runPageLoadHooksForSubPages(subPage, a);
@@ -161,6 +128,31 @@ public class PageUtils {
         }
     }
 
+    /**
+     * If the field should be loaded lazily, set a {@link LazySubPage} or a lazy proxy on it.
+     *
+     * @return - true if the field was set
+     */
+    private boolean setLazySubPage(Page page, PageMetadata.SubPageFieldAccessor field, SeleniumActions a) {
+        Class<? extends SubPage> type = field.getType();
+        if (field.isLazySubPageHolder()) {
+            field.set(page, new LazySubPage<>(type, field.getImplementationType(), page, a));
+            return true;
+        }
+        if (!field.isLazy() && !lazySubPagesByDefault) {
+            return false;
+        }
+        if (!type.isInterface()) {
+            if (field.isLazy()) {
+                logger.warn("@SubPageField {} can't be lazy, because its type {} isn't an interface. Loading it eagerly.",
+                        field.getField().getName(), type.getSimpleName());
+            }
+            return false;
+        }
+        field.set(page, LazySubPage.proxy(type, field.getImplementationType(), page, a));
+        return true;
+    }
+
     public <T extends Page> T loadPageFromURL(URI absoluteURL, Class<T> pageClass, WebDriver driver, SeleniumActions actions) {
         Preconditions.checkNotNull(absoluteURL, "Error: URI provided cannot be null in PageUtils#loadPageFromURL");
         Preconditions.checkNotNull(pageClass);
@@ -172,7 +164,7 @@ public class PageUtils {
     }
 
     public <T extends Page> T loadCurrentPage(Class<T> pageClass, WebDriver driver, SeleniumActions actions) {
-        T page = PageFactory.initElements(driver, pageClass);
+        T page = PageMetadata.of(pageClass).newInstance(driver);
         page.setActions(actions);
         page.initSubPages();
         page.pageLoadHook();
@@ -180,7 +172,7 @@ public class PageUtils {
     }
 
     public <T extends Page> T loadCurrentPageWithoutPageLoadHook(Class<T> pageClass, WebDriver driver, SeleniumActions actions) {
-        T page = PageFactory.initElements(driver, pageClass);
+        T page = PageMetadata.of(pageClass).newInstance(driver);
         page.setActions(actions);
         initSubPagesWithoutPageLoadHooks(page, actions);
         return page;
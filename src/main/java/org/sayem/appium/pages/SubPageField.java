@@ -8,8 +8,26 @@ import java.lang.annotation.Target;
 /**
  * Marker interface indicating that a field that extends {@link SubPage}
  * should be loaded when the page is initialized.
+ * <p>
+ * A field of type {@link LazySubPage} is always loaded on first access instead.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 public @interface SubPageField {
+
+    /**
+     * If true, the SubPage is only initialized, and its pageLoadHook run, when it is first used.
+     * Lazy loading also applies to every field when {@link PageUtils#setLazySubPagesByDefault(boolean)} is on.
+     * <p>
+     * This requires the field to be declared with an interface type extending {@link SubPage}, so that a proxy can be
+     * set in its place, and the class implementing it given as {@link #implementation()}; or with the type
+     * {@link LazySubPage}. Fields declared with a class type are loaded eagerly.
+     */
+    boolean lazy() default false;
+
+    /**
+     * The class to instantiate for a field declared with an interface type, e.g. a lazy field.
+     * The default is the type of the field, or the type argument of a {@link LazySubPage} field.
+     */
+    Class<? extends SubPage> implementation() default SubPage.class;
 }
@@ -0,0 +1,51 @@
+package org.sayem.appium.testng;
+
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.web.WebBrowser;
+
+import java.util.Optional;
+
+/**
+ * <p>The {@link WebBrowser} bound to the current thread by {@link ParallelBrowserListener}.</p>
+ * <p>
+ * <p>Tests running in parallel each get their own browser, and must not share page objects or browsers between
+ * threads. Call {@link #getBrowser()} from the test method, or from code it calls on the same thread.</p>
+ */
+public final class BrowserContext {
+    private static final ThreadLocal<WebBrowser> CURRENT = new ThreadLocal<>();
+
+    private BrowserContext() {
+    }
+
+    /**
+     * @return - the browser bound to the current thread.
+     * @throws IllegalStateException if no browser is bound, e.g. because ParallelBrowserListener isn't registered.
+     */
+    public static WebBrowser getBrowser() {
+        WebBrowser browser = CURRENT.get();
+        if (browser == null) {
+            throw new IllegalStateException("No browser is bound to thread " + Thread.currentThread().getName() +
+                    ". Is ParallelBrowserListener registered on the suite?");
+        }
+        return browser;
+    }
+
+    public static Optional<WebBrowser> getOptionalBrowser() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return - the actions of the browser bound to the current thread.
+     */
+    public static SeleniumActions getActions() {
+        return getBrowser().getActions();
+    }
+
+    static void bind(WebBrowser browser) {
+        CURRENT.set(browser);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,21 @@
+package org.sayem.appium.testng;
+
+import org.sayem.appium.metrics.MetricsRegistry;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * A TestNG listener that logs the latency percentiles of the {@link MetricsRegistry#getDefault() default MetricsRegistry}
+ * when the suite finishes.
+ */
+public class MetricsListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        MetricsRegistry.getDefault().dump();
+    }
+}
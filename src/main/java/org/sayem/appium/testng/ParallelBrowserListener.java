@@ -0,0 +1,103 @@
+package org.sayem.appium.testng;
+
+import org.sayem.appium.browser.web.BrowserLogTailer;
+import org.sayem.appium.browser.web.WebBrowser;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.exception.IWebDriverException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.Set;
+
+/**
+ * <p>A TestNG listener that binds a browser to the thread of each test method, so that test methods can run in
+ * parallel (parallel="methods" or "classes" in the suite XML), each with its own browser.</p>
+ * <p>
+ * <p>Before a test method, a browser is leased from the pool registered in {@link ParallelBrowsers} for the browser type
+ * given by the "browserType" parameter of the &lt;test&gt;, or for the only registered type if there is no parameter.
+ * The test gets it from {@link BrowserContext#getBrowser()}. After the test method, the browser is reset and returned
+ * to the pool; if the test failed with a WebDriverException the browser is quit instead. If the test failed and the
+ * browser has a {@link BrowserLogTailer}, its entries are logged first; otherwise its logs are drained, on the test's
+ * thread, which is the one using the browser.
+ * The pools are closed when the suite finishes.</p>
+ */
+public class ParallelBrowserListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBrowserListener.class);
+
+    public static final String BROWSER_TYPE_PARAMETER = "browserType";
+    private static final String BROWSER_ATTRIBUTE = ParallelBrowserListener.class.getName() + ".browser";
+    private static final String BROWSER_TYPE_ATTRIBUTE = ParallelBrowserListener.class.getName() + ".browserType";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        WebBrowserType browserType = getBrowserType(testResult);
+        WebBrowser browser;
+        try {
+            browser = ParallelBrowsers.acquire(browserType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SkipException("Interrupted while waiting for a " + browserType + " browser");
+        } catch (IWebDriverException e) {
+            throw new SkipException("Could not create a " + browserType + " browser: " + e.getMessage());
+        }
+        testResult.setAttribute(BROWSER_TYPE_ATTRIBUTE, browserType);
+        testResult.setAttribute(BROWSER_ATTRIBUTE, browser);
+        BrowserContext.bind(browser);
+        logger.debug("Bound browser {} to thread {} for {}", browser, Thread.currentThread().getName(), method);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        WebBrowser browser = (WebBrowser) testResult.getAttribute(BROWSER_ATTRIBUTE);
+        if (browser == null) {
+            return;
+        }
+        BrowserContext.unbind();
+        testResult.removeAttribute(BROWSER_ATTRIBUTE);
+        WebBrowserType browserType = (WebBrowserType) testResult.removeAttribute(BROWSER_TYPE_ATTRIBUTE);
+        if (testResult.getThrowable() != null) {
+            browser.getLogTailer().ifPresent(tailer -> tailer.dump(method.toString()));
+        } else {
+            // Still on the thread using the browser, so the logs can be drained without racing the test
+            browser.getLogTailer().ifPresent(BrowserLogTailer::drainIfDue);
+        }
+        // A WebDriverException may mean the session is broken, so don't give the browser to another test
+        boolean reuse = !(testResult.getThrowable() instanceof WebDriverException);
+        ParallelBrowsers.release(browserType, browser, reuse);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ParallelBrowsers.closeAll();
+    }
+
+    private WebBrowserType getBrowserType(ITestResult testResult) {
+        String parameter = testResult.getTestContext().getCurrentXmlTest().getParameter(BROWSER_TYPE_PARAMETER);
+        if (parameter != null) {
+            return WebBrowserType.forName(parameter);
+        }
+        Set<WebBrowserType> registeredTypes = ParallelBrowsers.getRegisteredTypes();
+        if (registeredTypes.size() != 1) {
+            throw new IllegalStateException("Set the '" + BROWSER_TYPE_PARAMETER + "' parameter of the test to one of the " +
+                    "registered browser types: " + registeredTypes);
+        }
+        return registeredTypes.iterator().next();
+    }
+}
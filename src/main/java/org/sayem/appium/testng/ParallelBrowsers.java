@@ -0,0 +1,124 @@
+package org.sayem.appium.testng;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import org.sayem.appium.browser.BrowserPool;
+import org.sayem.appium.browser.web.WebBrowser;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.exception.IWebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>The browsers available to tests running in parallel: a {@link BrowserPool} per {@link WebBrowserType},
+ * and how many browsers of that type may be used at the same time.</p>
+ * <p>
+ * <p>Register the pools before the suite starts, e.g. in a @BeforeSuite method or a suite listener:</p>
+ * <pre>
+ * ParallelBrowsers.register(WebBrowserType.CHROME, BrowserPool.builder(chromeBuilder).withMinIdle(4).build(), 4);
+ * </pre>
+ * <p>
+ * The TestNG thread count decides how many test methods run at once; the parallelism of each browser type caps
+ * how many of them hold a browser of that type. Threads over the cap wait for a browser to be released.
+ */
+public final class ParallelBrowsers {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelBrowsers.class);
+    private static final Map<WebBrowserType, Registration> REGISTRATIONS = new ConcurrentHashMap<>();
+
+    private ParallelBrowsers() {
+    }
+
+    /**
+     * @param browserType - the type of the browsers in the pool
+     * @param pool        - where to lease the browsers from
+     * @param parallelism - the max number of browsers of this type leased at the same time
+     */
+    public static void register(WebBrowserType browserType, BrowserPool pool, int parallelism) {
+        Preconditions.checkNotNull(browserType);
+        Preconditions.checkNotNull(pool);
+        Preconditions.checkArgument(parallelism > 0, "The parallelism must be positive");
+        Registration previous = REGISTRATIONS.put(browserType, new Registration(pool, parallelism));
+        if (previous != null && previous.pool != pool) {
+            previous.pool.close();
+        }
+        logger.info("Registered {} browsers with parallelism {}: {}", browserType, parallelism, pool);
+    }
+
+    public static Set<WebBrowserType> getRegisteredTypes() {
+        return ImmutableSet.copyOf(REGISTRATIONS.keySet());
+    }
+
+    /**
+     * Lease a browser of the given type, waiting while the max number of them is already leased.
+     */
+    static WebBrowser acquire(WebBrowserType browserType) throws IWebDriverException, InterruptedException {
+        Registration registration = getRegistration(browserType);
+        registration.permits.acquire();
+        try {
+            return registration.pool.lease();
+        } catch (IWebDriverException | RuntimeException e) {
+            registration.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a browser leased with {@link #acquire(WebBrowserType)}.
+     *
+     * @param reuse - false to quit the browser instead of returning it to the pool
+     */
+    static void release(WebBrowserType browserType, WebBrowser browser, boolean reuse) {
+        Registration registration = getRegistration(browserType);
+        try {
+            if (reuse) {
+                registration.pool.release(browser);
+            } else {
+                registration.pool.invalidate(browser);
+            }
+        } finally {
+            registration.permits.release();
+        }
+    }
+
+    /**
+     * Close every registered pool, quitting their idle browsers.
+     */
+    public static void closeAll() {
+        for (Registration registration : REGISTRATIONS.values()) {
+            registration.pool.close();
+        }
+        REGISTRATIONS.clear();
+    }
+
+    private static Registration getRegistration(WebBrowserType browserType) {
+        Registration registration = REGISTRATIONS.get(browserType);
+        Preconditions.checkState(registration != null, "No BrowserPool is registered for browser type %s", browserType);
+        return registration;
+    }
+
+    private static final class Registration {
+        private final BrowserPool pool;
+        private final Semaphore permits;
+        private final int parallelism;
+
+        private Registration(BrowserPool pool, int parallelism) {
+            this.pool = pool;
+            this.permits = new Semaphore(parallelism, true);
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this)
+                    .add("pool", pool)
+                    .add("parallelism", parallelism)
+                    .toString();
+        }
+    }
+}
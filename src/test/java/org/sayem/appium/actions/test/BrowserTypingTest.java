@@ -0,0 +1,56 @@
+package org.sayem.appium.actions.test;
+
+import com.google.common.collect.Lists;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebElement;
+import org.sayem.appium.browser.test.StubBrowser;
+import org.sayem.appium.config.KeyPacing;
+import org.sayem.appium.config.TimeoutsConfig;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for typing text slowly with {@link KeyPacing#BROWSER}.
+ */
+public class BrowserTypingTest {
+
+    @Test
+    public void textWithKeysIsSentThroughTheWebDriver() {
+        TimeoutsConfig timeouts = TimeoutsConfig.builder()
+                .keyPacing(KeyPacing.BROWSER)
+                .pauseBetweenKeysMillis(0)
+                .build();
+        StubBrowser browser = new StubBrowser(timeouts, (script, args) -> {
+            throw new AssertionError("Typed in the browser");
+        });
+        List<String> sentKeys = Lists.newArrayList();
+
+        browser.getActions().inputTextSlowly(textField(sentKeys), "ab" + Keys.ENTER);
+
+        assertThat(sentKeys).containsExactly("a", "b", Keys.ENTER.toString());
+        assertThat(browser.getScriptCount()).isEqualTo(0);
+    }
+
+    //--------------Private helpers------------
+
+    private static WebElement textField(List<String> sentKeys) {
+        return (WebElement) Proxy.newProxyInstance(BrowserTypingTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendKeys":
+                            for (CharSequence keys : (CharSequence[]) args[0]) {
+                                sentKeys.add(keys.toString());
+                            }
+                            return null;
+                        case "getTagName":
+                            return "input";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
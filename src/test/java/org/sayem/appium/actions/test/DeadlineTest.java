@@ -0,0 +1,50 @@
+package org.sayem.appium.actions.test;
+
+import org.openqa.selenium.TimeoutException;
+import org.sayem.appium.actions.Deadline;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.test.StubBrowser;
+import org.sayem.appium.config.TimeoutType;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link Deadline}.
+ */
+public class DeadlineTest {
+
+    @Test
+    public void timeoutsAreClampedToTheRemainingWholeSeconds() {
+        Deadline deadline = Deadline.afterMillis(2500);
+        assertThat(deadline.clampSeconds(30)).isEqualTo(3);
+        assertThat(deadline.clampSeconds(1)).isEqualTo(1);
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.getRemainingMillis()).isBetween(0L, 2500L);
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void anExpiredDeadlineFailsFast() {
+        Deadline deadline = Deadline.afterMillis(0);
+        assertThat(deadline.isExpired()).isTrue();
+        deadline.clampSeconds(30);
+    }
+
+    @Test
+    public void aNestedDeadlineKeepsTheEarlierOuterDeadline() {
+        SeleniumActions actions = new StubBrowser((script, args) -> null).getActions();
+        actions.withDeadline(TimeoutType.ONE_SECOND, () -> {
+            Deadline outer = Deadline.current().get();
+            Deadline inner = actions.withDeadline(TimeoutType.SIXTY_SECONDS, () -> Deadline.current().get());
+            assertThat(inner).isSameAs(outer);
+            assertThat(inner.getRemainingMillis()).isLessThanOrEqualTo(1000);
+            assertThat(Deadline.current().get()).isSameAs(outer);
+        });
+        assertThat(Deadline.current().isPresent()).isFalse();
+    }
+
+    @Test
+    public void noDeadlineIsBoundOutsideOfAnAction() {
+        assertThat(Deadline.current().isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,180 @@
+package org.sayem.appium.actions.test;
+
+import com.google.common.collect.Lists;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.sayem.appium.actions.ElementLookupCache;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.test.StubBrowser;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the validity rules of {@link ElementLookupCache}, against a stubbed check script.
+ */
+public class ElementLookupCacheTest {
+    private static final By LOCATOR = By.cssSelector("li.row");
+
+    private ElementLookupCache cache;
+    private StubDocument document;
+    private CountingFinder finder;
+
+    @BeforeMethod
+    public void setUp() {
+        cache = new ElementLookupCache();
+        cache.setEnabled(true);
+        document = new StubDocument();
+        finder = new CountingFinder(element("1"));
+    }
+
+    @Test
+    public void anUnchangedDocumentIsAHit() {
+        List<WebElement> first = lookup();
+        List<WebElement> second = lookup();
+        assertThat(second).isEqualTo(first);
+        assertThat(finder.calls).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void aStructuralChangeIsAMiss() {
+        lookup();
+        document.mutations++;
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void aNewDocumentIsAMiss() {
+        lookup();
+        document.marker = "document-2";
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(0);
+    }
+
+    @Test
+    public void aNewEpochIsAMiss() {
+        lookup();
+        cache.invalidate();
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void anEntryOlderThanTheMaxAgeIsAMiss() throws InterruptedException {
+        cache.setMaxAgeMillis(0);
+        lookup();
+        Thread.sleep(5);
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void detachedElementsAreAMiss() {
+        lookup();
+        document.attached = false;
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void unobservableDocumentsAreNeverCached() {
+        document.mutations = -1;
+        lookup();
+        lookup();
+        assertThat(finder.calls).isEqualTo(2);
+        assertThat(document.checks).isEqualTo(2);
+    }
+
+    @Test
+    public void emptyResultsAreNotCachedAndSkipTheCheck() {
+        finder = new CountingFinder();
+        assertThat(lookup()).isEmpty();
+        assertThat(lookup()).isEmpty();
+        assertThat(finder.calls).isEqualTo(2);
+        assertThat(document.checks).isEqualTo(0);
+    }
+
+    @Test
+    public void anElementLookedUpByAQueryScriptIsReusedByTheNextLookup() {
+        WebElement row = element("1");
+        int[] queries = {0};
+        StubBrowser browser = new StubBrowser((script, args) -> {
+            if (script.contains("__lookupCacheMarker")) {
+                return Arrays.<Object>asList("document-1", 0L, true);
+            }
+            if (args.size() == 4) {
+                // The query script, with the strategy and value of the locator, its options and no candidates
+                queries[0]++;
+                return Arrays.asList(row);
+            }
+            // The element state probe: displayed, width, height, enabled, in viewport
+            return Arrays.<Object>asList(true, 10L, 10L, true, true);
+        });
+        browser.getElementLookupCache().setEnabled(true);
+        SeleniumActions actions = browser.getActions();
+
+        assertThat(actions.getElement(LOCATOR)).isEqualTo(row);
+        assertThat(actions.isVisible(LOCATOR)).isTrue();
+        assertThat(queries[0]).isEqualTo(1);
+        assertThat(browser.getElementLookupCache().getHits()).isEqualTo(1);
+    }
+
+    //--------------Private helpers------------
+
+    private List<WebElement> lookup() {
+        return cache.findElements(document, LOCATOR, null, finder);
+    }
+
+    private static WebElement element(String id) {
+        RemoteWebElement element = new RemoteWebElement();
+        element.setId(id);
+        return element;
+    }
+
+    /**
+     * Answers the check script with the state of a document that the test changes.
+     */
+    private static final class StubDocument implements JavascriptExecutor {
+        private String marker = "document-1";
+        private long mutations = 0;
+        private boolean attached = true;
+        private int checks = 0;
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            checks++;
+            return Arrays.<Object>asList(marker, mutations, attached);
+        }
+
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class CountingFinder implements Supplier<List<WebElement>> {
+        private final List<WebElement> elements;
+        private int calls = 0;
+
+        private CountingFinder(WebElement... elements) {
+            this.elements = Lists.newArrayList(elements);
+        }
+
+        @Override
+        public List<WebElement> get() {
+            calls++;
+            return Lists.newArrayList(elements);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.sayem.appium.actions.test;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+import org.sayem.appium.actions.ScriptLocator;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ScriptLocator}, which parses the descriptions of the standard Selenium locators.
+ */
+public class ScriptLocatorTest {
+
+    @DataProvider
+    public Object[][] standardLocators() {
+        return new Object[][]{
+                {By.cssSelector("ul.menu > li:nth-child(2)"), "css", "ul.menu > li:nth-child(2)"},
+                {By.xpath("//div[@class='a: b']"), "xpath", "//div[@class='a: b']"},
+                {By.id("login"), "id", "login"},
+                {By.name("user name"), "name", "user name"},
+                {By.className("row"), "className", "row"},
+                {By.tagName("table"), "tagName", "table"},
+                {By.linkText("Sign in: now"), "linkText", "Sign in: now"},
+                {By.partialLinkText("Sign"), "partialLinkText", "Sign"},
+        };
+    }
+
+    @Test(dataProvider = "standardLocators")
+    public void standardLocatorsAreTranslated(By locator, String strategy, String value) {
+        Optional<ScriptLocator> scriptLocator = ScriptLocator.of(locator);
+        assertThat(scriptLocator.isPresent()).isTrue();
+        assertThat(scriptLocator.get().getStrategy()).isEqualTo(strategy);
+        assertThat(scriptLocator.get().getValue()).isEqualTo(value);
+    }
+
+    @Test
+    public void chainedLocatorsAreNotTranslated() {
+        assertThat(ScriptLocator.of(new ByChained(By.id("menu"), By.tagName("li"))).isPresent()).isFalse();
+    }
+
+    @Test
+    public void customLocatorsAreNotTranslated() {
+        By custom = new By() {
+            @Override
+            public List<WebElement> findElements(SearchContext context) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public String toString() {
+                return "By.custom: value";
+            }
+        };
+        assertThat(ScriptLocator.of(custom).isPresent()).isFalse();
+        assertThat(ScriptLocator.of(null).isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,23 @@
+package org.sayem.appium.actions.test;
+
+import org.sayem.appium.actions.WebElementHelpers;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WebElementHelpers}.
+ */
+public class WebElementHelpersTest {
+
+    @Test
+    public void classesAreSplitOnAnyWhitespace() {
+        assertThat(WebElementHelpers.splitClasses(" row  selected\tfirst\n")).containsExactly("row", "selected", "first");
+    }
+
+    @Test
+    public void aMissingOrBlankClassAttributeHasNoClasses() {
+        assertThat(WebElementHelpers.splitClasses(null)).isEmpty();
+        assertThat(WebElementHelpers.splitClasses("  ")).isEmpty();
+    }
+}
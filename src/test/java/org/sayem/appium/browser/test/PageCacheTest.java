@@ -0,0 +1,142 @@
+package org.sayem.appium.browser.test;
+
+import org.sayem.appium.browser.CachedPage;
+import org.sayem.appium.browser.PageCache;
+import org.sayem.appium.pages.BaseTopLevelPage;
+import org.sayem.appium.pages.TopLevelPage;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PageCache}.
+ */
+public class PageCacheTest {
+    private static final String DOCUMENT = "origin:1";
+
+    private PageCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+        cache = new PageCache();
+    }
+
+    @Test
+    public void aPageIsFoundForTheSameUrlDocumentAndClass() {
+        InboxPage inbox = new InboxPage();
+        cache.put(new CachedPage("http://app.test/mail?folder=inbox", inbox, DOCUMENT));
+        assertThat(find("http://app.test/mail?folder=inbox", DOCUMENT, InboxPage.class)).isSameAs(inbox);
+        assertThat(find("http://app.test/mail?folder=inbox", DOCUMENT, SettingsPage.class)).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void routesThatOnlyDifferByQueryOrFragmentHaveTheirOwnSlot() {
+        InboxPage inbox = new InboxPage();
+        InboxPage archive = new InboxPage();
+        InboxPage starred = new InboxPage();
+        cache.put(new CachedPage("http://app.test/mail?folder=inbox", inbox, DOCUMENT));
+        cache.put(new CachedPage("http://app.test/mail?folder=archive", archive, DOCUMENT));
+        cache.put(new CachedPage("http://app.test/mail?folder=archive#starred", starred, DOCUMENT));
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(find("http://app.test/mail?folder=inbox", DOCUMENT, InboxPage.class)).isSameAs(inbox);
+        assertThat(find("http://app.test/mail?folder=archive", DOCUMENT, InboxPage.class)).isSameAs(archive);
+        assertThat(find("http://app.test/mail?folder=archive#starred", DOCUMENT, InboxPage.class)).isSameAs(starred);
+    }
+
+    @Test
+    public void aPageCachedForTheSameRouteAndClassIsOverwritten() {
+        InboxPage first = new InboxPage();
+        InboxPage second = new InboxPage();
+        cache.put(new CachedPage("http://app.test/mail", first, DOCUMENT));
+        cache.put(new CachedPage("http://app.test/mail", second, DOCUMENT));
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(find("http://app.test/mail", DOCUMENT, InboxPage.class)).isSameAs(second);
+    }
+
+    @Test
+    public void theLeastRecentlyUsedPageIsEvictedFirst() {
+        cache.setMaxSize(2);
+        InboxPage inbox = new InboxPage();
+        SettingsPage settings = new SettingsPage();
+        cache.put(new CachedPage("http://app.test/mail", inbox, DOCUMENT));
+        cache.put(new CachedPage("http://app.test/settings", settings, DOCUMENT));
+        // Using the inbox makes the settings page the least recently used
+        assertThat(find("http://app.test/mail", DOCUMENT, InboxPage.class)).isSameAs(inbox);
+        cache.put(new CachedPage("http://app.test/mail?folder=archive", new InboxPage(), DOCUMENT));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(find("http://app.test/settings", DOCUMENT, SettingsPage.class)).isNull();
+        assertThat(find("http://app.test/mail", DOCUMENT, InboxPage.class)).isSameAs(inbox);
+    }
+
+    @Test
+    public void invalidatingTheCurrentPageOnlyEvictsIt() {
+        InboxPage inbox = new InboxPage();
+        SettingsPage settings = new SettingsPage();
+        cache.put(new CachedPage("http://app.test/mail", inbox, DOCUMENT));
+        cache.put(new CachedPage("http://app.test/settings", settings, DOCUMENT));
+        cache.invalidateCurrent();
+        assertThat(cache.getCurrent().isPresent()).isFalse();
+        assertThat(find("http://app.test/settings", DOCUMENT, SettingsPage.class)).isNull();
+        assertThat(find("http://app.test/mail", DOCUMENT, InboxPage.class)).isSameAs(inbox);
+    }
+
+    @Test
+    public void aNewDocumentEvictsThePagesCachedForItsUrl() {
+        cache.put(new CachedPage("http://app.test/mail", new InboxPage(), DOCUMENT));
+        // e.g. a reload, or a back navigation that loaded the document again
+        assertThat(find("http://app.test/mail", "origin:2", InboxPage.class)).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void reusingACachedPageLeavesThePreviousPage() {
+        // The browser is on the URL in currentUrl, in DOCUMENT
+        String[] currentUrl = {"http://app.test/mail"};
+        StubBrowser browser = new StubBrowser((script, args) -> Arrays.asList(currentUrl[0], DOCUMENT));
+        InboxPage inbox = new InboxPage();
+        SettingsPage settings = new SettingsPage();
+        browser.getPageCache().put(new CachedPage("http://app.test/mail", inbox, DOCUMENT));
+        browser.getPageCache().put(new CachedPage("http://app.test/settings", settings, DOCUMENT));
+
+        // A -> B -> A: going back to the inbox leaves the settings page
+        assertThat(browser.loadTopLevelPage(InboxPage.class)).isSameAs(inbox);
+        assertThat(settings.leaves).isEqualTo(1);
+        assertThat(inbox.leaves).isEqualTo(0);
+
+        currentUrl[0] = "http://app.test/settings";
+        assertThat(browser.loadTopLevelPage(SettingsPage.class)).isSameAs(settings);
+        assertThat(inbox.leaves).isEqualTo(1);
+
+        // Loading the page the browser is already on doesn't leave it
+        assertThat(browser.loadTopLevelPage(SettingsPage.class)).isSameAs(settings);
+        assertThat(settings.leaves).isEqualTo(1);
+    }
+
+    //--------------Private helpers------------
+
+    @Nullable
+    private TopLevelPage find(String url, String documentMarker, Class<? extends TopLevelPage> pageClass) {
+        return cache.find(url, documentMarker, pageClass).map(CachedPage::getCachedPage).orElse(null);
+    }
+
+    public static class InboxPage extends CountingPage {
+    }
+
+    public static class SettingsPage extends CountingPage {
+    }
+
+    public static class CountingPage extends BaseTopLevelPage {
+        int leaves;
+
+        @Override
+        public void leavePageHook() {
+            leaves++;
+        }
+    }
+}
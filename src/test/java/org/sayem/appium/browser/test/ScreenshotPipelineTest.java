@@ -0,0 +1,71 @@
+package org.sayem.appium.browser.test;
+
+import org.sayem.appium.browser.ScreenshotPipeline;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the deduplication of {@link ScreenshotPipeline}.
+ */
+public class ScreenshotPipelineTest {
+    private static final byte[] IMAGE = "first image".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER_IMAGE = "second image".getBytes(StandardCharsets.UTF_8);
+
+    private Path directory;
+    private ScreenshotPipeline pipeline;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("screenshots");
+        pipeline = new ScreenshotPipeline(directory.resolve("store"));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        pipeline.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void identicalImagesAreStoredOnce() throws IOException {
+        Path first = pipeline.save(IMAGE, directory.resolve("step1.png")).join();
+        Path second = pipeline.save(IMAGE.clone(), directory.resolve("step2.png")).join();
+
+        assertThat(storedFileCount()).isEqualTo(1);
+        assertThat(pipeline.getStoredImageCount()).isEqualTo(1);
+        assertThat(pipeline.getDuplicateCount()).isEqualTo(1);
+        assertThat(Files.readAllBytes(first)).isEqualTo(IMAGE);
+        assertThat(Files.readAllBytes(second)).isEqualTo(IMAGE);
+    }
+
+    @Test
+    public void distinctImagesAreStoredSeparately() throws IOException {
+        Path first = pipeline.save(IMAGE, directory.resolve("step1.png")).join();
+        Path second = pipeline.save(OTHER_IMAGE, directory.resolve("step2.png")).join();
+
+        assertThat(storedFileCount()).isEqualTo(2);
+        assertThat(pipeline.getDuplicateCount()).isEqualTo(0);
+        assertThat(Files.readAllBytes(first)).isEqualTo(IMAGE);
+        assertThat(Files.readAllBytes(second)).isEqualTo(OTHER_IMAGE);
+    }
+
+    //--------------Private helpers------------
+
+    private long storedFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(pipeline.getStoreDirectory())) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.sayem.appium.browser.test;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.sayem.appium.actions.BaseSeleniumActions;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.Browser;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.config.TimeoutsConfig;
+import org.sayem.appium.pages.TopLevelPage;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A Chrome browser for unit tests, whose WebDriver only runs scripts. Each script is answered by the function given
+ * to the constructor, with the script and its arguments; any other command fails.
+ */
+public class StubBrowser extends Browser<WebDriver> {
+    private final SeleniumActions actions;
+    private int scriptCount = 0;
+
+    public StubBrowser(BiFunction<String, List<Object>, Object> scripts) {
+        this(TimeoutsConfig.defaultTimeoutsConfig(), scripts);
+    }
+
+    public StubBrowser(TimeoutsConfig timeoutsConfig, BiFunction<String, List<Object>, Object> scripts) {
+        super("http://app.test", timeoutsConfig);
+        webDriver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeScript":
+                            scriptCount++;
+                            Object[] scriptArgs = (Object[]) args[1];
+                            return scripts.apply((String) args[0],
+                                    scriptArgs == null ? Collections.emptyList() : Arrays.asList(scriptArgs));
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        actions = new BaseSeleniumActions<StubBrowser>(this) {
+        };
+    }
+
+    /**
+     * @return - how many scripts the WebDriver ran.
+     */
+    public int getScriptCount() {
+        return scriptCount;
+    }
+
+    @Override
+    public WebBrowserType getBrowserType() {
+        return WebBrowserType.CHROME;
+    }
+
+    @Override
+    public SeleniumActions getActions() {
+        return actions;
+    }
+
+    @Override
+    public DesiredCapabilities getDesiredCapabilities() {
+        return DesiredCapabilities.chrome();
+    }
+
+    @Override
+    public void initializeBrowser() {
+    }
+
+    @Override
+    protected WebDriver createWebDriver() {
+        return webDriver;
+    }
+
+    @Override
+    public void refreshPage() {
+        throw new UnsupportedOperationException("refreshPage");
+    }
+
+    @Override
+    public <T extends TopLevelPage> T refreshPage(Class<T> pageClass) {
+        throw new UnsupportedOperationException("refreshPage");
+    }
+}
@@ -0,0 +1,167 @@
+package org.sayem.appium.browser.web.test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.Logs;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.web.BrowserLogTailer;
+import org.sayem.appium.browser.web.WebBrowser;
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.config.TimeoutsConfig;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ring buffer of {@link BrowserLogTailer}, against a browser whose driver returns the entries
+ * the test logs.
+ */
+public class BrowserLogTailerTest {
+    private StubLogBrowser browser;
+    private BrowserLogTailer tailer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        browser = new StubLogBrowser();
+        browser.initializeBrowser();
+        tailer = BrowserLogTailer.builder(browser)
+                .withLogTypes(LogType.BROWSER)
+                .withCapacity(3)
+                .withIntervalMillis(0)
+                .start();
+    }
+
+    @Test
+    public void theOldestEntriesAreDroppedWhenTheBufferWraps() {
+        browser.log("1", "2");
+        tailer.drain();
+        browser.log("3", "4", "5");
+        tailer.drain();
+        assertThat(messages(tailer.getEntries())).containsExactly("3", "4", "5");
+        assertThat(tailer.size()).isEqualTo(3);
+        assertThat(tailer.getDroppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void takeNewAfterAnOverflowOnlyReturnsTheEntriesStillInTheBuffer() {
+        browser.log("1");
+        assertThat(messages(tailer.takeNew(LogType.BROWSER))).containsExactly("1");
+        browser.log("2", "3", "4", "5", "6");
+        assertThat(messages(tailer.takeNew(LogType.BROWSER))).containsExactly("4", "5", "6");
+        assertThat(tailer.getDroppedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void repeatedDrainsOnlyReturnTheNewEntries() {
+        browser.log("1", "2");
+        assertThat(messages(browser.getLogEntries(LogType.BROWSER))).containsExactly("1", "2");
+        assertThat(tailer.takeNew(LogType.BROWSER).getAll()).isEmpty();
+        browser.log("3");
+        assertThat(messages(tailer.takeNew(LogType.BROWSER))).containsExactly("3");
+        assertThat(messages(tailer.getEntries())).containsExactly("1", "2", "3");
+    }
+
+    //--------------Private helpers------------
+
+    private static List<String> messages(LogEntries entries) {
+        List<String> messages = Lists.newArrayList();
+        for (LogEntry entry : entries) {
+            messages.add(entry.getMessage());
+        }
+        return messages;
+    }
+
+    private static List<String> messages(List<BrowserLogTailer.Entry> entries) {
+        List<String> messages = Lists.newArrayList();
+        for (BrowserLogTailer.Entry entry : entries) {
+            messages.add(entry.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * A browser whose driver only has a BROWSER log, which returns the entries logged since it was last fetched,
+     * like a real driver.
+     */
+    private static final class StubLogBrowser extends WebBrowser {
+        private final List<LogEntry> pending = Lists.newArrayList();
+
+        private StubLogBrowser() {
+            super("http://app.test", TimeoutsConfig.defaultTimeoutsConfig(), Optional.empty(), Optional.empty(),
+                    Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+        }
+
+        private void log(String... messages) {
+            for (String message : messages) {
+                pending.add(new LogEntry(Level.INFO, System.currentTimeMillis(), message));
+            }
+        }
+
+        @Override
+        public WebBrowserType getBrowserType() {
+            return WebBrowserType.SAFARI; // Safari skips setting the driver timeouts
+        }
+
+        @Override
+        public DesiredCapabilities getDesiredCapabilities() {
+            return DesiredCapabilities.chrome();
+        }
+
+        @Override
+        public LogEntries getBrowserLogEntries() {
+            return getLogEntries(LogType.BROWSER);
+        }
+
+        @Override
+        public SeleniumActions getActions() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected WebDriver createWebDriver() {
+            Logs logs = new Logs() {
+                @Override
+                public LogEntries get(String logType) {
+                    LogEntries entries = new LogEntries(Lists.newArrayList(pending));
+                    pending.clear();
+                    return entries;
+                }
+
+                @Override
+                public Set<String> getAvailableLogTypes() {
+                    return ImmutableSet.of(LogType.BROWSER);
+                }
+            };
+            WebDriver.Options options = (WebDriver.Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebDriver.Options.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("logs")) {
+                            return logs;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "manage":
+                                return options;
+                            case "toString":
+                                return "StubLogDriver";
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.sayem.appium.config.test;
+
+import org.sayem.appium.config.AdaptivePollingStrategy;
+import org.sayem.appium.config.PollingStrategy;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the standard {@link PollingStrategy} implementations.
+ */
+public class PollingStrategyTest {
+
+    @Test
+    public void fixedAlwaysReturnsTheSameInterval() {
+        PollingStrategy strategy = PollingStrategy.fixed(250);
+        assertThat(strategy.nextIntervalMillis("a", 1, 5)).isEqualTo(250);
+        assertThat(strategy.nextIntervalMillis("b", 40, 900)).isEqualTo(250);
+    }
+
+    @Test
+    public void exponentialBackoffGrowsUpToTheMaximum() {
+        PollingStrategy strategy = PollingStrategy.exponentialBackoff(50, 400, 2.0, 0);
+        assertThat(strategy.nextIntervalMillis("a", 1, 0)).isEqualTo(50);
+        assertThat(strategy.nextIntervalMillis("a", 2, 0)).isEqualTo(100);
+        assertThat(strategy.nextIntervalMillis("a", 3, 0)).isEqualTo(200);
+        assertThat(strategy.nextIntervalMillis("a", 10, 0)).isEqualTo(400);
+    }
+
+    @Test
+    public void exponentialBackoffJitterOnlyShortensTheInterval() {
+        PollingStrategy strategy = PollingStrategy.exponentialBackoff(100, 100, 1.0, 0.5);
+        for (int i = 0; i < 100; i++) {
+            assertThat(strategy.nextIntervalMillis("a", 1, 0)).isBetween(50L, 100L);
+        }
+    }
+
+    @Test
+    public void adaptiveTracksLatencyPerConditionKey() {
+        AdaptivePollingStrategy strategy = (AdaptivePollingStrategy) PollingStrategy.adaptive();
+        assertThat(strategy.getEstimatedLatencyMillis("local")).isEqualTo(-1);
+
+        long localInterval = 0;
+        long remoteInterval = 0;
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            localInterval = strategy.nextIntervalMillis("local", attempt, 2);
+            remoteInterval = strategy.nextIntervalMillis("remote", attempt, 300);
+        }
+        assertThat(strategy.getEstimatedLatencyMillis("local")).isEqualTo(2);
+        assertThat(strategy.getEstimatedLatencyMillis("remote")).isEqualTo(300);
+        assertThat(localInterval).isGreaterThanOrEqualTo(10).isLessThan(remoteInterval);
+        assertThat(remoteInterval).isLessThanOrEqualTo(1000);
+    }
+}
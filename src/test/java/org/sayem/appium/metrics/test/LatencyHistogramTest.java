@@ -0,0 +1,72 @@
+package org.sayem.appium.metrics.test;
+
+import org.sayem.appium.browser.web.WebBrowserType;
+import org.sayem.appium.metrics.LatencyHistogram;
+import org.sayem.appium.metrics.MetricKey;
+import org.sayem.appium.metrics.MetricsRegistry;
+import org.sayem.appium.metrics.MetricsSnapshot;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for {@link LatencyHistogram} and {@link MetricsRegistry}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesAreWithinThePrecisionOfTheBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100000; micros++) {
+            histogram.recordMicros(micros);
+        }
+        assertThat(histogram.getCount()).isEqualTo(100000);
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50000, within(50000 / 32.0));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99000, within(99000 / 32.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100000);
+        assertThat(histogram.getMaxMicros()).isEqualTo(100000);
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(3);
+        histogram.recordMicros(7);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(3);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(7);
+    }
+
+    @Test
+    public void registryCountsTimeoutsPerKey() {
+        MetricsRegistry registry = new MetricsRegistry();
+        long start = System.nanoTime();
+        registry.record("click", "By.id: save", WebBrowserType.CHROME, start, false);
+        registry.record("click", "By.id: save", WebBrowserType.CHROME, start, true);
+        registry.record("click", "By.id: save", WebBrowserType.FIREFOX, start, false);
+
+        MetricsSnapshot snapshot = registry.getSnapshot(new MetricKey("click", "By.id: save", WebBrowserType.CHROME)).get();
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getTimeouts()).isEqualTo(1);
+        assertThat(registry.getSnapshots()).hasSize(2);
+        assertThat(registry.formatReport()).contains("click(By.id: save) [CHROME]");
+    }
+
+    @Test
+    public void registryRecordsNewTargetsUnderOtherOnceFull() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setMaxKeys(2);
+        long start = System.nanoTime();
+        registry.record("click", "By.id: row-1", WebBrowserType.CHROME, start, false);
+        registry.record("click", "By.id: row-2", WebBrowserType.CHROME, start, false);
+        registry.record("click", "By.id: row-3", WebBrowserType.CHROME, start, false);
+        registry.record("click", "By.id: row-4", WebBrowserType.CHROME, start, false);
+        registry.record("click", "By.id: row-1", WebBrowserType.CHROME, start, false);
+
+        assertThat(registry.getSnapshots()).hasSize(3);
+        assertThat(registry.getSnapshot(new MetricKey("click", MetricsRegistry.OTHER_TARGET, WebBrowserType.CHROME))
+                .get().getCount()).isEqualTo(2);
+        assertThat(registry.getSnapshot(new MetricKey("click", "By.id: row-1", WebBrowserType.CHROME))
+                .get().getCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,105 @@
+package org.sayem.appium.pages.test;
+
+import org.sayem.appium.actions.SeleniumActions;
+import org.sayem.appium.browser.test.StubBrowser;
+import org.sayem.appium.pages.BaseSubPage;
+import org.sayem.appium.pages.BaseTopLevelPage;
+import org.sayem.appium.pages.LazySubPage;
+import org.sayem.appium.pages.PageUtils;
+import org.sayem.appium.pages.SubPage;
+import org.sayem.appium.pages.SubPageField;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link LazySubPage}s set by {@link PageUtils#initSubPages}.
+ */
+public class LazySubPageTest {
+    private static final PageUtils PAGE_UTILS = new PageUtils();
+
+    private SeleniumActions actions;
+
+    @BeforeMethod
+    public void setUp() {
+        actions = new StubBrowser((script, args) -> null).getActions();
+    }
+
+    @Test
+    public void theLoadHookIsDeferredUntilFirstUse() {
+        InboxPage page = PAGE_UTILS.loadCurrentPage(InboxPage.class, actions.getBrowser().getWebDriver(), actions);
+        assertThat(page.header.isLoaded()).isFalse();
+        assertThat(page.header.getIfLoaded()).isNull();
+
+        HeaderSubPage header = page.header.get();
+        assertThat(header.loads).isEqualTo(1);
+        assertThat(header.getParent()).isSameAs(page);
+        assertThat(page.header.get()).isSameAs(header);
+        assertThat(page.header.getIfLoaded()).isSameAs(header);
+        assertThat(header.loads).isEqualTo(1);
+    }
+
+    @Test
+    public void theInterfaceProxyLoadsOnTheFirstCallAndDelegates() {
+        InboxPage page = PAGE_UTILS.loadCurrentPage(InboxPage.class, actions.getBrowser().getWebDriver(), actions);
+        // Logging the proxy doesn't load it
+        assertThat(page.toolbar.toString()).contains("loaded=false");
+
+        assertThat(page.toolbar.getLoads()).isEqualTo(1);
+        assertThat(page.toolbar.getLoads()).isEqualTo(1);
+        assertThat(page.toolbar.toString()).contains("loaded=true");
+    }
+
+    @Test
+    public void subPageLoadHooksSkipUnusedLazySubPages() {
+        InboxPage page = PAGE_UTILS.loadCurrentPageWithoutPageLoadHook(InboxPage.class,
+                actions.getBrowser().getWebDriver(), actions);
+        PAGE_UTILS.runPageLoadHooksForSubPages(page, actions);
+        assertThat(page.header.isLoaded()).isFalse();
+
+        HeaderSubPage header = page.header.get();
+        PAGE_UTILS.runPageLoadHooksForSubPages(page, actions);
+        assertThat(header.loads).isEqualTo(2);
+    }
+
+    @Test
+    public void refreshingThePageResetsItsLazySubPages() {
+        InboxPage page = PAGE_UTILS.loadCurrentPage(InboxPage.class, actions.getBrowser().getWebDriver(), actions);
+        HeaderSubPage header = page.header.get();
+
+        page.refreshElements();
+        assertThat(page.header.isLoaded()).isFalse();
+        assertThat(page.header.get()).isNotSameAs(header);
+        assertThat(header.loads).isEqualTo(1);
+    }
+
+    public interface Toolbar extends SubPage {
+        int getLoads();
+    }
+
+    public static class HeaderSubPage extends BaseSubPage {
+        int loads;
+
+        @Override
+        public void pageLoadHook() {
+            super.pageLoadHook();
+            loads++;
+        }
+    }
+
+    public static class ToolbarSubPage extends HeaderSubPage implements Toolbar {
+        @Override
+        public int getLoads() {
+            return loads;
+        }
+    }
+
+    public static class InboxPage extends BaseTopLevelPage {
+        @SubPageField
+        LazySubPage<HeaderSubPage> header;
+
+        @SubPageField(lazy = true, implementation = ToolbarSubPage.class)
+        Toolbar toolbar;
+    }
+}
@@ -0,0 +1,76 @@
+package org.sayem.appium.pages.test;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.sayem.appium.pages.BaseSubPage;
+import org.sayem.appium.pages.BaseTopLevelPage;
+import org.sayem.appium.pages.LazySubPage;
+import org.sayem.appium.pages.PageMetadata;
+import org.sayem.appium.pages.SubPageField;
+import org.sayem.appium.pages.WebPagePath;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PageMetadata}.
+ */
+public class PageMetadataTest {
+
+    public static class HeaderSubPage extends BaseSubPage {
+    }
+
+    public static class FooterSubPage extends BaseSubPage {
+    }
+
+    @WebPagePath(path = "/orders/\\d+/", isRegex = true)
+    public static class BasePage extends BaseTopLevelPage {
+        @SubPageField
+        private HeaderSubPage header;
+
+        @FindBy(css = ".title")
+        private WebElement title;
+    }
+
+    public static class OrderPage extends BasePage {
+        @SubPageField
+        private FooterSubPage footer;
+
+        @SubPageField
+        private String notASubPage;
+
+        @SubPageField
+        private LazySubPage<HeaderSubPage> lazyHeader;
+
+        @FindBy(css = "li.row")
+        private List<WebElement> rows;
+
+        private List<String> notAnElement;
+    }
+
+    @Test
+    public void findsFieldsIncludingSuperClasses() {
+        PageMetadata metadata = PageMetadata.of(OrderPage.class);
+
+        assertThat(metadata.getSubPageFields()).extracting("name").containsExactly("footer", "lazyHeader", "header");
+        assertThat(metadata.getElementFields()).extracting("name").containsOnly("rows", "title");
+        assertThat(metadata.hasElementFields()).isTrue();
+        assertThat(PageMetadata.of(HeaderSubPage.class).hasElementFields()).isFalse();
+    }
+
+    @Test
+    public void precompilesTheWebPagePath() {
+        PageMetadata metadata = PageMetadata.of(BasePage.class);
+
+        assertThat(metadata.getExpectedPath().get()).isEqualTo("/orders/\\d+");
+        assertThat(metadata.getExpectedPathPattern().get().matcher("/orders/1234").matches()).isTrue();
+        assertThat(PageMetadata.of(HeaderSubPage.class).getWebPagePath().isPresent()).isFalse();
+    }
+
+    @Test
+    public void cachesMetadataPerClass() {
+        assertThat(PageMetadata.of(OrderPage.class)).isSameAs(PageMetadata.of(OrderPage.class));
+    }
+}